@@ -0,0 +1,67 @@
+#!/usr/bin/env sh
+# Simula um credential stuffing contra POST /api/auth/login e mede quanta CPU a aplicação
+# gasta, com e sem o freio de login (login-throttle.enabled). Para cada variante: sobe a
+# aplicação, espera o readiness e dispara N logins com e-mails sorteados e senha errada,
+# C em paralelo, do mesmo IP. Mostra a distribuição dos status HTTP e a CPU usada no
+# ataque (segundos de CPU do processo / segundos de relógio = núcleos ocupados).
+#
+# Variantes:
+#   open       --login-throttle.enabled=false   (todo login chega ao BCrypt)
+#   throttled  --login-throttle.enabled=true
+#
+# Pré-requisitos: Linux (lê /proc/<pid>/stat), MySQL acessível com as variáveis de sempre
+# (DB_URL, DB_USER, DB_PASSWORD; ver docs/EXECUCAO_LOCAL.md), curl, xargs e awk.
+#
+# Uso, em backend/:
+#   scripts/login-attack.sh [tentativas] [paralelas]      (padrão: 3000 32)
+set -eu
+
+ATTEMPTS="${1:-3000}"
+PARALLEL="${2:-32}"
+PORT="${PORT:-18080}"
+BASE="http://localhost:$PORT"
+WORK="target/login-attack"
+TICKS=$(getconf CLK_TCK)
+
+./mvnw -q -B clean package -DskipTests
+rm -rf "$WORK"
+mkdir -p "$WORK"
+
+# segundos de CPU (usuário + sistema) do processo $1
+cpu_seconds() {
+    awk -v hz="$TICKS" '{ printf "%.2f", ($14 + $15) / hz }' "/proc/$1/stat"
+}
+
+# $1 = nome da variante; $2 = valor de login-throttle.enabled
+run() {
+    name="$1"
+    PORT="$PORT" java -jar target/*.jar --login-throttle.enabled="$2" > "$WORK/$name.log" 2>&1 &
+    pid=$!
+    until curl -sf "$BASE/actuator/health/readiness" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$name: processo terminou antes do readiness (ver $WORK/$name.log)" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+
+    cpu_before=$(cpu_seconds "$pid")
+    start=$(date +%s%3N)
+    seq "$ATTEMPTS" | xargs -P "$PARALLEL" -I{} curl -s -o /dev/null -w '%{http_code}\n' \
+        -H 'Content-Type: application/json' \
+        -d '{"email":"stuffing{}@example.com","password":"senha-vazada"}' \
+        "$BASE/api/auth/login" > "$WORK/$name.codes"
+    elapsed=$(( $(date +%s%3N) - start ))
+    cpu_after=$(cpu_seconds "$pid")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    echo "$name: $ATTEMPTS tentativas em $elapsed ms"
+    sort "$WORK/$name.codes" | uniq -c | awk '{ printf "  HTTP %s: %d\n", $2, $1 }'
+    awk -v before="$cpu_before" -v after="$cpu_after" -v ms="$elapsed" \
+        'BEGIN { printf "  CPU: %.1f s, %.2f núcleos em média\n", after - before, (after - before) / (ms / 1000) }'
+}
+
+run open false
+run throttled true
@@ -0,0 +1,76 @@
+#!/usr/bin/env sh
+# Mede o startup de cada variante de empacotamento: tempo até a primeira resposta
+# de GET /health (processo iniciado -> HTTP 200) e RSS do processo nesse momento.
+#
+# Variantes:
+#   jar      fat jar padrão (java -jar), sem AOT
+#   aot      classpath desmontado + código Spring AOT (-Dspring.aot.enabled=true)
+#   aot-cds  aot + arquivo AppCDS gerado por um treino (como no Dockerfile)
+#   verify   aot-cds com DB_MIGRATION_MODE=verify: sem Flyway na subida, só a consulta
+#            da versão do schema (as variantes anteriores já deixaram o banco migrado)
+#
+# Pré-requisitos: MySQL acessível com as variáveis de sempre (DB_URL, DB_USER,
+# DB_PASSWORD; ver docs/EXECUCAO_LOCAL.md) e Linux (RSS lido de /proc).
+#
+# Uso, em backend/:
+#   scripts/startup-benchmark.sh [rodadas]      (padrão: 5)
+set -eu
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+WORK="target/startup-benchmark"
+MAIN="com.example.ordermanager.OrderManagerApplication"
+
+./mvnw -q -B clean package -Pproduction -DskipTests
+
+rm -rf "$WORK"
+mkdir -p "$WORK/extracted"
+(cd "$WORK/extracted" && jar -xf ../../*.jar)
+jar -cf "$WORK/application.jar" -C "$WORK/extracted/BOOT-INF/classes" .
+mv "$WORK/extracted/BOOT-INF/lib" "$WORK/lib"
+CP="$WORK/application.jar:$WORK/lib/*"
+
+# Treino do CDS: mesmo comando do Dockerfile (sem banco, sai depois do refresh)
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.flyway.enabled=false \
+    -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+    -Dspring.jpa.database-platform=org.hibernate.dialect.MySQLDialect \
+    -cp "$CP" "$MAIN" > "$WORK/cds-training.log" 2>&1
+
+now_ms() {
+    date +%s%3N
+}
+
+# $1 = nome da variante; demais argumentos = comando java
+measure() {
+    name="$1"
+    shift
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        start=$(now_ms)
+        PORT="$PORT" "$@" > "$WORK/$name-$i.log" 2>&1 &
+        pid=$!
+        until curl -sf "http://localhost:$PORT/health" > /dev/null 2>&1; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$name: processo terminou antes de responder (ver $WORK/$name-$i.log)" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        elapsed=$(( $(now_ms) - start ))
+        rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+        printf '%-8s  rodada %d  primeira resposta: %6d ms  RSS: %4d MB\n' \
+            "$name" "$i" "$elapsed" $((rss_kb / 1024))
+        i=$((i + 1))
+    done
+}
+
+measure jar java -jar target/*.jar
+measure aot java -Dspring.aot.enabled=true -cp "$CP" "$MAIN"
+measure aot-cds java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true -cp "$CP" "$MAIN"
+measure verify env DB_MIGRATION_MODE=verify \
+    java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true -cp "$CP" "$MAIN"
@@ -0,0 +1,79 @@
+#!/usr/bin/env sh
+# Compara a latência das primeiras requisições depois do readiness com e sem o
+# aquecimento (warmup.enabled). Para cada variante: sobe a aplicação, espera
+# /actuator/health/readiness responder 200 e dispara requisições sequenciais
+# alternando GET /api/products e GET /api/orders, com o mesmo JWT. Mostra p50, p99
+# e máximo das primeiras 100 requisições e do total.
+#
+# Variantes:
+#   cold  WARMUP_ENABLED=false
+#   warm  WARMUP_ENABLED=true
+#
+# Pré-requisitos: MySQL acessível com as variáveis de sempre (DB_URL, DB_USER,
+# DB_PASSWORD; ver docs/EXECUCAO_LOCAL.md), curl e awk.
+#
+# Uso, em backend/:
+#   scripts/warmup-latency.sh [requisições]      (padrão: 2000)
+set -eu
+
+REQUESTS="${1:-2000}"
+PORT="${PORT:-18080}"
+BASE="http://localhost:$PORT"
+WORK="target/warmup-latency"
+EMAIL="warmup-bench@example.com"
+PASSWORD="warmup-bench"
+
+./mvnw -q -B clean package -DskipTests
+rm -rf "$WORK"
+mkdir -p "$WORK"
+
+# $1 = arquivo com um tempo (s) por linha; $2 = rótulo
+summary() {
+    sort -n "$1" | awk -v label="$2" '
+        { t[NR] = $1 * 1000 }
+        END {
+            p50 = t[int((NR - 1) * 0.50) + 1]; p99 = t[int((NR - 1) * 0.99) + 1]
+            printf "  %-18s n=%5d  p50=%7.1f ms  p99=%7.1f ms  max=%7.1f ms\n", label, NR, p50, p99, t[NR]
+        }'
+}
+
+# $1 = nome da variante; $2 = valor de WARMUP_ENABLED
+run() {
+    name="$1"
+    start=$(date +%s%3N)
+    PORT="$PORT" WARMUP_ENABLED="$2" java -jar target/*.jar > "$WORK/$name.log" 2>&1 &
+    pid=$!
+    until curl -sf "$BASE/actuator/health/readiness" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$name: processo terminou antes do readiness (ver $WORK/$name.log)" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    echo "$name: readiness em $(( $(date +%s%3N) - start )) ms"
+
+    curl -s -o /dev/null -H 'Content-Type: application/json' \
+        -d "{\"name\":\"Warmup Bench\",\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" \
+        "$BASE/api/auth/register" || true
+    token=$(curl -sf -H 'Content-Type: application/json' \
+        -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" \
+        "$BASE/api/auth/login" | sed 's/.*"token":"\([^"]*\)".*/\1/')
+
+    i=1
+    : > "$WORK/$name.times"
+    while [ "$i" -le "$REQUESTS" ]; do
+        if [ $((i % 2)) -eq 0 ]; then path="/api/orders?page=0&size=20"; else path="/api/products?page=0&size=20"; fi
+        curl -s -o /dev/null -w '%{time_total}\n' -H "Authorization: Bearer $token" "$BASE$path" >> "$WORK/$name.times"
+        i=$((i + 1))
+    done
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    head -n 100 "$WORK/$name.times" > "$WORK/$name.first100"
+    summary "$WORK/$name.first100" "primeiras 100"
+    summary "$WORK/$name.times" "todas"
+}
+
+run cold false
+run warm true
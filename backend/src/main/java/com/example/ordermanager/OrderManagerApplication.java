@@ -2,10 +2,25 @@ package com.example.ordermanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 @SpringBootApplication
+@EnableScheduling
 public class OrderManagerApplication {
+
+    static final String MIGRATE_ONLY = "--migrate-only";
+
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(MIGRATE_ONLY)) {
+            // Job de migração: o Flyway roda durante o refresh do contexto e a JVM sai logo depois
+            // (código 0), antes de subir o servidor web e os jobs agendados. Falha no migrate = código 1.
+            System.setProperty("spring.context.exit", "onRefresh");
+            args = Stream.concat(Arrays.stream(args).filter(a -> !a.equals(MIGRATE_ONLY)),
+                    Stream.of("--datasource.migration.mode=migrate")).toArray(String[]::new);
+        }
         SpringApplication.run(OrderManagerApplication.class, args);
     }
 }
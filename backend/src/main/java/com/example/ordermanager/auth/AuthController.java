@@ -11,6 +11,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -21,15 +22,18 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
+    private final LoginThrottle loginThrottle;
 
     public AuthController(AuthenticationManager authenticationManager,
                           UserRepository userRepository,
                           PasswordEncoder passwordEncoder,
-                          TokenService tokenService) {
+                          TokenService tokenService,
+                          LoginThrottle loginThrottle) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenService = tokenService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/register")
@@ -52,12 +56,23 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@RequestBody @Valid LoginDTO data) {
+    public ResponseEntity<AuthResponseDTO> login(@RequestBody @Valid LoginDTO data, HttpServletRequest request) {
 
         UsernamePasswordAuthenticationToken usernamePassword =
                 new UsernamePasswordAuthenticationToken(data.email(), data.password());
 
-        Authentication auth = authenticationManager.authenticate(usernamePassword);
+        // recusa tentativas em excesso antes do hash BCrypt (ver LoginThrottle)
+        loginThrottle.beforeAttempt(data.email(), request.getRemoteAddr());
+        Authentication auth;
+        Throwable failure = null;
+        try {
+            auth = authenticationManager.authenticate(usernamePassword);
+        } catch (RuntimeException | Error ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            loginThrottle.afterAttempt(data.email(), failure);
+        }
         User user = (User) auth.getPrincipal();
 
         String token = tokenService.generateToken(user.getEmail());
@@ -0,0 +1,155 @@
+package com.example.ordermanager.auth;
+
+import com.example.ordermanager.common.limit.LimitErrorCode;
+import com.example.ordermanager.common.limit.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Freio de POST /api/auth/login antes do {@code AuthenticationManager} (login-throttle.*):
+ * cada verificação de senha custa um hash BCrypt (dezenas de ms de CPU), inclusive para
+ * e-mails inexistentes, então tentativas em massa precisam parar antes dele.
+ *
+ * Três barreiras, na ordem:
+ * 1. por IP: no máximo {@code max-attempts-per-ip} tentativas por janela deslizante;
+ * 2. por e-mail: no máximo {@code max-failures-per-email} falhas por janela (um login bem
+ *    sucedido zera a contagem). Só conta recusa de credencial: erro de infraestrutura
+ *    ({@link AuthenticationServiceException}, ex.: banco fora) não bloqueia o usuário;
+ * 3. global: no máximo {@code max-concurrent} verificações de senha ao mesmo tempo (padrão:
+ *    número de CPUs), o que segura a CPU mesmo com ataques distribuídos por muitos IPs e
+ *    e-mails. Sem vaga, 503 na hora em vez de fila.
+ *
+ * Recusas de 1 e 2 são 429 com {@code Retry-After} até a janela liberar.
+ *
+ * Métricas: {@code auth.login.throttled} (por {@code reason}: ip, email, concurrency),
+ * {@code auth.login.failures} e {@code auth.login.in-flight}.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final int maxAttemptsPerIp;
+    private final int maxFailuresPerEmail;
+    private final SlidingWindowCounter attemptsByIp;
+    private final SlidingWindowCounter failuresByEmail;
+    private final Semaphore verifications;
+    private final int maxConcurrent;
+
+    private final Counter throttledByIp;
+    private final Counter throttledByEmail;
+    private final Counter throttledByConcurrency;
+    private final Counter failures;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${login-throttle.enabled:true}") boolean enabled,
+                         @Value("${login-throttle.window-seconds:60}") long windowSeconds,
+                         @Value("${login-throttle.max-attempts-per-ip:30}") int maxAttemptsPerIp,
+                         @Value("${login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                         @Value("${login-throttle.max-concurrent:0}") int maxConcurrent,
+                         @Value("${login-throttle.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        long windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.attemptsByIp = new SlidingWindowCounter(windowNanos, STRIPES, maxKeys);
+        this.failuresByEmail = new SlidingWindowCounter(windowNanos, STRIPES, maxKeys);
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.verifications = new Semaphore(this.maxConcurrent);
+
+        this.throttledByIp = throttled(meterRegistry, "ip");
+        this.throttledByEmail = throttled(meterRegistry, "email");
+        this.throttledByConcurrency = throttled(meterRegistry, "concurrency");
+        this.failures = Counter.builder("auth.login.failures")
+                .description("Logins com credenciais inválidas")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.in-flight", this, throttle -> throttle.maxConcurrent - throttle.verifications.availablePermits())
+                .description("Verificações de senha em andamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Chamado antes de verificar a senha: recusa com {@link LoginThrottledException} ou
+     * ocupa uma vaga de verificação, que precisa ser devolvida com {@link #afterAttempt}.
+     */
+    public void beforeAttempt(String email, String ip) {
+        beforeAttempt(email, ip, System.nanoTime());
+    }
+
+    void beforeAttempt(String email, String ip, long now) {
+        if (!enabled) {
+            return;
+        }
+        String emailKey = normalize(email);
+        if (attemptsByIp.estimate(ip, now) >= maxAttemptsPerIp) {
+            throttledByIp.increment();
+            throw throttled(attemptsByIp.nanosUntilBelow(ip, maxAttemptsPerIp, now));
+        }
+        if (failuresByEmail.estimate(emailKey, now) >= maxFailuresPerEmail) {
+            throttledByEmail.increment();
+            throw throttled(failuresByEmail.nanosUntilBelow(emailKey, maxFailuresPerEmail, now));
+        }
+        if (!verifications.tryAcquire()) {
+            throttledByConcurrency.increment();
+            throw new LoginThrottledException(LimitErrorCode.OVERLOADED,
+                    "Muitas tentativas de login em andamento; tente novamente em instantes", 1);
+        }
+        attemptsByIp.increment(ip, now);
+    }
+
+    /**
+     * Devolve a vaga ocupada por {@link #beforeAttempt} e contabiliza o resultado:
+     * {@code failure} nulo é login bem sucedido; só recusas de credencial contam como falha.
+     */
+    public void afterAttempt(String email, Throwable failure) {
+        afterAttempt(email, failure, System.nanoTime());
+    }
+
+    void afterAttempt(String email, Throwable failure, long now) {
+        if (!enabled) {
+            return;
+        }
+        verifications.release();
+        String emailKey = normalize(email);
+        if (failure == null) {
+            failuresByEmail.reset(emailKey);
+        } else if (isCredentialFailure(failure)) {
+            failures.increment();
+            failuresByEmail.increment(emailKey, now);
+        }
+    }
+
+    // senha errada, usuário inexistente, conta bloqueada...; AuthenticationServiceException
+    // (e a InternalAuthenticationServiceException) é falha do provedor, não do usuário
+    static boolean isCredentialFailure(Throwable failure) {
+        return failure instanceof AuthenticationException
+                && !(failure instanceof AuthenticationServiceException);
+    }
+
+    private static LoginThrottledException throttled(long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new LoginThrottledException(LimitErrorCode.RATE_LIMITED,
+                "Muitas tentativas de login; tente novamente em " + seconds + " s", seconds);
+    }
+
+    private static Counter throttled(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.throttled")
+                .description("Tentativas de login recusadas antes de verificar a senha")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ordermanager.auth;
+
+import com.example.ordermanager.common.error.BusinessRejectionException;
+import com.example.ordermanager.common.limit.LimitErrorCode;
+
+/**
+ * Tentativa de login recusada pelo {@link LoginThrottle} antes de verificar a senha.
+ * A resposta leva {@code Retry-After} (ver {@code ApiExceptionHandler}).
+ */
+public class LoginThrottledException extends BusinessRejectionException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(LimitErrorCode code, String message, long retryAfterSeconds) {
+        super(code, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.ordermanager.auth;
 
+import com.example.ordermanager.common.limit.RateLimitFilter;
+import com.example.ordermanager.common.limit.RateLimiter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,10 +24,12 @@ public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
     private final UserDetailsService userDetailsService;
+    private final RateLimiter rateLimiter;
 
-    public SecurityConfig(JwtFilter jwtFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtFilter jwtFilter, UserDetailsService userDetailsService, RateLimiter rateLimiter) {
         this.jwtFilter = jwtFilter;
         this.userDetailsService = userDetailsService;
+        this.rateLimiter = rateLimiter;
     }
 
     @Bean
@@ -33,11 +38,15 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // retomada de requisição assíncrona (endpoints em lote, ver Bulkheads): a
+                        // requisição original já passou pela autorização e pelo @PreAuthorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // ENDPOINTS PÚBLICOS (SEM JWT)
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/api/health", // <-- liberado
                                 "/health", // opcional: caso tenha actuator/health
+                                "/actuator/health/**",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html")
@@ -45,7 +54,9 @@ public class SecurityConfig {
                         // TODO O RESTO PRECISA DE JWT
                         .anyRequest().authenticated())
                 .userDetailsService(userDetailsService)
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // limite por usuário: depende do usuário que o JwtFilter acabou de resolver
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtFilter.class);
 
         return http.build();
     }
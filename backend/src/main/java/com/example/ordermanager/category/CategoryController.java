@@ -1,10 +1,14 @@
 package com.example.ordermanager.category;
 
+import com.example.ordermanager.common.catalog.CatalogVersion;
+import com.example.ordermanager.common.catalog.ConditionalGet;
+
 import java.net.URI;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -13,15 +17,21 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService service;
+    private final CatalogVersion catalogVersion;
 
-    public CategoryController(CategoryService service) {
+    public CategoryController(CategoryService service, CatalogVersion catalogVersion) {
         this.service = service;
+        this.catalogVersion = catalogVersion;
     }
 
     // Leitura: USER e ADMIN
+    // ETag = versão do catálogo: If-None-Match igual responde 304 sem ir ao banco
     @GetMapping
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<Category> list() {
+    public List<Category> list(ServletWebRequest request) {
+        if (ConditionalGet.notModified(request, catalogVersion.collectionETag())) {
+            return null;
+        }
         return service.list();
     }
 
@@ -1,6 +1,8 @@
 package com.example.ordermanager.category;
 
+import com.example.ordermanager.common.cache.CacheInvalidations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 import java.util.List;
@@ -8,18 +10,37 @@ import java.util.List;
 @Service
 public class CategoryService {
     private final CategoryRepository repo;
-    public CategoryService(CategoryRepository repo) { this.repo = repo; }
+    private final CacheInvalidations cacheInvalidations;
+    public CategoryService(CategoryRepository repo, CacheInvalidations cacheInvalidations) {
+        this.repo = repo;
+        this.cacheInvalidations = cacheInvalidations;
+    }
 
+    @Transactional(readOnly = true)
     public List<Category> list() { return repo.findAll(); }
+    @Transactional(readOnly = true)
     public Category get(Long id) {
         return repo.findById(id).orElseThrow(
             () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
     }
-    public Category create(Category c) { return repo.save(c); }
+    // o nome da categoria aparece nas respostas de produto: toda escrita invalida as ETags do catálogo (após o commit),
+    // nesta e nas outras instâncias
+    @Transactional
+    public Category create(Category c) {
+        cacheInvalidations.categoriesChanged();
+        return repo.save(c);
+    }
+    // escritas em transação read-write: o get() abaixo participa dela e lê do primário
+    @Transactional
     public Category update(Long id, Category data) {
         Category c = get(id);
         c.setName(data.getName());
+        cacheInvalidations.categoriesChanged();
         return repo.save(c);
     }
-    public void delete(Long id) { repo.delete(get(id)); }
+    @Transactional
+    public void delete(Long id) {
+        repo.delete(get(id));
+        cacheInvalidations.categoriesChanged();
+    }
 }
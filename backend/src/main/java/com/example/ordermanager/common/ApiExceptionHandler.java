@@ -1,7 +1,13 @@
 package com.example.ordermanager.common;
 
+import com.example.ordermanager.auth.LoginThrottledException;
+import com.example.ordermanager.common.error.BusinessRejectionException;
+import com.example.ordermanager.common.error.ErrorCode;
+import com.example.ordermanager.common.error.RejectionBodies;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,6 +21,25 @@ import java.util.Map;
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
+    // Recusas de negócio: corpo já em bytes (ver RejectionBodies), sem Map nem ObjectMapper
+    @ExceptionHandler(BusinessRejectionException.class)
+    public ResponseEntity<byte[]> handleBusinessRejection(BusinessRejectionException ex) {
+        ErrorCode code = ex.getCode();
+        return ResponseEntity.status(code.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(RejectionBodies.render(code, ex.getMessage()));
+    }
+
+    // Login freado (ver LoginThrottle): mesmo corpo das recusas, mais o Retry-After
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<byte[]> handleLoginThrottled(LoginThrottledException ex) {
+        ErrorCode code = ex.getCode();
+        return ResponseEntity.status(code.status())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(RejectionBodies.render(code, ex.getMessage()));
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleEntityNotFound(EntityNotFoundException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -5,13 +5,20 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class OpenApiConfig {
 
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
     @Bean
+    @Lazy
     public OpenAPI orderManagerOpenAPI() {
         final String securitySchemeName = "bearerAuth";
 
@@ -31,4 +38,33 @@ public class OpenApiConfig {
                         .scheme("bearer")
                         .bearerFormat("JWT")));
     }
+
+    /**
+     * Marca os beans do springdoc como lazy: o OpenAPI/Swagger UI só é montado no
+     * primeiro acesso a /v3/api-docs ou /swagger-ui, e não no startup.
+     * Beans que outros precisam na subida (ex.: WebMvcConfigurer) continuam sendo
+     * criados normalmente, porque são injetados.
+     * Com o AOT (profile "production") o efeito vai para o código gerado.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringdocBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringdoc(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isSpringdoc(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        String factoryBean = definition.getFactoryBeanName();
+        // Beans declarados via @Bean: a classe que importa é a da configuração que os declara
+        if (className == null && factoryBean != null && beanFactory.containsBeanDefinition(factoryBean)) {
+            className = beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+        }
+        return className != null && className.startsWith(SPRINGDOC_PACKAGE);
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.ordermanager.common.bulkhead;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class BulkheadConfig {
+
+    /**
+     * Todo job {@code @Scheduled} (relay do outbox, arquivamento, expirações, monitor da réplica)
+     * roda como {@link TrafficClass#BACKGROUND} e usa o pool de conexões de background. As
+     * threads do scheduler nascem marcadas (o decorator de tarefas do scheduler só existe no
+     * Spring 6.2); o nome delas continua o padrão.
+     *
+     * O scheduler do Boot tem uma thread: um ciclo longo do arquivamento ou de uma expiração
+     * (até max-chunks-per-run blocos) atrasaria todos os outros jobs. Com
+     * {@code bulkhead.background.scheduler-threads} (padrão 4: arquivamento, expiração de
+     * pedidos, expiração de reservas e limpeza do rate limiter) cada job tem a sua; o pool
+     * "background" precisa de uma conexão por job que usa o banco, contando os que rodam em
+     * {@link #dedicatedScheduler} (poller de invalidação de cache e relay do outbox).
+     */
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer backgroundTrafficScheduler(
+            @Value("${bulkhead.background.scheduler-threads:4}") int schedulerThreads) {
+        return scheduler -> {
+            scheduler.setPoolSize(Math.max(1, schedulerThreads));
+            scheduler.setThreadFactory(runnable -> scheduler.newThread(TrafficClass.BACKGROUND.wrap(runnable)));
+        };
+    }
+
+    /**
+     * Scheduler de uma thread, fora do compartilhado, para jobs curtos e frequentes cujo
+     * intervalo é uma promessa (ex.: staleness máxima do cache): nenhum job longo fica na
+     * frente deles. A thread roda como {@link TrafficClass#BACKGROUND}; quem cria chama
+     * {@code shutdown()} ao parar.
+     */
+    public static ThreadPoolTaskScheduler dedicatedScheduler(String threadNamePrefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setThreadFactory(runnable -> scheduler.newThread(TrafficClass.BACKGROUND.wrap(runnable)));
+        scheduler.initialize();
+        return scheduler;
+    }
+}
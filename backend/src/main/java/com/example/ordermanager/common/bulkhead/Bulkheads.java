@@ -0,0 +1,111 @@
+package com.example.ordermanager.common.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor dos endpoints em lote (exclusão/mudança de status em massa, reconstrução de
+ * estatísticas), separado das threads do Tomcat que atendem o tráfego interativo.
+ *
+ * O controller devolve o {@link CompletableFuture} (processamento assíncrono do Spring MVC):
+ * a thread do Tomcat é liberada na hora e o trabalho roda numa das
+ * {@code bulkhead.bulk.threads} threads, marcado como {@link TrafficClass#BULK}, o que o
+ * leva para o pool de conexões próprio. Com as threads ocupadas e a fila
+ * ({@code bulkhead.bulk.queue-capacity}) cheia, a requisição é recusada na hora com 503.
+ * Com {@code bulkhead.bulk.threads=0} não há executor: o trabalho roda na própria thread da
+ * requisição (ainda como BULK), sem isolamento de threads.
+ *
+ * Métricas: {@code executor.*} com {@code name=bulk} e {@code bulkhead.rejected}.
+ */
+@Component
+public class Bulkheads {
+
+    private final ThreadPoolExecutor bulkExecutor;
+    private final Counter bulkRejected;
+
+    public Bulkheads(MeterRegistry meterRegistry,
+                     @Value("${bulkhead.bulk.threads:2}") int bulkThreads,
+                     @Value("${bulkhead.bulk.queue-capacity:8}") int bulkQueueCapacity) {
+        if (bulkThreads > 0) {
+            this.bulkExecutor = new ThreadPoolExecutor(bulkThreads, bulkThreads, 0, TimeUnit.MILLISECONDS,
+                    bulkQueueCapacity > 0 ? new ArrayBlockingQueue<>(bulkQueueCapacity) : new SynchronousQueue<>(),
+                    threadFactory("bulk-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            new ExecutorServiceMetrics(bulkExecutor, "bulk", Tags.empty()).bindTo(meterRegistry);
+        } else {
+            this.bulkExecutor = null;
+        }
+        this.bulkRejected = Counter.builder("bulkhead.rejected")
+                .description("Requisições recusadas por falta de vaga no bulkhead")
+                .tag("traffic", "bulk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agenda {@code task} no executor de lote, com o usuário autenticado da requisição.
+     *
+     * @throws ResponseStatusException 503 quando o bulkhead está cheio
+     */
+    public <T> CompletableFuture<T> bulk(Supplier<T> task) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable work = TrafficClass.BULK.wrap(() -> {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                result.complete(task.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        });
+        if (bulkExecutor == null) {
+            work.run();
+            return result;
+        }
+        try {
+            bulkExecutor.execute(work);
+        } catch (RejectedExecutionException ex) {
+            bulkRejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Limite de operações em lote atingido; tente novamente em instantes");
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (bulkExecutor != null) {
+            bulkExecutor.shutdown();
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ordermanager.common.bulkhead;
+
+/**
+ * Classe de tráfego da thread atual. Decide qual pool de conexões atende a thread
+ * (ver {@code ReadWriteRoutingDataSource}) e em qual executor o trabalho roda:
+ *
+ * - {@link #INTERACTIVE}: requisições comuns, nas threads do Tomcat e no pool primário (padrão);
+ * - {@link #BULK}: endpoints em lote (ver {@link Bulkheads}), com executor e pool próprios;
+ * - {@link #BACKGROUND}: jobs {@code @Scheduled}, marcados pelo decorator do scheduler.
+ */
+public enum TrafficClass {
+
+    INTERACTIVE,
+    BULK,
+    BACKGROUND;
+
+    private static final ThreadLocal<TrafficClass> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static TrafficClass current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Roda {@code task} nesta classe de tráfego, restaurando a anterior ao final.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            TrafficClass previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.ordermanager.common.cache;
+
+import com.example.ordermanager.common.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lê as linhas novas de cache_invalidations a cada {@code cache.invalidation.poll-interval}
+ * e invalida os caches desta instância ({@link CacheInvalidations#applyRemote}). Uma escrita
+ * em outra instância fica visível aqui em no máximo ~um intervalo (mais o tempo da consulta):
+ * é o limite de desatualização configurável, exposto em {@code cache.invalidation.lag}.
+ *
+ * A leitura segue o id ({@code id > último lido}). Como o AUTO_INCREMENT é reservado no
+ * INSERT e não no commit, uma transação mais lenta pode tornar visível um id menor depois
+ * que um maior já foi lido. Os ids pulados ficam numa lista de lacunas, consultada de novo a
+ * cada ciclo até aparecerem ou até {@code cache.invalidation.gap-timeout} (lacunas de
+ * transações desfeitas nunca aparecem).
+ *
+ * Ao subir, começa do maior id atual: os caches desta instância nascem vazios.
+ * Linhas mais antigas que {@code cache.invalidation.retention} são apagadas aos poucos.
+ *
+ * Roda na própria thread ({@code cache-invalidation-1}), fora do scheduler dos jobs
+ * {@code @Scheduled}: um ciclo longo do arquivamento ou de uma expiração não atrasa a leitura.
+ */
+@Component
+public class CacheInvalidationPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationPoller.class);
+
+    private static final int MAX_GAPS = 10_000;
+    private static final long CLEANUP_EVERY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int CLEANUP_BATCH = 10_000;
+
+    private final CacheInvalidations invalidations;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final long retentionMillis;
+    private final Duration pollInterval;
+    private ThreadPoolTaskScheduler scheduler;
+
+    private final Map<CacheKind, Counter> applied = new EnumMap<>(CacheKind.class);
+
+    // só a thread do poller mexe nestes campos (poll é synchronized)
+    private long lastId = -1;
+    // id pulado -> prazo (System.nanoTime) para desistir dele
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastCleanup = System.nanoTime();
+
+    private volatile long lastLagMillis;
+    private volatile int gapCount;
+
+    public CacheInvalidationPoller(CacheInvalidations invalidations,
+                                   JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${cache.invalidation.batch-size:1000}") int batchSize,
+                                   @Value("${cache.invalidation.gap-timeout:60000}") long gapTimeoutMillis,
+                                   @Value("${cache.invalidation.retention:3600000}") long retentionMillis,
+                                   @Value("${cache.invalidation.poll-interval:1000}") long pollIntervalMillis) {
+        this.invalidations = invalidations;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMillis);
+        this.retentionMillis = retentionMillis;
+        this.pollInterval = Duration.ofMillis(pollIntervalMillis);
+
+        for (CacheKind kind : CacheKind.values()) {
+            applied.put(kind, Counter.builder("cache.invalidation.applied")
+                    .description("Invalidações de outras instâncias aplicadas aqui")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("cache.invalidation.lag", this, p -> p.lastLagMillis)
+                .description("Atraso entre a escrita em outra instância e a invalidação aqui (último lote)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.gaps", this, p -> p.gapCount)
+                .description("Ids pulados aguardando o commit de transações mais lentas")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = BulkheadConfig.dedicatedScheduler("cache-invalidation-");
+            scheduler.scheduleWithFixedDelay(this::scheduledPoll, pollInterval);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public void scheduledPoll() {
+        if (!invalidations.enabled()) {
+            return;
+        }
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao ler cache_invalidations; será tentado novamente: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Um ciclo: lacunas pendentes, depois as linhas novas (em lotes, até esgotar).
+     *
+     * @return quantidade de linhas de outras instâncias aplicadas
+     */
+    public synchronized int poll() {
+        if (lastId < 0) {
+            lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class);
+            return 0;
+        }
+
+        int total = 0;
+        long now = System.nanoTime();
+        if (!gaps.isEmpty()) {
+            gaps.values().removeIf(deadline -> now - deadline > 0);
+            if (!gaps.isEmpty()) {
+                List<Row> found = namedJdbcTemplate.query("SELECT id, kind, entity_id, node, created_at "
+                        + "FROM cache_invalidations WHERE id IN (:ids)",
+                        new MapSqlParameterSource("ids", gaps.keySet()), CacheInvalidationPoller::row);
+                found.forEach(row -> gaps.remove(row.id()));
+                total += apply(found);
+            }
+        }
+
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query("SELECT id, kind, entity_id, node, created_at FROM cache_invalidations "
+                    + "WHERE id > ? ORDER BY id LIMIT ?", CacheInvalidationPoller::row, lastId, batchSize);
+            for (Row row : rows) {
+                for (long skipped = lastId + 1; skipped < row.id() && gaps.size() < MAX_GAPS; skipped++) {
+                    gaps.put(skipped, now + gapTimeoutNanos);
+                }
+                lastId = row.id();
+            }
+            total += apply(rows);
+        } while (rows.size() == batchSize);
+
+        gapCount = gaps.size();
+
+        if (now - lastCleanup > CLEANUP_EVERY_NANOS) {
+            lastCleanup = now;
+            deleteExpired();
+        }
+        return total;
+    }
+
+    private int apply(List<Row> rows) {
+        // agrupa por tipo: um SELECT para o índice de sugestões por lote, categorias uma vez só
+        Map<CacheKind, Set<Long>> idsByKind = new EnumMap<>(CacheKind.class);
+        int count = 0;
+        Instant oldest = null;
+        for (Row row : rows) {
+            if (row.node() == invalidations.node()) {
+                continue;
+            }
+            Set<Long> ids = idsByKind.computeIfAbsent(row.kind(), k -> new LinkedHashSet<>());
+            if (row.entityId() != null) {
+                ids.add(row.entityId());
+            }
+            applied.get(row.kind()).increment();
+            if (oldest == null) {
+                oldest = row.createdAt();
+            }
+            count++;
+        }
+        idsByKind.forEach((kind, ids) -> {
+            if (kind == CacheKind.CATEGORY || !ids.isEmpty()) {
+                invalidations.applyRemote(kind, new ArrayList<>(ids));
+            }
+        });
+        if (oldest != null) {
+            lastLagMillis = Math.max(0, Instant.now().toEpochMilli() - oldest.toEpochMilli());
+        }
+        return count;
+    }
+
+    private void deleteExpired() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minusMillis(retentionMillis));
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ? LIMIT " + CLEANUP_BATCH,
+                    cutoff);
+        } while (deleted == CLEANUP_BATCH);
+    }
+
+    private static Row row(ResultSet rs, int rowNum) throws SQLException {
+        long entityId = rs.getLong("entity_id");
+        Long nullableEntityId = rs.wasNull() ? null : entityId;
+        return new Row(rs.getLong("id"), CacheKind.valueOf(rs.getString("kind")), nullableEntityId,
+                rs.getLong("node"), rs.getTimestamp("created_at").toInstant());
+    }
+
+    private record Row(long id, CacheKind kind, Long entityId, long node, Instant createdAt) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.ordermanager.common.cache;
+
+import com.example.ordermanager.common.catalog.CatalogVersion;
+import com.example.ordermanager.common.lookup.ByIdLookup;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.product.ProductSuggestionIndex;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import com.example.ordermanager.product.dto.ProductSuggestionDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ponto único de invalidação dos caches em memória (ETags do catálogo, índice de
+ * sugestões, buscas por id) quando produtos, categorias ou pedidos mudam.
+ *
+ * Cada escrita:
+ * - invalida os caches desta instância (depois do commit, quando há transação);
+ * - grava as chaves em cache_invalidations, na mesma transação da escrita quando há uma,
+ *   para que as outras instâncias invalidem as delas (ver {@link CacheInvalidationPoller}).
+ *
+ * Com {@code cache.invalidation.enabled=false} (instância única) nada é gravado na tabela.
+ */
+@Component
+public class CacheInvalidations {
+
+    private static final String INSERT = "INSERT INTO cache_invalidations (kind, entity_id, node, created_at) "
+            + "VALUES (?, ?, ?, NOW(6))";
+
+    // identifica as linhas gravadas por esta instância, que o poller ignora
+    private final long node = UUID.randomUUID().getMostSignificantBits();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersion catalogVersion;
+    private final ProductSuggestionIndex suggestionIndex;
+    private final ProductRepository productRepository;
+    private final ByIdLookup<ProductResponseDTO> productLookup;
+    private final ByIdLookup<OrderResponseDTO> orderLookup;
+    private final boolean enabled;
+
+    public CacheInvalidations(JdbcTemplate jdbcTemplate,
+                              CatalogVersion catalogVersion,
+                              ProductSuggestionIndex suggestionIndex,
+                              ProductRepository productRepository,
+                              ByIdLookup<ProductResponseDTO> productLookup,
+                              ByIdLookup<OrderResponseDTO> orderLookup,
+                              @Value("${cache.invalidation.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogVersion = catalogVersion;
+        this.suggestionIndex = suggestionIndex;
+        this.productRepository = productRepository;
+        this.productLookup = productLookup;
+        this.orderLookup = orderLookup;
+        this.enabled = enabled;
+    }
+
+    // ============================
+    // ESCRITAS DESTA INSTÂNCIA
+    // ============================
+
+    /** Cadastro do produto mudou; o índice de sugestões local é atualizado pelo ProductService. */
+    public void productChanged(Long id) {
+        catalogVersion.productChanged(id);
+        productLookup.invalidateAfterCommit(id);
+        append(CacheKind.PRODUCT, List.of(id));
+    }
+
+    public void stockChanged(Long id) {
+        catalogVersion.productChanged(id);
+        productLookup.invalidateAfterCommit(id);
+        append(CacheKind.PRODUCT_STOCK, List.of(id));
+    }
+
+    public void categoriesChanged() {
+        catalogVersion.categoriesChanged();
+        append(CacheKind.CATEGORY, null);
+    }
+
+    public void orderChanged(Long id) {
+        ordersChanged(List.of(id));
+    }
+
+    public void ordersChanged(Collection<Long> ids) {
+        ids.forEach(orderLookup::invalidateAfterCommit);
+        append(CacheKind.ORDER, ids);
+    }
+
+    // ============================
+    // ESCRITAS DE OUTRAS INSTÂNCIAS
+    // ============================
+
+    /**
+     * Aplica invalidações lidas de cache_invalidations (fora de transação: tudo na hora).
+     * {@code ids} vazio = todas as chaves do tipo.
+     */
+    void applyRemote(CacheKind kind, Collection<Long> ids) {
+        switch (kind) {
+            case PRODUCT -> {
+                ids.forEach(this::forgetProduct);
+                refreshSuggestions(ids);
+            }
+            case PRODUCT_STOCK -> ids.forEach(this::forgetProduct);
+            case CATEGORY -> catalogVersion.categoriesChanged();
+            case ORDER -> ids.forEach(orderLookup::invalidate);
+        }
+    }
+
+    long node() {
+        return node;
+    }
+
+    boolean enabled() {
+        return enabled;
+    }
+
+    private void forgetProduct(Long id) {
+        catalogVersion.productChanged(id);
+        productLookup.invalidate(id);
+    }
+
+    // nome novo ou produto excluído em outra instância
+    private void refreshSuggestions(Collection<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (ProductSuggestionDTO product : productRepository.findSuggestionsByIds(ids)) {
+            suggestionIndex.put(product.id(), product.name());
+            missing.remove(product.id());
+        }
+        missing.forEach(suggestionIndex::remove);
+    }
+
+    private void append(CacheKind kind, Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        if (ids == null) {
+            jdbcTemplate.update(INSERT, kind.name(), null, node);
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            rows.add(new Object[]{kind.name(), id, node});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+}
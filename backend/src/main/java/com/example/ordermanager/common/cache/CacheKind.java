@@ -0,0 +1,16 @@
+package com.example.ordermanager.common.cache;
+
+/**
+ * Tipo de chave invalidada (coluna {@code kind} de cache_invalidations).
+ *
+ * - {@link #PRODUCT}: cadastro do produto mudou (nome, preço, estoque editado, exclusão);
+ * - {@link #PRODUCT_STOCK}: só o estoque mudou (pedido); não mexe no índice de sugestões;
+ * - {@link #CATEGORY}: alguma categoria mudou (sem id: vale para todas);
+ * - {@link #ORDER}: pedido criado, com status alterado ou excluído.
+ */
+public enum CacheKind {
+    PRODUCT,
+    PRODUCT_STOCK,
+    CATEGORY,
+    ORDER
+}
@@ -0,0 +1,120 @@
+package com.example.ordermanager.common.catalog;
+
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versões em memória do catálogo, usadas como ETag nos GETs de produtos e categorias.
+ *
+ * - {@link #collectionETag()}: um contador único que qualquer escrita no catálogo
+ *   incrementa (produto, categoria ou estoque baixado por um pedido). É fraco
+ *   (W/) de propósito: o Tomcat não comprime respostas com ETag forte.
+ * - ETag de produto: forte, derivada do {@code updatedAt} do produto e da geração
+ *   das categorias (o nome da categoria faz parte da resposta). As ETags já
+ *   calculadas ficam num mapa limitado para que um If-None-Match seja
+ *   respondido sem consultar o banco.
+ *
+ * Os incrementos acontecem depois do commit (quando há transação), para que um
+ * leitor nunca associe a versão nova a dados antigos.
+ *
+ * Os contadores são locais: cada instância aplica as próprias escritas e as das outras
+ * (via {@code cache_invalidations}) no seu ritmo, então o mesmo número pode significar
+ * catálogos diferentes em instâncias diferentes. Por isso as duas ETags levam um id
+ * aleatório da instância, sorteado na subida: uma ETag emitida por outra instância (ou
+ * antes de um restart) nunca casa com a daqui e o GET responde 200 em vez de um 304 falso.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String node = String.format("%08x", new SecureRandom().nextInt());
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong categoryGeneration = new AtomicLong();
+
+    private final int maxTrackedProducts;
+    private final Map<Long, String> productETags = new ConcurrentHashMap<>();
+
+    public CatalogVersion(@Value("${catalog.etag.max-tracked-products:100000}") int maxTrackedProducts) {
+        this.maxTrackedProducts = maxTrackedProducts;
+    }
+
+    // ============================
+    // LEITURA
+    // ============================
+    public long current() {
+        return version.get();
+    }
+
+    public String collectionETag() {
+        return "W/\"c" + node + "-" + version.get() + "\"";
+    }
+
+    /**
+     * ETag já conhecida do produto, ou null se ainda não foi calculada nesta instância.
+     */
+    public String knownProductETag(Long id) {
+        return productETags.get(id);
+    }
+
+    public String productETag(ProductResponseDTO product) {
+        Instant updatedAt = product.getUpdatedAt();
+        long seconds = updatedAt != null ? updatedAt.getEpochSecond() : 0;
+        int nanos = updatedAt != null ? updatedAt.getNano() : 0;
+        return "\"p" + product.getId() + "-" + seconds + "." + nanos + "-" + node + "-" + categoryGeneration.get() + "\"";
+    }
+
+    /**
+     * Guarda a ETag de um produto carregado quando a versão era {@code versionBeforeLoad}.
+     * Se alguma escrita aconteceu no meio da leitura a entrada é descartada, já que
+     * o produto pode ter sido lido antes dela.
+     */
+    public void rememberProductETag(Long id, String etag, long versionBeforeLoad) {
+        if (productETags.size() >= maxTrackedProducts) {
+            productETags.clear();
+        }
+        productETags.put(id, etag);
+        if (version.get() != versionBeforeLoad) {
+            productETags.remove(id);
+        }
+    }
+
+    // ============================
+    // ESCRITA
+    // ============================
+    public void productChanged(Long id) {
+        afterCommit(() -> {
+            // Incrementa antes de remover: quem guardar a ETag antiga depois daqui vê a versão nova e desiste
+            version.incrementAndGet();
+            productETags.remove(id);
+        });
+    }
+
+    public void categoriesChanged() {
+        afterCommit(() -> {
+            version.incrementAndGet();
+            categoryGeneration.incrementAndGet();
+            productETags.clear();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
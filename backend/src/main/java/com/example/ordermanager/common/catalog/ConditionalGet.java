@@ -0,0 +1,30 @@
+package com.example.ordermanager.common.catalog;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * GET condicional para os endpoints do catálogo.
+ *
+ * Marca a resposta como "private, no-cache" (pode ficar no cache do cliente, mas
+ * sempre revalidada) antes de o Spring Security escrever o seu no-store, e
+ * compara o If-None-Match com a ETag. Quando bate, a resposta já sai como 304
+ * e o controller deve retornar null sem chamar o serviço.
+ */
+public final class ConditionalGet {
+
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    public static boolean notModified(ServletWebRequest request, String etag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return request.checkNotModified(etag);
+    }
+}
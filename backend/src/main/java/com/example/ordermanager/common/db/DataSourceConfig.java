@@ -0,0 +1,115 @@
+package com.example.ordermanager.common.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSources da aplicação:
+ * - {@code primaryDataSource}: pool Hikari do primário (spring.datasource.*);
+ * - réplica de leitura opcional (datasource.replica.*), usada por transações read-only;
+ * - pools próprios no primário para tráfego em lote (datasource.bulk.*) e jobs agendados
+ *   (datasource.background.*), ver {@link com.example.ordermanager.common.bulkhead.TrafficClass};
+ * - {@code dataSource} (@Primary): roteador lazy usado por JPA, Flyway e JdbcTemplate.
+ *
+ * Sem {@code datasource.replica.url} tudo vai para o primário, como antes.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${datasource.replica.url:}") String replicaUrl,
+            @Value("${datasource.replica.username:}") String replicaUsername,
+            @Value("${datasource.replica.password:}") String replicaPassword,
+            @Value("${datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+            @Value("${datasource.replica.sticky-window:5000}") long stickyWindowMillis,
+            @Value("${datasource.bulk.maximum-pool-size:4}") int bulkPoolSize,
+            @Value("${datasource.background.maximum-pool-size:6}") int backgroundPoolSize) {
+
+        boolean replicaConfigured = !replicaUrl.isBlank();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaConfigured, stickyWindowMillis);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.Route.PRIMARY, primaryDataSource);
+        if (replicaConfigured) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(replicaUrl);
+            replica.setUsername(replicaUsername.isBlank() ? primaryDataSource.getUsername() : replicaUsername);
+            replica.setPassword(replicaPassword.isBlank() ? primaryDataSource.getPassword() : replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(r -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+            targets.put(ReadWriteRoutingDataSource.Route.REPLICA, replica);
+        }
+        // tamanho 0 = sem pool próprio; a classe de tráfego usa o primário
+        if (bulkPoolSize > 0) {
+            targets.put(ReadWriteRoutingDataSource.Route.BULK,
+                    primaryCopy(primaryDataSource, "bulk", bulkPoolSize, meterRegistry));
+        }
+        if (backgroundPoolSize > 0) {
+            targets.put(ReadWriteRoutingDataSource.Route.BACKGROUND,
+                    primaryCopy(primaryDataSource, "background", backgroundPoolSize, meterRegistry));
+        }
+
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * Pool separado apontando para o mesmo primário, com as mesmas credenciais.
+     */
+    private static HikariDataSource primaryCopy(HikariDataSource primary, String poolName, int maximumPoolSize,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(poolName);
+        ds.setJdbcUrl(primary.getJdbcUrl());
+        ds.setUsername(primary.getUsername());
+        ds.setPassword(primary.getPassword());
+        ds.setDriverClassName(primary.getDriverClassName());
+        ds.setMaximumPoolSize(maximumPoolSize);
+        ds.setMinimumIdle(0);
+        meterRegistry.ifAvailable(r -> ds.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+        return ds;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReadWriteRoutingDataSource routing,
+            @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${datasource.replica.lag-check-interval:5000}") long lagCheckIntervalMillis) {
+        DataSource replica = routing.getResolvedDataSources().get(ReadWriteRoutingDataSource.Route.REPLICA);
+        return new ReplicaLagMonitor(replica, routing, maxLagSeconds, lagCheckIntervalMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
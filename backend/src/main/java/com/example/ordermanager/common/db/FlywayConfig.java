@@ -0,0 +1,67 @@
+package com.example.ordermanager.common.db;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Com o código AOT (-Dspring.aot.enabled=true) o Spring Boot 3.2 troca o scanner de
+     * migrations por um pensado para native image, que chama um construtor do Flyway 9
+     * e quebra com o Flyway 10 deste projeto. Fornecendo um {@code ResourceProvider} antes
+     * disso, o customizer do Boot não faz nada. Sem AOT nada muda.
+     *
+     * Acoplamento de versões: o {@link MigrationResourceProvider} usa só a API pública do
+     * Flyway ({@code ResourceProvider}/{@code LoadableResource}, testado em
+     * MigrationResourceProviderTest com o Flyway do pom, hoje 10.x); o que depende de versão é
+     * o Boot pular o customizer dele quando já há um provider (3.2.x). Ao subir o Boot para uma
+     * versão que corrija o customizer, este bean pode sair.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer aotCompatibleFlywayScanner() {
+        return configuration -> {
+            if (AotDetector.useGeneratedArtifacts() && configuration.getResourceProvider() == null) {
+                configuration.resourceProvider(new MigrationResourceProvider(
+                        Arrays.asList(configuration.getLocations()), configuration.getClassLoader(),
+                        configuration.getEncoding()));
+            }
+        };
+    }
+
+    /**
+     * Com AOT a presença do Flyway é decidida no build, e {@code spring.flyway.enabled=false}
+     * em runtime deixaria de ter efeito. A estratégia relê a flag na subida, o que mantém o
+     * mesmo comportamento com e sem AOT (é o que o treino do CDS no Dockerfile usa para subir
+     * sem banco).
+     *
+     * {@code datasource.migration.mode} escolhe o que a instância faz com o schema:
+     * - {@code migrate}: roda o migrate (com validate) na subida, como sempre;
+     * - {@code verify}: não toca no Flyway; quem confere a versão é o {@link SchemaVersionCheck},
+     *   que tira a instância do readiness se o schema estiver atrás do build. É o modo das
+     *   instâncias que servem tráfego quando as migrations rodam num job separado
+     *   ({@code --migrate-only}, ver {@code OrderManagerApplication}).
+     */
+    @Bean
+    public FlywayMigrationStrategy runtimeFlywayMigrationStrategy(
+            @Value("${spring.flyway.enabled:true}") boolean enabled,
+            @Value("${datasource.migration.mode:migrate}") String mode) {
+        boolean migrate = switch (mode) {
+            case "migrate" -> true;
+            case "verify" -> false;
+            default -> throw new IllegalArgumentException(
+                    "datasource.migration.mode inválido: " + mode + " (use migrate ou verify)");
+        };
+        return flyway -> {
+            if (enabled && migrate) {
+                flyway.migrate();
+            }
+        };
+    }
+}
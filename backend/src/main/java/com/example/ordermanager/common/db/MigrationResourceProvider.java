@@ -0,0 +1,133 @@
+package com.example.ordermanager.common.db;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lista os arquivos de migration (SQL, callbacks) com o resolvedor de recursos do Spring, só
+ * pela API pública do Flyway ({@link ResourceProvider}, {@link LoadableResource}).
+ *
+ * Os caminhos seguem o scanner padrão do Flyway: relativo à location ({@code V1__init.sql}),
+ * que é o que aparece em {@code flyway_schema_history.script}. Aceita locations
+ * {@code classpath:} e {@code filesystem:}; a lista é montada uma vez, na criação.
+ */
+class MigrationResourceProvider implements ResourceProvider {
+
+    private final Map<String, LoadableResource> resources = new TreeMap<>();
+
+    MigrationResourceProvider(Collection<Location> locations, ClassLoader classLoader, Charset encoding) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        for (Location location : locations) {
+            String root = rootPattern(location);
+            try {
+                for (Resource base : resolver.getResources(root)) {
+                    String baseUrl = withSlash(base.getURL().toString());
+                    for (Resource file : resolver.getResources(baseUrl + "**/*")) {
+                        String url = file.getURL().toString();
+                        if (url.endsWith("/") || !file.isReadable() || !url.startsWith(baseUrl)) {
+                            continue;
+                        }
+                        String relativePath = url.substring(baseUrl.length());
+                        resources.putIfAbsent(relativePath, new MigrationResource(file, relativePath, encoding));
+                    }
+                }
+            } catch (IOException e) {
+                throw new FlywayException("Falha ao listar as migrations em " + location, e);
+            }
+        }
+    }
+
+    @Override
+    public LoadableResource getResource(String name) {
+        return resources.get(name);
+    }
+
+    @Override
+    public Collection<LoadableResource> getResources(String prefix, String[] suffixes) {
+        List<LoadableResource> found = new ArrayList<>();
+        for (LoadableResource resource : resources.values()) {
+            String filename = resource.getFilename();
+            if (filename.startsWith(prefix) && Arrays.stream(suffixes).anyMatch(filename::endsWith)) {
+                found.add(resource);
+            }
+        }
+        return found;
+    }
+
+    private static String rootPattern(Location location) {
+        if (location.isClassPath()) {
+            return "classpath*:" + location.getRootPath();
+        }
+        if (location.isFileSystem()) {
+            return "file:" + location.getRootPath();
+        }
+        throw new FlywayException("Location não suportada: " + location);
+    }
+
+    private static String withSlash(String url) {
+        return url.endsWith("/") ? url : url + "/";
+    }
+
+    private static final class MigrationResource extends LoadableResource {
+
+        private final Resource resource;
+        private final String relativePath;
+        private final Charset encoding;
+
+        MigrationResource(Resource resource, String relativePath, Charset encoding) {
+            this.resource = resource;
+            this.relativePath = relativePath;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Reader read() {
+            try {
+                return new InputStreamReader(resource.getInputStream(), encoding);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            try {
+                return resource.getURL().getPath();
+            } catch (IOException e) {
+                return relativePath;
+            }
+        }
+
+        @Override
+        public String getAbsolutePathOnDisk() {
+            return getAbsolutePath();
+        }
+
+        @Override
+        public String getFilename() {
+            int slash = relativePath.lastIndexOf('/');
+            return slash < 0 ? relativePath : relativePath.substring(slash + 1);
+        }
+
+        @Override
+        public String getRelativePath() {
+            return relativePath;
+        }
+    }
+}
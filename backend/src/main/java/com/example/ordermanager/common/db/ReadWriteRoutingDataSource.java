@@ -0,0 +1,174 @@
+package com.example.ordermanager.common.db;
+
+import com.example.ordermanager.common.bulkhead.TrafficClass;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Roteia conexões entre o primário, a réplica de leitura e os pools por classe de tráfego.
+ *
+ * Threads {@link TrafficClass#BULK} e {@link TrafficClass#BACKGROUND} usam o pool próprio
+ * da classe (também no primário), quando configurado, para não disputar conexões com as
+ * requisições interativas. As demais seguem a regra abaixo.
+ *
+ * Vai para a réplica apenas quando:
+ * - a transação atual é {@code @Transactional(readOnly = true)};
+ * - a réplica está saudável (atraso abaixo do limite, ver {@link ReplicaLagMonitor}) e a última
+ *   medição ainda vale: uma medição velha demais (monitor travado) conta como réplica fora de uso;
+ * - o usuário atual não fez escrita nos últimos {@code stickyWindowMillis}
+ *   (read-your-writes: logo depois de escrever, ele continua lendo do primário).
+ *
+ * Deve ficar atrás de um {@code LazyConnectionDataSourceProxy}, para que a conexão
+ * real só seja obtida depois que o flag read-only da transação já foi definido.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public enum Route { PRIMARY, REPLICA, BULK, BACKGROUND }
+
+    private final boolean replicaConfigured;
+    private final long stickyWindowNanos;
+
+    // usuário -> instante (System.nanoTime) do último commit com escrita
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    // sem prazo até a primeira medição do monitor
+    private volatile ReplicaState replicaState = new ReplicaState(true, System.nanoTime(), 0);
+
+    public ReadWriteRoutingDataSource(boolean replicaConfigured, long stickyWindowMillis) {
+        this.replicaConfigured = replicaConfigured;
+        this.stickyWindowNanos = stickyWindowMillis * 1_000_000L;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    Route currentRoute() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            rememberWriteOnCommit();
+        }
+        Route dedicated = switch (TrafficClass.current()) {
+            case BULK -> Route.BULK;
+            case BACKGROUND -> Route.BACKGROUND;
+            case INTERACTIVE -> null;
+        };
+        if (dedicated != null && getResolvedDataSources().containsKey(dedicated)) {
+            return dedicated;
+        }
+        if (!readOnly || !replicaConfigured || !isReplicaHealthy() || recentlyWrote(currentUser())) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    public boolean isReplicaConfigured() {
+        return replicaConfigured;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaState.healthyAt(System.nanoTime());
+    }
+
+    public void setReplicaHealthy(boolean replicaHealthy) {
+        setReplicaHealthy(replicaHealthy, 0);
+    }
+
+    /**
+     * Registra uma medição da réplica que vale por {@code validForMillis} (0 = sem prazo).
+     * Passado o prazo sem nova medição, as leituras voltam para o primário.
+     */
+    public void setReplicaHealthy(boolean replicaHealthy, long validForMillis) {
+        this.replicaState = new ReplicaState(replicaHealthy, System.nanoTime(), validForMillis * 1_000_000L);
+    }
+
+    /**
+     * Se o usuário atual está na janela de read-your-writes (suas leituras vão ao primário
+     * mesmo com a réplica saudável).
+     */
+    public boolean isCurrentUserSticky() {
+        return replicaConfigured && recentlyWrote(currentUser());
+    }
+
+    /**
+     * Marca uma escrita do usuário atual feita em outra thread (ex.: lote de criação de pedidos),
+     * onde o commit não vê o usuário da requisição.
+     */
+    public void markCurrentUserWrite() {
+        if (replicaConfigured) {
+            markWrite(currentUser());
+        }
+    }
+
+    public void markWrite(String user) {
+        if (user != null) {
+            lastWriteByUser.put(user, System.nanoTime());
+        }
+    }
+
+    /**
+     * Remove marcas de escrita que já saíram da janela (chamado periodicamente).
+     */
+    public void evictExpiredWrites() {
+        long now = System.nanoTime();
+        lastWriteByUser.values().removeIf(at -> now - at > stickyWindowNanos);
+    }
+
+    boolean recentlyWrote(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long at = lastWriteByUser.get(user);
+        return at != null && System.nanoTime() - at <= stickyWindowNanos;
+    }
+
+    private void rememberWriteOnCommit() {
+        String user = currentUser();
+        if (user == null || !replicaConfigured) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markWrite(user);
+                }
+            });
+        } else {
+            markWrite(user);
+        }
+    }
+
+    /**
+     * Fecha os pools da réplica e das classes de tráfego (o primário é um bean próprio e é
+     * fechado pelo Spring).
+     */
+    @Override
+    public void close() throws IOException {
+        for (Route route : new Route[]{Route.REPLICA, Route.BULK, Route.BACKGROUND}) {
+            if (getResolvedDataSources().get(route) instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private record ReplicaState(boolean healthy, long measuredAt, long validForNanos) {
+        boolean healthyAt(long now) {
+            return healthy && (validForNanos == 0 || now - measuredAt <= validForNanos);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+}
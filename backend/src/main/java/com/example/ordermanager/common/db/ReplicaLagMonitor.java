@@ -0,0 +1,115 @@
+package com.example.ordermanager.common.db;
+
+import com.example.ordermanager.common.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Mede periodicamente o atraso de replicação ({@code Seconds_Behind_Source}) e tira
+ * a réplica de uso quando ele passa do limite ou a replicação está parada.
+ * Um servidor sem configuração de réplica (SHOW REPLICA STATUS vazio) conta como atraso zero.
+ * Sem réplica configurada ({@code replica == null}) não faz nada.
+ *
+ * Roda na própria thread ({@code replica-lag-1}), fora do scheduler dos jobs {@code @Scheduled},
+ * para que um job longo não deixe a réplica em uso com uma medição antiga. Mesmo assim, cada
+ * medição vale só por duas vezes {@code datasource.replica.lag-check-interval}: sem medição nova
+ * nesse prazo, o roteamento trata a réplica como fora de uso e lê do primário.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final ReadWriteRoutingDataSource routing;
+    private final long maxLagSeconds;
+    private final long checkIntervalMillis;
+    private ThreadPoolTaskScheduler scheduler;
+
+    // -1 = desconhecido (erro ou replicação parada)
+    private volatile long lastLagSeconds;
+
+    public ReplicaLagMonitor(DataSource replica, ReadWriteRoutingDataSource routing, long maxLagSeconds,
+                             long checkIntervalMillis) {
+        this.replica = replica;
+        this.routing = routing;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (replica != null && scheduler == null) {
+            scheduler = BulkheadConfig.dedicatedScheduler("replica-lag-");
+            scheduler.scheduleWithFixedDelay(this::check, Duration.ofMillis(checkIntervalMillis));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public void check() {
+        if (replica == null) {
+            return;
+        }
+        routing.evictExpiredWrites();
+        recordLag(queryLagSeconds());
+    }
+
+    void recordLag(long lagSeconds) {
+        lastLagSeconds = lagSeconds;
+        boolean healthy = lagSeconds >= 0 && lagSeconds <= maxLagSeconds;
+        if (healthy != routing.isReplicaHealthy()) {
+            if (healthy) {
+                log.info("Réplica de leitura de volta (atraso {}s)", lagSeconds);
+            } else {
+                log.warn("Réplica de leitura fora de uso (atraso {}s, limite {}s); leituras vão para o primário",
+                        lagSeconds, maxLagSeconds);
+            }
+        }
+        routing.setReplicaHealthy(healthy, 2 * checkIntervalMillis);
+    }
+
+    private long queryLagSeconds() {
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return 0;
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? -1 : lag;
+        } catch (SQLException e) {
+            log.warn("Falha ao consultar atraso da réplica: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datasource.replica.lag", this, m -> m.lastLagSeconds)
+                .description("Atraso de replicação medido (-1 = desconhecido)")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("datasource.replica.healthy", routing, r -> r.isReplicaHealthy() ? 1 : 0)
+                .description("1 quando as leituras read-only estão indo para a réplica")
+                .register(registry);
+    }
+}
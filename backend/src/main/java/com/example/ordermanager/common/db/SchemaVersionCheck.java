@@ -0,0 +1,173 @@
+package com.example.ordermanager.common.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.api.MigrationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Confere se o schema do banco está na versão que este build espera, sem rodar o Flyway.
+ *
+ * A versão esperada é a maior migration versionada (V&lt;versão&gt;__*.sql) encontrada nas
+ * {@code spring.flyway.locations} — só os nomes dos arquivos, sem ler o conteúdo. A versão
+ * do banco sai de uma única consulta ao histórico do Flyway. O banco à frente do código é
+ * aceito (migrations são aditivas, e num deploy gradual o job de migração roda antes de as
+ * instâncias antigas saírem); atrás do código, ou com alguma migration falha no histórico,
+ * o indicador fica DOWN e o grupo de readiness ({@code /actuator/health/readiness}) responde
+ * 503 até o job de migração terminar. Depois de OK o resultado fica guardado: o schema não
+ * volta de versão.
+ */
+@Component("schemaVersion")
+public class SchemaVersionCheck implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaVersionCheck.class);
+
+    private static final Pattern VERSIONED_MIGRATION = Pattern.compile("^V([0-9][0-9._]*)__.*\\.sql$");
+
+    private final HikariDataSource primaryDataSource;
+    private final String historyTable;
+    private final MigrationVersion expected;
+
+    private volatile boolean upToDate;
+
+    public SchemaVersionCheck(HikariDataSource primaryDataSource,
+                              @Value("${spring.flyway.locations:classpath:db/migration}") List<String> locations,
+                              @Value("${spring.flyway.table:flyway_schema_history}") String historyTable) {
+        this.primaryDataSource = primaryDataSource;
+        this.historyTable = historyTable;
+        this.expected = latestBundledVersion(locations);
+    }
+
+    @Override
+    public Health health() {
+        if (upToDate) {
+            return Health.up().withDetail("expected", expected.getVersion()).build();
+        }
+        Health health;
+        try {
+            health = evaluate(expected, queryAppliedVersions());
+        } catch (SQLException ex) {
+            health = Health.down(ex).withDetail("expected", expected.getVersion()).build();
+        }
+        upToDate = Status.UP.equals(health.getStatus());
+        return health;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logOnStartup() {
+        Health health = health();
+        if (upToDate) {
+            log.info("Schema do banco compatível com o build (esperada V{})", expected.getVersion());
+        } else {
+            log.warn("Schema do banco incompatível com o build; instância fora do readiness até a migração: {}",
+                    health.getDetails());
+        }
+    }
+
+    // ============================
+    // REGRAS
+    // ============================
+
+    /**
+     * Cada linha do histórico é {versão, success}. UP quando não há migration falha e a maior
+     * versão aplicada é >= a esperada.
+     */
+    static Health evaluate(MigrationVersion expected, List<AppliedVersion> applied) {
+        MigrationVersion current = null;
+        for (AppliedVersion row : applied) {
+            if (!row.success()) {
+                return Health.down()
+                        .withDetail("expected", expected.getVersion())
+                        .withDetail("failed", row.version())
+                        .build();
+            }
+            MigrationVersion version = MigrationVersion.fromVersion(row.version());
+            if (current == null || version.compareTo(current) > 0) {
+                current = version;
+            }
+        }
+
+        Health.Builder builder = current != null && current.compareTo(expected) >= 0 ? Health.up() : Health.down();
+        return builder
+                .withDetail("expected", expected.getVersion())
+                .withDetail("current", current != null ? current.getVersion() : "nenhuma")
+                .build();
+    }
+
+    /**
+     * Maior versão entre os nomes de arquivo (V8__x.sql -> 8, V2_1__x.sql -> 2.1), ou null.
+     */
+    static MigrationVersion latestVersion(List<String> fileNames) {
+        MigrationVersion latest = null;
+        for (String name : fileNames) {
+            Matcher m = VERSIONED_MIGRATION.matcher(name);
+            if (!m.matches()) {
+                continue;
+            }
+            MigrationVersion version = MigrationVersion.fromVersion(m.group(1).replace('_', '.'));
+            if (latest == null || version.compareTo(latest) > 0) {
+                latest = version;
+            }
+        }
+        return latest;
+    }
+
+    record AppliedVersion(String version, boolean success) {
+    }
+
+    // ============================
+    // LEITURA
+    // ============================
+    private List<AppliedVersion> queryAppliedVersions() throws SQLException {
+        List<AppliedVersion> rows = new ArrayList<>();
+        try (Connection con = primaryDataSource.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT version, success FROM " + historyTable + " WHERE version IS NOT NULL")) {
+            while (rs.next()) {
+                rows.add(new AppliedVersion(rs.getString(1), rs.getBoolean(2)));
+            }
+        }
+        return rows;
+    }
+
+    private static MigrationVersion latestBundledVersion(List<String> locations) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<String> names = new ArrayList<>();
+        for (String location : locations) {
+            String path = location.startsWith("classpath:") ? location.substring("classpath:".length()) : location;
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + path + "/V*__*.sql")) {
+                    names.add(resource.getFilename());
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Não foi possível listar as migrations em " + location, ex);
+            }
+        }
+        MigrationVersion latest = latestVersion(names);
+        if (latest == null) {
+            throw new IllegalStateException("Nenhuma migration versionada encontrada em " + locations);
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ordermanager.common.error;
+
+/**
+ * Recusa esperada de uma regra de negócio (estoque, limite, transição de status, recurso inexistente).
+ *
+ * Não captura stack trace: essas exceções fazem parte do fluxo normal (em picos de venda
+ * a maioria dos POST /api/orders termina aqui) e o stack não ajuda a diagnosticar nada.
+ * A resposta HTTP é montada pelo {@code ApiExceptionHandler} a partir do {@link ErrorCode}.
+ */
+public abstract class BusinessRejectionException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    protected BusinessRejectionException(ErrorCode code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ordermanager.common.error;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Código estável de uma recusa de negócio, exposto no campo {@code code} da resposta.
+ * Implementado pelos enums de cada domínio.
+ */
+public interface ErrorCode {
+
+    /**
+     * Nome do código no JSON (por padrão, o nome da constante do enum).
+     */
+    String name();
+
+    HttpStatus status();
+}
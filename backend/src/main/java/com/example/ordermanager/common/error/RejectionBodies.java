@@ -0,0 +1,41 @@
+package com.example.ordermanager.common.error;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Corpo JSON de uma recusa: {@code {"status":409,"code":"INSUFFICIENT_STOCK","error":"..."}}.
+ *
+ * O trecho fixo de cada código ({@code status} e {@code code}) é serializado uma vez e
+ * reaproveitado; por resposta só a mensagem é escapada e copiada para o array final.
+ */
+public final class RejectionBodies {
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final Map<ErrorCode, byte[]> PREFIXES = new ConcurrentHashMap<>();
+
+    private RejectionBodies() {
+    }
+
+    public static byte[] render(ErrorCode code, String message) {
+        byte[] prefix = PREFIXES.computeIfAbsent(code, RejectionBodies::prefix);
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(message != null ? message : "");
+
+        byte[] body = new byte[prefix.length + escaped.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(escaped, 0, body, prefix.length, escaped.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + escaped.length, SUFFIX.length);
+        return body;
+    }
+
+    private static byte[] prefix(ErrorCode code) {
+        String json = "{\"status\":" + code.status().value()
+                + ",\"code\":\"" + code.name()
+                + "\",\"error\":\"";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ordermanager.common.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada (AIMD).
+ *
+ * - {@link #tryAcquire()} só admite enquanto {@code inFlight < limit}; quem passa disso
+ *   é recusado na hora, em vez de esperar numa fila (thread do Tomcat, pool do Hikari).
+ * - A cada requisição concluída ({@link #release}): latência acima do alvo ou falha de
+ *   infraestrutura multiplica o limite por {@code backoffRatio} (decréscimo multiplicativo);
+ *   latência boa com o limite em uso (inFlight >= limit / 2) soma 1 (acréscimo aditivo).
+ *
+ * Assim, quando o MySQL fica lento o limite cai até a concorrência que ele aguenta dentro
+ * do alvo, e volta a subir sozinho quando a latência normaliza.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTargetNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga de uma requisição admitida e ajusta o limite.
+     *
+     * @param latencyNanos tempo da requisição
+     * @param overloaded   falha que indica sobrecarga (ex.: timeout de conexão, 5xx)
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded || latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightBefore * 2 >= (int) limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
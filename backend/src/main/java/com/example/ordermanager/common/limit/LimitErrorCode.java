@@ -0,0 +1,24 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.common.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Recusas por limite de carga, no mesmo formato JSON das recusas de negócio.
+ */
+public enum LimitErrorCode implements ErrorCode {
+
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS);
+
+    private final HttpStatus status;
+
+    LimitErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public HttpStatus status() {
+        return status;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ordermanager.common.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas de um usuário, no formato GCRA: em vez de fichas e de um relógio de
+ * reposição, cada balde guarda só o "tempo teórico de chegada" ({@code tat}) da próxima
+ * requisição, num {@link AtomicLong}. Uma requisição avança o tat em um intervalo
+ * ({@code 1 s / perSecond}) e é admitida enquanto ele não passar de {@code burst} intervalos
+ * à frente de agora. Sem lock: disputa no mesmo balde se resolve com CAS.
+ *
+ * Balde com {@code tat <= agora} está cheio, igual a um balde novo; por isso pode ser
+ * descartado sem mudar o resultado (ver {@link RateLimiter#evictIdle}).
+ */
+public record RateLimit(long intervalNanos, int burst) {
+
+    public RateLimit {
+        if (intervalNanos <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Limite inválido: intervalo " + intervalNanos + " ns, rajada " + burst);
+        }
+    }
+
+    /** {@code perSecond} requisições por segundo, com rajada de até {@code burst}. */
+    public static RateLimit perSecond(double perSecond, int burst) {
+        return new RateLimit((long) (TimeUnit.SECONDS.toNanos(1) / perSecond), burst);
+    }
+
+    /**
+     * Consome uma ficha do balde.
+     *
+     * @return fichas restantes (>= 0) quando admitida; quando recusada, o negativo dos
+     * nanossegundos até haver ficha de novo (< 0)
+     */
+    public long tryConsume(AtomicLong tat, long now) {
+        long window = intervalNanos * burst;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > window) {
+                return -(ahead - window);
+            }
+            if (tat.compareAndSet(current, next)) {
+                return (window - ahead) / intervalNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.auth.UserRole;
+import com.example.ordermanager.common.error.RejectionBodies;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica o {@link RateLimiter} na cadeia do Spring Security, logo depois do {@code JwtFilter}:
+ * só requisições autenticadas em /api/ entram (as anônimas são recusadas com 401 mais
+ * adiante de qualquer jeito). Todas as respostas limitadas levam {@code X-RateLimit-Limit}
+ * (rajada) e {@code X-RateLimit-Remaining}; a recusa é 429 com {@code Retry-After}, sem
+ * chegar ao controller.
+ *
+ * Não é um {@code @Component}: registrado como bean, o Spring Boot também o colocaria na
+ * cadeia de filtros do servlet, fora do Spring Security.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final byte[] RATE_LIMITED_BODY = RejectionBodies.render(LimitErrorCode.RATE_LIMITED,
+            "Limite de requisições excedido; tente novamente em instantes");
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        RateLimitGroup group = RateLimitGroup.of(request.getMethod(), request.getRequestURI());
+        if (authentication == null || !authentication.isAuthenticated() || group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UserRole role = roleOf(authentication);
+        long result = rateLimiter.tryAcquire(authentication.getName(), role, group);
+        response.setHeader(LIMIT_HEADER, Integer.toString(rateLimiter.limit(role, group).burst()));
+
+        if (result >= 0) {
+            response.setHeader(REMAINING_HEADER, Long.toString(result));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (-result + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(LimitErrorCode.RATE_LIMITED.status().value());
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(RATE_LIMITED_BODY.length);
+        response.getOutputStream().write(RATE_LIMITED_BODY);
+    }
+
+    private static UserRole roleOf(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return UserRole.ADMIN;
+            }
+        }
+        return UserRole.USER;
+    }
+}
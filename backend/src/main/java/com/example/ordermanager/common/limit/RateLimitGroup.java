@@ -0,0 +1,40 @@
+package com.example.ordermanager.common.limit;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Grupos de endpoints com limites de taxa separados (rate-limit.&lt;papel&gt;.&lt;grupo&gt;).
+ *
+ * - {@link #ORDERS_READ}: leituras de pedidos (listagem paginada, busca, estatísticas),
+ *   as mais caras no banco;
+ * - {@link #READ}: demais leituras da API (catálogo);
+ * - {@link #WRITE}: qualquer escrita.
+ */
+public enum RateLimitGroup {
+
+    ORDERS_READ("orders-read"),
+    READ("read"),
+    WRITE("write");
+
+    private final String property;
+
+    RateLimitGroup(String property) {
+        this.property = property;
+    }
+
+    /** Trecho do nome da propriedade: rate-limit.user.{@code orders-read}. */
+    public String property() {
+        return property;
+    }
+
+    /** Grupo da requisição, ou {@code null} quando ela não entra no limite (fora de /api/). */
+    public static RateLimitGroup of(String method, String path) {
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        if (!(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))) {
+            return WRITE;
+        }
+        return path.equals("/api/orders") || path.startsWith("/api/orders/") ? ORDERS_READ : READ;
+    }
+}
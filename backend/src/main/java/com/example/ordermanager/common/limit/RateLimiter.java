@@ -0,0 +1,139 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.auth.UserRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de taxa por usuário (rate-limit.*): um {@link RateLimit} por papel e grupo de
+ * endpoints, e um balde por usuário em cada grupo. O usuário é o subject do JWT (e-mail),
+ * resolvido pelo {@code JwtFilter}; a aplicação é feita pelo {@link RateLimitFilter}.
+ *
+ * Os baldes ficam em memória, por instância da aplicação: com N instâncias atrás do
+ * balanceador, o limite efetivo de um usuário é até N vezes o configurado.
+ *
+ * O mapa é limitado a {@code rate-limit.max-users} baldes por grupo; baldes cheios (usuário
+ * parado há tempo suficiente para repor a rajada) são descartados a cada
+ * {@code rate-limit.eviction-interval}. Com o mapa lotado, usuários novos passam sem limite
+ * até a próxima limpeza (contados em {@code rate.limiter.overflow}), em vez de recusados.
+ *
+ * Métricas: {@code rate.limiter.rejected} (por grupo), {@code rate.limiter.overflow} e
+ * {@code rate.limiter.buckets}.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final int maxUsers;
+    private final RateLimit[][] limits = new RateLimit[UserRole.values().length][RateLimitGroup.values().length];
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] buckets = new ConcurrentHashMap[RateLimitGroup.values().length];
+    private final Counter[] rejected = new Counter[RateLimitGroup.values().length];
+    private final Counter overflow;
+
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.max-users:100000}") int maxUsers,
+                       @Value("${rate-limit.user.orders-read:10,20}") String userOrdersRead,
+                       @Value("${rate-limit.user.read:20,40}") String userRead,
+                       @Value("${rate-limit.user.write:10,20}") String userWrite,
+                       @Value("${rate-limit.admin.orders-read:50,100}") String adminOrdersRead,
+                       @Value("${rate-limit.admin.read:50,100}") String adminRead,
+                       @Value("${rate-limit.admin.write:50,100}") String adminWrite) {
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        set(UserRole.USER, RateLimitGroup.ORDERS_READ, userOrdersRead);
+        set(UserRole.USER, RateLimitGroup.READ, userRead);
+        set(UserRole.USER, RateLimitGroup.WRITE, userWrite);
+        set(UserRole.ADMIN, RateLimitGroup.ORDERS_READ, adminOrdersRead);
+        set(UserRole.ADMIN, RateLimitGroup.READ, adminRead);
+        set(UserRole.ADMIN, RateLimitGroup.WRITE, adminWrite);
+
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            buckets[group.ordinal()] = new ConcurrentHashMap<>();
+            rejected[group.ordinal()] = Counter.builder("rate.limiter.rejected")
+                    .description("Requisições recusadas com 429 pelo limite por usuário")
+                    .tag("group", group.property())
+                    .register(meterRegistry);
+        }
+        this.overflow = Counter.builder("rate.limiter.overflow")
+                .description("Requisições sem limite porque o mapa de baldes estava cheio")
+                .register(meterRegistry);
+        Gauge.builder("rate.limiter.buckets", this, RateLimiter::bucketCount)
+                .description("Baldes de usuários em memória")
+                .register(meterRegistry);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public RateLimit limit(UserRole role, RateLimitGroup group) {
+        return limits[role.ordinal()][group.ordinal()];
+    }
+
+    /** Ver {@link RateLimit#tryConsume}: >= 0 = admitida (fichas restantes), < 0 = recusada. */
+    public long tryAcquire(String user, UserRole role, RateLimitGroup group) {
+        return tryAcquire(user, role, group, System.nanoTime());
+    }
+
+    long tryAcquire(String user, UserRole role, RateLimitGroup group, long now) {
+        RateLimit limit = limit(role, group);
+        ConcurrentHashMap<String, AtomicLong> groupBuckets = buckets[group.ordinal()];
+
+        AtomicLong tat = groupBuckets.get(user);
+        if (tat == null) {
+            if (groupBuckets.size() >= maxUsers) {
+                overflow.increment();
+                return limit.burst();
+            }
+            // Long.MIN_VALUE = balde cheio (o nanoTime pode ser negativo)
+            tat = groupBuckets.computeIfAbsent(user, key -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        long result = limit.tryConsume(tat, now);
+        if (result < 0) {
+            rejected[group.ordinal()].increment();
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:60000}")
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    void evictIdle(long now) {
+        // Um request concorrente pode ainda consumir de um balde que acabou de sair do mapa;
+        // no pior caso ele ganha uma ficha a mais, o que não justifica travar o caminho quente.
+        for (ConcurrentHashMap<String, AtomicLong> groupBuckets : buckets) {
+            groupBuckets.values().removeIf(tat -> tat.get() <= now);
+        }
+    }
+
+    int bucketCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, AtomicLong> groupBuckets : buckets) {
+            count += groupBuckets.size();
+        }
+        return count;
+    }
+
+    // "requisições por segundo,rajada", ex.: "10,20"
+    private void set(UserRole role, RateLimitGroup group, String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("rate-limit." + role.name().toLowerCase() + "." + group.property()
+                    + " deve ser \"por-segundo,rajada\": " + value);
+        }
+        limits[role.ordinal()][group.ordinal()] =
+                RateLimit.perSecond(Double.parseDouble(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+}
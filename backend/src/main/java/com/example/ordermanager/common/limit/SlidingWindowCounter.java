@@ -0,0 +1,124 @@
+package com.example.ordermanager.common.limit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contador de eventos por chave numa janela deslizante, aproximada por duas janelas fixas:
+ * a contagem estimada é {@code anterior * (fração da janela anterior ainda dentro da janela
+ * deslizante) + atual}. Dois inteiros por chave, em vez de um timestamp por evento.
+ *
+ * As chaves ficam em {@code stripes} mapas independentes, cada um com seu lock e limitado a
+ * {@code maxKeys / stripes} entradas (LRU): threads com chaves diferentes quase nunca
+ * disputam o mesmo lock e a memória não cresce com a quantidade de chaves que um atacante
+ * consegue inventar. Uma chave descartada pelo LRU volta zerada.
+ */
+public class SlidingWindowCounter {
+
+    private static final class Window {
+        long start;
+        int previous;
+        int current;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Window> {
+
+        private final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxKeys;
+        }
+    }
+
+    private final long windowNanos;
+    private final Stripe[] stripes;
+
+    public SlidingWindowCounter(long windowNanos, int stripes, int maxKeys) {
+        if (windowNanos <= 0 || Integer.bitCount(stripes) != 1 || maxKeys < stripes) {
+            throw new IllegalArgumentException("Janela " + windowNanos + " ns, " + stripes
+                    + " stripes (potência de 2), " + maxKeys + " chaves (>= stripes)");
+        }
+        this.windowNanos = windowNanos;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(maxKeys / stripes);
+        }
+    }
+
+    /** Contagem estimada na janela que termina em {@code now}. */
+    public double estimate(String key, long now) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            return window == null ? 0 : estimate(roll(window, now), now);
+        }
+    }
+
+    /** Registra um evento e devolve a contagem estimada, já com ele. */
+    public double increment(String key, long now) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Window window = roll(stripe.computeIfAbsent(key, k -> new Window()), now);
+            window.current++;
+            return estimate(window, now);
+        }
+    }
+
+    public void reset(String key) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    /**
+     * Nanossegundos até a contagem estimada ficar abaixo de {@code limit} (0 se já está),
+     * sem novos eventos.
+     */
+    public long nanosUntilBelow(String key, int limit, long now) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null || estimate(roll(window, now), now) < limit) {
+                return 0;
+            }
+            // fração da janela em que a contagem que sai (anterior ou atual) deixa a estimativa < limit
+            double fraction;
+            long from;
+            if (window.current < limit) {
+                fraction = 1 - (double) (limit - window.current) / window.previous;
+                from = window.start;
+            } else {
+                fraction = 1 - (double) limit / window.current;
+                from = window.start + windowNanos;
+            }
+            return Math.max(1, from + (long) Math.ceil(fraction * windowNanos) + 1 - now);
+        }
+    }
+
+    private Window roll(Window window, long now) {
+        long start = Math.floorDiv(now, windowNanos) * windowNanos;
+        if (start != window.start) {
+            window.previous = start - window.start == windowNanos ? window.current : 0;
+            window.current = 0;
+            window.start = start;
+        }
+        return window;
+    }
+
+    private double estimate(Window window, long now) {
+        double elapsed = (double) (now - window.start) / windowNanos;
+        return window.previous * (1 - elapsed) + window.current;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ordermanager.common.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite adaptativo de escritas simultâneas na API (write-limiter.*).
+ *
+ * Vale para as escritas de pedidos, produtos, categorias e reservas, exceto os endpoints em lote, que
+ * já têm executor e fila próprios (ver {@code Bulkheads}).
+ *
+ * Métricas: {@code write.limiter.limit}, {@code write.limiter.in-flight} e
+ * {@code write.limiter.rejected}.
+ */
+@Configuration
+public class WriteLimitConfig implements WebMvcConfigurer {
+
+    private final boolean enabled;
+    private final WriteLimitInterceptor interceptor;
+
+    public WriteLimitConfig(MeterRegistry meterRegistry,
+                            @Value("${write-limiter.enabled:true}") boolean enabled,
+                            @Value("${write-limiter.initial-limit:20}") int initialLimit,
+                            @Value("${write-limiter.min-limit:2}") int minLimit,
+                            @Value("${write-limiter.max-limit:100}") int maxLimit,
+                            @Value("${write-limiter.latency-target-ms:250}") long latencyTargetMillis,
+                            @Value("${write-limiter.backoff-ratio:0.9}") double backoffRatio,
+                            @Value("${write-limiter.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis), backoffRatio);
+        Gauge.builder("write.limiter.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Limite atual de escritas simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("write.limiter.in-flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Escritas em andamento")
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("write.limiter.rejected")
+                .description("Escritas recusadas com 503 por falta de vaga")
+                .register(meterRegistry);
+
+        this.interceptor = new WriteLimitInterceptor(limiter, rejected, retryAfterSeconds);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/orders/**", "/api/products/**", "/api/categories/**", "/api/reservations/**")
+                .excludePathPatterns("/api/orders/bulk-delete", "/api/orders/status", "/api/orders/stats/rebuild");
+    }
+}
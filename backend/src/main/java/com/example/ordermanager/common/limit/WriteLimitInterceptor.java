@@ -0,0 +1,71 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.common.error.RejectionBodies;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Passa as escritas (POST/PUT/PATCH/DELETE) pelo {@link AdaptiveConcurrencyLimiter}. Sem vaga,
+ * responde 503 com {@code Retry-After} na hora, sem chegar ao controller nem ao banco.
+ * Leituras não entram no limite.
+ */
+public class WriteLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT = WriteLimitInterceptor.class.getName() + ".startedAt";
+
+    private static final byte[] OVERLOADED_BODY = RejectionBodies.render(LimitErrorCode.OVERLOADED,
+            "Servidor sobrecarregado; tente novamente em instantes");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejected;
+    private final String retryAfterSeconds;
+
+    public WriteLimitInterceptor(AdaptiveConcurrencyLimiter limiter, Counter rejected, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.rejected = rejected;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!isWrite(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            response.setStatus(LimitErrorCode.OVERLOADED.status().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(OVERLOADED_BODY.length);
+            response.getOutputStream().write(OVERLOADED_BODY);
+            return false;
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        request.removeAttribute(STARTED_AT);
+        // recusas de negócio (4xx) não indicam sobrecarga; erro não tratado ou 5xx sim
+        boolean overloaded = ex != null || response.getStatus() >= 500;
+        limiter.release(System.nanoTime() - startedAt, overloaded);
+    }
+
+    private static boolean isWrite(String method) {
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.ordermanager.common.lookup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Busca por id com duas proteções para o banco:
+ *
+ * - single-flight: chamadas simultâneas para o mesmo id compartilham uma única consulta; a
+ *   primeira executa o {@code loader}, as demais esperam o resultado dela (sem conexão
+ *   aberta, então o {@code loader} precisa abrir a própria transação);
+ * - cache negativo: "não encontrado" fica guardado por {@code negativeTtl}, para que uma
+ *   rajada de 404 (robôs varrendo ids) não vire uma consulta por requisição.
+ *
+ * Resultados encontrados não são guardados: cada rajada de leituras refaz a consulta uma vez.
+ *
+ * {@link #invalidate} esquece o id (consulta em andamento e entrada negativa); as escritas
+ * chamam depois do commit. Uma consulta que começou antes de uma invalidação não grava o
+ * "não encontrado" dela (mesma ideia do {@code CatalogVersion}). O estado é por instância:
+ * um id criado em outra réplica da aplicação pode continuar 404 aqui por até {@code negativeTtl}.
+ *
+ * Quando {@code bypass} é verdadeiro (ex.: usuário que acabou de escrever e precisa ler do
+ * primário), a chamada vai direto ao {@code loader}, sem compartilhar nem usar o cache negativo.
+ *
+ * Métrica {@code lookup.requests} por {@code name} e {@code result}: {@code loaded} (consultou
+ * o banco), {@code coalesced} (pegou carona numa consulta em andamento), {@code negative-hit}
+ * (respondido pelo cache negativo) e {@code bypassed}.
+ */
+public class ByIdLookup<V> {
+
+    private final long negativeTtlNanos;
+    private final int maxNegativeEntries;
+    private final BooleanSupplier bypass;
+
+    private final Map<Long, CompletableFuture<Optional<V>>> inFlight = new ConcurrentHashMap<>();
+    // id -> instante (System.nanoTime) em que a entrada expira
+    private final Map<Long, Long> notFound = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter negativeHits;
+    private final Counter bypassed;
+
+    public ByIdLookup(String name, MeterRegistry meterRegistry, long negativeTtlMillis, int maxNegativeEntries,
+                      BooleanSupplier bypass) {
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.maxNegativeEntries = maxNegativeEntries;
+        this.bypass = bypass;
+        this.loaded = counter(meterRegistry, name, "loaded");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        this.negativeHits = counter(meterRegistry, name, "negative-hit");
+        this.bypassed = counter(meterRegistry, name, "bypassed");
+        Gauge.builder("lookup.not-found.entries", notFound, Map::size)
+                .description("Ids guardados no cache negativo")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public Optional<V> find(Long id, Supplier<Optional<V>> loader) {
+        if (bypass.getAsBoolean()) {
+            bypassed.increment();
+            return loader.get();
+        }
+
+        Long expiresAt = notFound.get(id);
+        if (expiresAt != null) {
+            if (System.nanoTime() - expiresAt < 0) {
+                negativeHits.increment();
+                return Optional.empty();
+            }
+            notFound.remove(id, expiresAt);
+        }
+
+        CompletableFuture<Optional<V>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        long generationBeforeLoad = generation.get();
+        try {
+            loaded.increment();
+            Optional<V> result = loader.get();
+            if (result.isEmpty()) {
+                rememberNotFound(id, generationBeforeLoad);
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /** Esquece o id agora: a próxima busca vai ao banco. */
+    public void invalidate(Long id) {
+        // Incrementa antes de remover: a consulta em andamento vê a geração nova e não grava o 404
+        generation.incrementAndGet();
+        notFound.remove(id);
+        inFlight.remove(id);
+    }
+
+    /** {@link #invalidate} depois do commit da transação atual (ou agora, sem transação). */
+    public void invalidateAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id);
+                }
+            });
+        } else {
+            invalidate(id);
+        }
+    }
+
+    private void rememberNotFound(Long id, long generationBeforeLoad) {
+        if (negativeTtlNanos <= 0) {
+            return;
+        }
+        if (notFound.size() >= maxNegativeEntries) {
+            notFound.clear();
+        }
+        notFound.put(id, System.nanoTime() + negativeTtlNanos);
+        if (generation.get() != generationBeforeLoad) {
+            notFound.remove(id);
+        }
+    }
+
+    private static <V> Optional<V> await(CompletableFuture<Optional<V>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // a falha da consulta compartilhada chega igual para todos (ex.: recusa de negócio)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("lookup.requests")
+                .description("Buscas por id, por resultado")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ordermanager.common.lookup;
+
+import com.example.ordermanager.common.db.ReadWriteRoutingDataSource;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Buscas por id de GET /api/products/{id} e GET /api/orders/{id} (lookup.*).
+ *
+ * Usuários dentro da janela de read-your-writes da réplica não compartilham consultas: a
+ * consulta de outro usuário pode ter ido para a réplica, ainda sem a escrita deles.
+ */
+@Configuration
+public class LookupConfig {
+
+    private final MeterRegistry meterRegistry;
+    private final ReadWriteRoutingDataSource routing;
+    private final long negativeTtlMillis;
+    private final int maxNegativeEntries;
+
+    public LookupConfig(MeterRegistry meterRegistry,
+                        ReadWriteRoutingDataSource routing,
+                        @Value("${lookup.negative-ttl-ms:2000}") long negativeTtlMillis,
+                        @Value("${lookup.negative-max-entries:100000}") int maxNegativeEntries) {
+        this.meterRegistry = meterRegistry;
+        this.routing = routing;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.maxNegativeEntries = maxNegativeEntries;
+    }
+
+    @Bean
+    public ByIdLookup<ProductResponseDTO> productLookup() {
+        return new ByIdLookup<>("products", meterRegistry, negativeTtlMillis, maxNegativeEntries,
+                routing::isCurrentUserSticky);
+    }
+
+    @Bean
+    public ByIdLookup<OrderResponseDTO> orderLookup() {
+        return new ByIdLookup<>("orders", meterRegistry, negativeTtlMillis, maxNegativeEntries,
+                routing::isCurrentUserSticky);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ordermanager.common.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário (BRL) imutável, guardado como quantidade de centavos em um {@code long}.
+ *
+ * Somas e multiplicações são aritmética de inteiros com checagem de overflow
+ * ({@link Math#addExact}, {@link Math#multiplyExact}); não há BigDecimal no caminho
+ * de cálculo. BigDecimal só aparece nas bordas: banco ({@link MoneyConverter}) e
+ * entrada de DTOs ({@link #of(BigDecimal)}).
+ *
+ * No JSON sai como número com duas casas ({@code 650.00}), igual ao BigDecimal lido do banco.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+@Schema(type = "number", format = "decimal", example = "199.90")
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converte arredondando para centavos (HALF_UP), como o MySQL faz ao gravar em DECIMAL(_, 2).
+     */
+    public static Money of(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        return ofCents(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money parse(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return cents > other.cents;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Representação decimal com duas casas, ex.: {@code 1200.00}, {@code -0.05}.
+     */
+    @Override
+    public String toString() {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        StringBuilder sb = new StringBuilder(24);
+        if (cents < 0) {
+            sb.append('-');
+        }
+        sb.append(abs / 100).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.ordermanager.common.warmup;
+
+import com.example.ordermanager.auth.TokenService;
+import com.example.ordermanager.common.db.ReadWriteRoutingDataSource;
+import com.example.ordermanager.order.OrderRejectedException;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.ProductRejectedException;
+import com.example.ordermanager.product.ProductService;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquecimento opcional do JIT e dos pools antes de a instância entrar no readiness.
+ *
+ * Roda como {@link ApplicationRunner}: o Spring Boot só publica ACCEPTING_TRAFFIC
+ * ({@code /actuator/health/readiness} 200) depois que os runners terminam. O aquecimento:
+ * 1. abre as conexões mínimas de cada pool Hikari (primário e réplica, se houver);
+ * 2. repete chamadas sintéticas, só de leitura, até {@code warmup.iterations} ou
+ *    {@code warmup.max-millis}: listagem/busca de pedidos e produtos, sugestões, um pedido
+ *    com produto inexistente (percorre o caminho do create e da recusa sem escrever nada),
+ *    geração e validação de JWT e serialização/desserialização Jackson dos DTOs.
+ *
+ * Nada é gravado no banco. Qualquer erro inesperado encerra o aquecimento com um aviso; a
+ * instância sobe mesmo assim.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String SYNTHETIC_USER = "warmup@order-manager.local";
+    // Listagens paginadas fazem COUNT(*); numa tabela grande de pedidos isso é caro, então só
+    // rodam de tantas em tantas iterações (a serialização do último resultado roda em todas)
+    private static final int LISTING_EVERY = 50;
+
+    private static final byte[] REJECTED_ORDER = "{\"items\":[{\"productId\":-1,\"quantity\":1}]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final Timer iterationTimer;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxMillis;
+
+    private Page<OrderResponseDTO> orders = Page.empty();
+    private Page<ProductResponseDTO> products = Page.empty();
+
+    public WarmUpRunner(OrderService orderService,
+                        ProductService productService,
+                        TokenService tokenService,
+                        ObjectMapper objectMapper,
+                        ReadWriteRoutingDataSource routingDataSource,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.enabled:false}") boolean enabled,
+                        @Value("${warmup.iterations:2000}") int iterations,
+                        @Value("${warmup.max-millis:20000}") long maxMillis) {
+        this.orderService = orderService;
+        this.productService = productService;
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+        this.routingDataSource = routingDataSource;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxMillis = maxMillis;
+
+        this.iterationTimer = Timer.builder("startup.warmup.iteration")
+                .description("Tempo de cada iteração do aquecimento (a primeira é a fria)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxMillis * 1_000_000;
+
+        int opened = openPools();
+
+        int done = 0;
+        long firstNanos = 0;
+        long lastNanos = 0;
+        try {
+            while (done < iterations && System.nanoTime() < deadline) {
+                long t0 = System.nanoTime();
+                iteration(done);
+                lastNanos = System.nanoTime() - t0;
+                iterationTimer.record(lastNanos, TimeUnit.NANOSECONDS);
+                if (done == 0) {
+                    firstNanos = lastNanos;
+                }
+                done++;
+            }
+        } catch (Exception ex) {
+            log.warn("Aquecimento interrompido na iteração {}: {}", done + 1, ex.toString());
+        }
+
+        log.info("Aquecimento: {} conexões abertas, {} iterações em {} ms (primeira {} µs, última {} µs)",
+                opened, done, (System.nanoTime() - start) / 1_000_000, firstNanos / 1_000, lastNanos / 1_000);
+    }
+
+    /**
+     * Pega ao mesmo tempo as conexões mínimas de cada pool e devolve todas, para que as
+     * primeiras requisições não paguem o handshake com o MySQL.
+     */
+    private int openPools() {
+        int opened = 0;
+        for (Object target : routingDataSource.getResolvedDataSources().values()) {
+            if (!(target instanceof HikariDataSource pool)) {
+                continue;
+            }
+            int wanted = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize());
+            List<Connection> borrowed = new ArrayList<>(wanted);
+            try {
+                for (int i = 0; i < wanted; i++) {
+                    borrowed.add(pool.getConnection());
+                }
+            } catch (SQLException ex) {
+                log.warn("Aquecimento do pool {} parou em {} conexões: {}", pool.getPoolName(), borrowed.size(),
+                        ex.toString());
+            } finally {
+                opened += borrowed.size();
+                closeAll(borrowed);
+            }
+        }
+        return opened;
+    }
+
+    private void iteration(int i) throws Exception {
+        if (i % LISTING_EVERY == 0) {
+            Pageable page = PageRequest.of(0, 20);
+            orders = orderService.findAll(i % (2 * LISTING_EVERY) == 0 ? null : OrderStatus.PENDING, page);
+            products = productService.list(i % (2 * LISTING_EVERY) == 0 ? null : "a", page);
+        }
+
+        objectMapper.writeValueAsBytes(orders);
+        if (orders.hasContent()) {
+            objectMapper.writeValueAsBytes(orderService.findById(orders.getContent().get(0).getId()));
+        }
+
+        objectMapper.writeValueAsBytes(products);
+        objectMapper.writeValueAsBytes(productService.suggest("a", 10));
+        if (products.hasContent()) {
+            objectMapper.writeValueAsBytes(productService.getResponse(products.getContent().get(0).getId()));
+        }
+        try {
+            productService.getResponse(-1L);
+        } catch (ProductRejectedException expected) {
+            // caminho do 404
+        }
+
+        try {
+            orderService.create(objectMapper.readValue(REJECTED_ORDER, CreateOrderDTO.class));
+        } catch (OrderRejectedException expected) {
+            // produto -1 não existe: a recusa vem antes de qualquer escrita
+        }
+
+        String token = tokenService.generateToken(SYNTHETIC_USER);
+        if (!SYNTHETIC_USER.equals(tokenService.getEmailFromToken(token))) {
+            throw new IllegalStateException("JWT gerado no aquecimento não foi validado");
+        }
+    }
+
+    private static void closeAll(List<Connection> connections) {
+        for (Connection con : connections) {
+            try {
+                con.close();
+            } catch (SQLException ignored) {
+                // devolvendo ao pool; nada a fazer
+            }
+        }
+    }
+}
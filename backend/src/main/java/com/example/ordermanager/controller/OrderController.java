@@ -1,11 +1,20 @@
 package com.example.ordermanager.controller;
 
+import com.example.ordermanager.common.bulkhead.Bulkheads;
+import com.example.ordermanager.order.OrderCreateBatcher;
 import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.OrderStatsService;
 import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.dto.BulkDeleteDTO;
+import com.example.ordermanager.order.dto.BulkDeleteResultDTO;
+import com.example.ordermanager.order.dto.BulkStatusUpdateDTO;
+import com.example.ordermanager.order.dto.BulkStatusUpdateResultDTO;
 import com.example.ordermanager.order.dto.CreateOrderDTO;
 import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.order.dto.OrderStatsSummaryDTO;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +28,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 
 @Tag(name = "Pedidos", description = "Operações de criação, listagem, atualização e cancelamento de pedidos.")
@@ -28,9 +39,18 @@ public class OrderController {
 
 
     private final OrderService orderService;
-
-    public OrderController(OrderService orderService) {
+    private final OrderStatsService orderStatsService;
+    // endpoints em lote rodam no executor e no pool de conexões de lote (ver Bulkheads)
+    private final Bulkheads bulkheads;
+    // criação: direto no OrderService ou em lote (orders.create-batch.enabled)
+    private final OrderCreateBatcher createBatcher;
+
+    public OrderController(OrderService orderService, OrderStatsService orderStatsService, Bulkheads bulkheads,
+                           OrderCreateBatcher createBatcher) {
         this.orderService = orderService;
+        this.orderStatsService = orderStatsService;
+        this.bulkheads = bulkheads;
+        this.createBatcher = createBatcher;
     }
 
     // ================================
@@ -41,7 +61,7 @@ public class OrderController {
             description = "Cria um novo pedido com itens e retorna o resumo com total.")
     @PostMapping
     public ResponseEntity<OrderResponseDTO> create(@RequestBody @Valid CreateOrderDTO dto) {
-        OrderResponseDTO response = orderService.create(dto);
+        OrderResponseDTO response = createBatcher.create(dto);
 
         // Monta a URI do recurso criado: /api/orders/{id}
         URI location = ServletUriComponentsBuilder
@@ -81,6 +101,36 @@ public class OrderController {
         return orderService.findAll(status, pageable);
     }
 
+    // ============================
+    // ESTATÍSTICAS (agregado diário)
+    // ============================
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Estatísticas de pedidos",
+            description = "Quantidade e soma dos totais por status, no geral e por dia de criação. "
+                    + "Lido do agregado order_stats_daily (não varre a tabela de pedidos)."
+    )
+    @GetMapping("/stats")
+    public OrderStatsSummaryDTO stats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderStatsService.summary(from, to);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Reconstruir estatísticas de pedidos",
+            description = "Recalcula order_stats_daily a partir dos pedidos existentes, em blocos. "
+                    + "Use em janela de manutenção (sem escritas de pedidos em andamento)."
+    )
+    @PostMapping("/stats/rebuild")
+    public CompletableFuture<ResponseEntity<Void>> rebuildStats() {
+        return bulkheads.bulk(() -> {
+            orderStatsService.rebuild();
+            return ResponseEntity.noContent().build();
+        });
+    }
+
     // ================================
     // ATUALIZAR STATUS
     // ================================
@@ -92,6 +142,15 @@ public class OrderController {
         orderService.updateStatus(id, status);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Atualizar status de vários pedidos",
+               description = "Aplica o mesmo status a até 1000 pedidos com um único UPDATE. "
+                       + "Pedidos cuja transição não é permitida voltam em rejected; ids inexistentes em notFound.")
+    @PutMapping("/status")
+    public CompletableFuture<BulkStatusUpdateResultDTO> updateStatuses(@RequestBody @Valid BulkStatusUpdateDTO dto) {
+        return bulkheads.bulk(() -> orderService.updateStatuses(dto.ids(), dto.status()));
+    }
+
     // ================================
     // DELETAR / CANCELAR PEDIDO
     // ================================
@@ -103,4 +162,13 @@ public class OrderController {
         orderService.delete(id);
         return ResponseEntity.noContent().build(); // 204
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Excluir vários pedidos",
+               description = "Remove até 10000 pedidos (e seus itens) com DELETEs em blocos, "
+                       + "uma transação curta por bloco. Ids inexistentes voltam em notFound.")
+    @PostMapping("/bulk-delete")
+    public CompletableFuture<BulkDeleteResultDTO> deleteAll(@RequestBody @Valid BulkDeleteDTO dto) {
+        return bulkheads.bulk(() -> orderService.deleteAll(dto.ids()));
+    }
 }
@@ -1,14 +1,22 @@
 package com.example.ordermanager.order;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
+import com.example.ordermanager.common.money.Money;
+import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Entity
 @Table(name = "orders")
 public class Order {
+
+    // order_number = ORD-<epoch ms>-<instância>-<sequência>: a sequência separa pedidos do mesmo
+    // milissegundo nesta JVM, e o id aleatório da instância separa nós que sobem juntos (e
+    // começariam a sequência do mesmo ponto)
+    private static final String ORDER_NUMBER_NODE = String.format("%08x", new SecureRandom().nextInt());
+    private static final AtomicInteger ORDER_NUMBER_SEQUENCE = new AtomicInteger();
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,7 +30,7 @@ public class Order {
     private OrderStatus status;
     
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -53,8 +61,9 @@ public class Order {
         updatedAt = Instant.now();
     }
     
-    private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis();
+    static String generateOrderNumber() {
+        return "ORD-" + System.currentTimeMillis() + "-" + ORDER_NUMBER_NODE
+                + "-" + Math.floorMod(ORDER_NUMBER_SEQUENCE.incrementAndGet(), 1_000_000);
     }
     
     // Getters e Setters
@@ -82,11 +91,11 @@ public class Order {
         this.status = status;
     }
     
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
     
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
     
@@ -0,0 +1,265 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.cache.CacheInvalidations;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.order.dto.OrderItemResponseDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.order.outbox.OrderEventType;
+import com.example.ordermanager.order.outbox.OrderOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Grava um lote de pedidos (montado pelo {@link OrderCreateBatcher}) em uma única transação.
+ *
+ * Trava de uma vez, em ordem de id, todos os produtos citados no lote; valida cada pedido na
+ * ordem de chegada contra o estoque que sobrou dos anteriores (mesmas regras e mensagens de
+ * {@link OrderService#create}) e grava os aceitos com INSERTs/UPDATEs em batch JDBC. Estatísticas,
+ * outbox e invalidação de cache saem em um comando por lote, não por pedido.
+ *
+ * Os batches só viram um INSERT multi-linha (um round-trip) com {@code rewriteBatchedStatements=true}
+ * na URL JDBC; sem ele o Connector/J manda um comando por linha.
+ *
+ * Pedidos recusados não derrubam o lote: voltam como {@link Result#rejection()}. Qualquer outra
+ * falha faz rollback do lote inteiro e sobe para o chamador.
+ *
+ * A transação tem prazo ({@code orders.create-batch.transaction-timeout-seconds}, aplicado às
+ * queries): um lote travado no banco termina em rollback, e quem espera por ele sempre recebe
+ * um resultado definitivo.
+ */
+@Component
+class OrderBatchWriter {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final OrderStatsDailyRepository orderStatsRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final CacheInvalidations cacheInvalidations;
+    private final TransactionTemplate transactionTemplate;
+
+    OrderBatchWriter(NamedParameterJdbcTemplate jdbc,
+                     OrderStatsDailyRepository orderStatsRepository,
+                     OrderOutboxRepository outboxRepository,
+                     CacheInvalidations cacheInvalidations,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${orders.create-batch.transaction-timeout-seconds:5}") int transactionTimeoutSeconds) {
+        this.jdbc = jdbc;
+        this.orderStatsRepository = orderStatsRepository;
+        this.outboxRepository = outboxRepository;
+        this.cacheInvalidations = cacheInvalidations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        if (transactionTimeoutSeconds > 0) {
+            this.transactionTemplate.setTimeout(transactionTimeoutSeconds);
+        }
+    }
+
+    /**
+     * Resultado de um pedido do lote: o pedido criado ou a recusa de negócio.
+     */
+    record Result(OrderResponseDTO order, OrderRejectedException rejection) {
+    }
+
+    /**
+     * Um resultado por pedido, na mesma ordem de {@code orders}.
+     */
+    List<Result> write(List<CreateOrderDTO> orders) {
+        return transactionTemplate.execute(status -> writeInTransaction(orders));
+    }
+
+    private List<Result> writeInTransaction(List<CreateOrderDTO> orders) {
+        Map<Long, LockedProduct> products = lockProducts(orders);
+        Instant now = Instant.now();
+
+        PricedOrder[] priced = new PricedOrder[orders.size()];
+        OrderRejectedException[] rejections = new OrderRejectedException[orders.size()];
+        List<PricedOrder> accepted = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            try {
+                priced[i] = price(orders.get(i), products, Order.generateOrderNumber());
+                accepted.add(priced[i]);
+            } catch (OrderRejectedException rejection) {
+                rejections[i] = rejection;
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            Map<String, Long> ids = insertOrders(accepted, now);
+            accepted.forEach(order -> order.id = ids.get(order.number));
+            updateStock(products, now);
+
+            List<Long> created = accepted.stream().map(order -> order.id).toList();
+            orderStatsRepository.adjust(created, OrderStatus.PENDING.name(), 1);
+            outboxRepository.append(created, OrderEventType.ORDER_CREATED.name(), OrderStatus.PENDING.name());
+            cacheInvalidations.ordersChanged(created);
+            products.values().stream()
+                    .filter(LockedProduct::changed)
+                    .forEach(product -> cacheInvalidations.stockChanged(product.id));
+        }
+
+        List<Result> results = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            results.add(priced[i] != null
+                    ? new Result(new OrderResponseDTO(priced[i].id, priced[i].number, OrderStatus.PENDING,
+                            priced[i].total, now, now, priced[i].items), null)
+                    : new Result(null, rejections[i]));
+        }
+        return results;
+    }
+
+    private Map<Long, LockedProduct> lockProducts(List<CreateOrderDTO> orders) {
+        TreeSet<Long> ids = new TreeSet<>();
+        for (CreateOrderDTO order : orders) {
+            for (CreateOrderItemDTO item : order.getItems()) {
+                ids.add(item.getProductId());
+            }
+        }
+        Map<Long, LockedProduct> products = new HashMap<>();
+        if (ids.isEmpty()) {
+            return products;
+        }
+        // ordem de id: dois lotes concorrentes travam na mesma sequência, sem deadlock entre eles
+        jdbc.query("SELECT id, name, price, stock, reserved FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                Map.of("ids", ids),
+                rs -> {
+                    long id = rs.getLong("id");
+                    products.put(id, new LockedProduct(id, rs.getString("name"),
+                            Money.of(rs.getBigDecimal("price")), rs.getInt("stock"), rs.getInt("reserved")));
+                });
+        return products;
+    }
+
+    // Valida e reserva o estoque de um pedido; só desconta dos produtos se o pedido inteiro passar
+    private PricedOrder price(CreateOrderDTO dto, Map<Long, LockedProduct> products, String orderNumber) {
+        Map<Long, Integer> taken = new HashMap<>();
+        List<OrderItemResponseDTO> items = new ArrayList<>(dto.getItems().size());
+        long totalCents = 0;
+
+        for (CreateOrderItemDTO itemDTO : dto.getItems()) {
+            LockedProduct product = products.get(itemDTO.getProductId());
+            if (product == null) {
+                throw new OrderRejectedException(OrderErrorCode.PRODUCT_NOT_FOUND,
+                        "Produto não encontrado: " + itemDTO.getProductId());
+            }
+            int alreadyTaken = taken.getOrDefault(product.id, 0);
+            if (product.stock - product.reserved - alreadyTaken < itemDTO.getQuantity()) {
+                throw new OrderRejectedException(OrderErrorCode.INSUFFICIENT_STOCK,
+                        "Estoque insuficiente para o produto: " + product.name);
+            }
+            taken.put(product.id, alreadyTaken + itemDTO.getQuantity());
+
+            Money subtotal = product.price.times(itemDTO.getQuantity());
+            items.add(new OrderItemResponseDTO(product.id, product.name, itemDTO.getQuantity(), product.price, subtotal));
+            totalCents = Math.addExact(totalCents, subtotal.cents());
+        }
+
+        Money total = Money.ofCents(totalCents);
+        if (total.isGreaterThan(OrderService.MAX_ORDER_TOTAL)) {
+            throw new OrderRejectedException(OrderErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED,
+                    "Valor máximo do pedido excedido. Total calculado: " + total);
+        }
+
+        taken.forEach((productId, quantity) -> products.get(productId).take(quantity));
+        return new PricedOrder(orderNumber, total, items);
+    }
+
+    // INSERT em batch; os ids vêm de uma releitura por order_number (único), sem depender de
+    // chaves geradas em batch pelo driver
+    private Map<String, Long> insertOrders(List<PricedOrder> orders, Instant now) {
+        Timestamp at = Timestamp.from(now);
+        List<Map<String, Object>> rows = new ArrayList<>(orders.size());
+        for (PricedOrder order : orders) {
+            rows.add(Map.of("number", order.number, "status", OrderStatus.PENDING.name(),
+                    "total", order.total.toBigDecimal(), "at", at));
+        }
+        jdbc.batchUpdate("INSERT INTO orders (order_number, status, total_amount, created_at, updated_at) "
+                + "VALUES (:number, :status, :total, :at, :at)", batch(rows));
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbc.query("SELECT id, order_number FROM orders WHERE order_number IN (:numbers)",
+                Map.of("numbers", orders.stream().map(order -> order.number).toList()),
+                rs -> {
+                    ids.put(rs.getString("order_number"), rs.getLong("id"));
+                });
+
+        List<Map<String, Object>> itemRows = new ArrayList<>();
+        for (PricedOrder order : orders) {
+            Long orderId = ids.get(order.number);
+            for (OrderItemResponseDTO item : order.items) {
+                itemRows.add(Map.of("orderId", orderId, "productId", item.getProductId(),
+                        "quantity", item.getQuantity(), "unitPrice", item.getUnitPrice().toBigDecimal(),
+                        "subtotal", item.getSubtotal().toBigDecimal()));
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) "
+                + "VALUES (:orderId, :productId, :quantity, :unitPrice, :subtotal)", batch(itemRows));
+        return ids;
+    }
+
+    // um UPDATE por produto tocado no lote, não por item; updated_at muda a ETag do produto
+    private void updateStock(Map<Long, LockedProduct> products, Instant now) {
+        Timestamp at = Timestamp.from(now);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (LockedProduct product : products.values()) {
+            if (product.changed()) {
+                rows.add(Map.of("id", product.id, "stock", product.stock, "at", at));
+            }
+        }
+        jdbc.batchUpdate("UPDATE products SET stock = :stock, updated_at = :at WHERE id = :id", batch(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object>[] batch(List<Map<String, Object>> rows) {
+        return rows.toArray(new Map[0]);
+    }
+
+    private static final class PricedOrder {
+        private final String number;
+        private final Money total;
+        private final List<OrderItemResponseDTO> items;
+        private Long id;
+
+        PricedOrder(String number, Money total, List<OrderItemResponseDTO> items) {
+            this.number = number;
+            this.total = total;
+            this.items = items;
+        }
+    }
+
+    private static final class LockedProduct {
+        private final long id;
+        private final String name;
+        private final Money price;
+        private final int reserved;
+        private final int initialStock;
+        private int stock;
+
+        LockedProduct(long id, String name, Money price, int stock, int reserved) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.reserved = reserved;
+            this.initialStock = stock;
+            this.stock = stock;
+        }
+
+        void take(int quantity) {
+            stock -= quantity;
+        }
+
+        boolean changed() {
+            return stock != initialStock;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.db.ReadWriteRoutingDataSource;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Criação de pedidos com group commit (opcional, {@code orders.create-batch.enabled}).
+ *
+ * Cada POST /api/orders entra numa fila; uma thread ({@code order-batcher}) fecha o lote com
+ * {@code orders.create-batch.max-size} pedidos ou {@code orders.create-batch.max-wait-micros}
+ * depois do primeiro, o que vier antes, e grava tudo numa transação só
+ * ({@link OrderBatchWriter}): um commit (e um fsync) por lote em vez de um por pedido. A thread
+ * da requisição espera o resultado do próprio pedido: o pedido criado ou a sua recusa
+ * (estoque, produto, valor máximo), sem afetar os outros do lote.
+ *
+ * Se a transação do lote falhar por outro motivo (deadlock, timeout de conexão, número de
+ * pedido repetido), cada pedido é refeito sozinho por {@link OrderService#create}. Com a fila
+ * cheia, o pedido também segue o caminho normal, na própria thread.
+ *
+ * Se o pedido ainda está na fila depois de {@code orders.create-batch.result-timeout-millis}, sai
+ * dela e segue o caminho normal. Se já está num lote em andamento, a requisição espera o commit
+ * ou o rollback do lote em vez de desistir: responder erro sem saber se o pedido foi gravado
+ * levaria o cliente a repetir e criar um pedido duplicado. Essa espera é limitada pelo prazo da
+ * transação do lote ({@link OrderBatchWriter}). Qualquer falha do lote, inclusive
+ * {@link Error}, é entregue aos pedidos dele e a thread continua; se ela parar, novos pedidos
+ * deixam de entrar na fila.
+ *
+ * Métricas: {@code orders.batch.size} (pedidos por lote), {@code orders.batch.fallbacks}
+ * (lotes refeitos um a um), {@code orders.batch.overflow} (fila cheia ou batcher parado) e
+ * {@code orders.batch.timeouts} (requisições que passaram de {@code result-timeout-millis}).
+ */
+@Component
+public class OrderCreateBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCreateBatcher.class);
+
+    private final OrderService orderService;
+    private final OrderBatchWriter writer;
+    private final ReadWriteRoutingDataSource routing;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final long resultTimeoutMillis;
+    private final BlockingQueue<PendingOrder> queue;
+
+    private final DistributionSummary batchSize;
+    private final Counter fallbacks;
+    private final Counter overflow;
+    private final Counter timeouts;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public OrderCreateBatcher(OrderService orderService,
+                              OrderBatchWriter writer,
+                              ReadWriteRoutingDataSource routing,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.create-batch.enabled:false}") boolean enabled,
+                              @Value("${orders.create-batch.max-size:32}") int maxSize,
+                              @Value("${orders.create-batch.max-wait-micros:500}") long maxWaitMicros,
+                              @Value("${orders.create-batch.queue-capacity:1024}") int queueCapacity,
+                              @Value("${orders.create-batch.result-timeout-millis:5000}") long resultTimeoutMillis) {
+        this.orderService = orderService;
+        this.writer = writer;
+        this.routing = routing;
+        this.enabled = enabled;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.resultTimeoutMillis = resultTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        this.batchSize = DistributionSummary.builder("orders.batch.size")
+                .description("Pedidos gravados por transação de lote")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("orders.batch.fallbacks")
+                .description("Lotes cuja transação falhou e foram refeitos pedido a pedido")
+                .register(meterRegistry);
+        this.overflow = Counter.builder("orders.batch.overflow")
+                .description("Pedidos criados fora do lote porque a fila estava cheia")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("orders.batch.timeouts")
+                .description("Pedidos que passaram do tempo de espera pelo lote")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || dispatcher != null) {
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "order-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Cria o pedido, em lote quando habilitado; mesmas respostas e exceções de
+     * {@link OrderService#create}.
+     */
+    public OrderResponseDTO create(CreateOrderDTO dto) {
+        if (!enabled) {
+            return orderService.create(dto);
+        }
+        PendingOrder pending = new PendingOrder(dto, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            overflow.increment();
+            return orderService.create(dto);
+        }
+        // parou entre a checagem e o offer: a drenagem final pode já ter passado
+        if (!running && queue.remove(pending)) {
+            overflow.increment();
+            return orderService.create(dto);
+        }
+        OrderResponseDTO created = await(pending);
+        // o commit aconteceu na thread do lote, que não conhece o usuário da requisição
+        routing.markCurrentUserWrite();
+        return created;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher = null;
+        }
+    }
+
+    private OrderResponseDTO await(PendingOrder pending) {
+        try {
+            try {
+                return pending.result().get(resultTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                timeouts.increment();
+                // ainda na fila: nenhum lote vai pegá-lo, pode seguir sozinho
+                if (queue.remove(pending)) {
+                    return orderService.create(pending.dto());
+                }
+                // já num lote: o pedido pode ser gravado; espera o commit ou o rollback
+                return pending.result().get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            // só no desligamento do servidor: o resultado do lote, quando vier, não tem mais quem leia
+            Thread.currentThread().interrupt();
+            pending.result().cancel(false);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Servidor desligando; o pedido pode ter sido criado, consulte os pedidos antes de repetir");
+        }
+    }
+
+    private void dispatchLoop() {
+        try {
+            runBatches();
+        } finally {
+            // saída por qualquer motivo: ninguém mais entra na fila, e quem está nela segue sozinho
+            // (poll e o remove de create/await são atômicos: cada pedido tem um dono só)
+            running = false;
+            PendingOrder left;
+            while ((left = queue.poll()) != null) {
+                createAlone(left);
+            }
+        }
+    }
+
+    private void runBatches() {
+        List<PendingOrder> batch = new ArrayList<>(maxSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    if (queue.drainTo(batch, maxSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // desligando; a flag não é restaurada para que os pedidos restantes ainda
+                // consigam conexão no caminho normal
+                break;
+            }
+            try {
+                process(batch);
+            } catch (Throwable ex) {
+                log.error("Falha inesperada num lote de {} pedidos", batch.size(), ex);
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            }
+            batch.clear();
+        }
+        // interrompido no meio da montagem do lote: estes já saíram da fila
+        batch.forEach(this::createAlone);
+    }
+
+    void process(List<PendingOrder> batch) {
+        batchSize.record(batch.size());
+        List<OrderBatchWriter.Result> results;
+        try {
+            results = writer.write(batch.stream().map(PendingOrder::dto).toList());
+        } catch (Throwable ex) {
+            fallbacks.increment();
+            log.warn("Lote de {} pedidos falhou; refazendo um a um", batch.size(), ex);
+            batch.forEach(this::createAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            OrderBatchWriter.Result result = results.get(i);
+            if (result.rejection() != null) {
+                batch.get(i).result().completeExceptionally(result.rejection());
+            } else {
+                batch.get(i).result().complete(result.order());
+            }
+        }
+    }
+
+    private void createAlone(PendingOrder pending) {
+        try {
+            pending.result().complete(orderService.create(pending.dto()));
+        } catch (Throwable ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    record PendingOrder(CreateOrderDTO dto, CompletableFuture<OrderResponseDTO> result) {
+    }
+}
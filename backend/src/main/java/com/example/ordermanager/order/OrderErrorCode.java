@@ -0,0 +1,26 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+public enum OrderErrorCode implements ErrorCode {
+
+    ORDER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    INSUFFICIENT_STOCK(HttpStatus.CONFLICT),
+    ORDER_TOTAL_LIMIT_EXCEEDED(HttpStatus.CONFLICT),
+    INVALID_STATUS_TRANSITION(HttpStatus.CONFLICT),
+    ORDER_FINALIZED(HttpStatus.CONFLICT),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT);
+
+    private final HttpStatus status;
+
+    OrderErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public HttpStatus status() {
+        return status;
+    }
+}
@@ -2,7 +2,7 @@ package com.example.ordermanager.order;
 
 import com.example.ordermanager.product.Product;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
+import com.example.ordermanager.common.money.Money;
 
 @Entity
 @Table(name = "order_items")
@@ -24,15 +24,15 @@ public class OrderItem {
     private Integer quantity;
 
     @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     public OrderItem() {
     }
 
-    public OrderItem(Order order, Product product, Integer quantity, BigDecimal unitPrice) {
+    public OrderItem(Order order, Product product, Integer quantity, Money unitPrice) {
         this.order = order;
         this.product = product;
         this.quantity = quantity;
@@ -48,7 +48,7 @@ public class OrderItem {
 
     private void calcularSubtotal() {
         if (unitPrice != null && quantity != null) {
-            this.subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.subtotal = unitPrice.times(quantity);
         }
     }
 
@@ -66,11 +66,11 @@ public class OrderItem {
         calcularSubtotal();
     }
 
-    public BigDecimal getUnitPrice() { return unitPrice; }
-    public void setUnitPrice(BigDecimal unitPrice) {
+    public Money getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
         calcularSubtotal();
     }
 
-    public BigDecimal getSubtotal() { return subtotal; }
+    public Money getSubtotal() { return subtotal; }
 }
@@ -0,0 +1,18 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.error.BusinessRejectionException;
+
+/**
+ * Recusa de uma operação de pedido (criação, mudança de status, exclusão).
+ */
+public class OrderRejectedException extends BusinessRejectionException {
+
+    public OrderRejectedException(OrderErrorCode code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public OrderErrorCode getCode() {
+        return (OrderErrorCode) super.getCode();
+    }
+}
@@ -3,8 +3,68 @@ package com.example.ordermanager.order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
+
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Status atual dos pedidos, travando as linhas até o fim da transação.
+     */
+    @Query(value = "SELECT id, status FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<OrderStatusView> lockStatuses(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Próximo bloco de pedidos PENDING criados antes de {@code before}, dos mais antigos para os
+     * mais novos (índice (status, created_at)), travados; SKIP LOCKED deixa de fora pedidos em
+     * uso e os que outro nó já pegou.
+     */
+    @Query(value = "SELECT id FROM orders WHERE status = 'PENDING' AND created_at < :before "
+            + "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockExpiredPending(@Param("before") Instant before, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM orders WHERE status = 'PENDING' AND created_at < :before", nativeQuery = true)
+    long countExpiredPending(@Param("before") Instant before);
+
+    /**
+     * Muda o status de vários pedidos em um único UPDATE; só afeta quem está em {@code from}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.status = :status, o.updatedAt = :now "
+            + "where o.id in :ids and o.status in :from")
+    int updateStatuses(@Param("ids") Collection<Long> ids,
+                       @Param("status") OrderStatus status,
+                       @Param("from") Collection<OrderStatus> from,
+                       @Param("now") Instant now);
+
+    /**
+     * Compare-and-set do status de um pedido: retorna 0 se o status atual não for mais {@code expected}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.status = :status, o.updatedAt = :now "
+            + "where o.id = :id and o.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("expected") OrderStatus expected,
+                            @Param("status") OrderStatus status,
+                            @Param("now") Instant now);
+
+    /**
+     * Remove os pedidos com um único DELETE, sem carregar entidades; os itens saem
+     * pelo ON DELETE CASCADE de order_items (V2).
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Order o where o.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
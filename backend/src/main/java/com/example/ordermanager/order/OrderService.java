@@ -1,34 +1,83 @@
 package com.example.ordermanager.order;
 
+import com.example.ordermanager.common.cache.CacheInvalidations;
+import com.example.ordermanager.common.lookup.ByIdLookup;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.archive.ArchivedOrder;
+import com.example.ordermanager.order.archive.ArchivedOrderRepository;
+import com.example.ordermanager.order.dto.BulkDeleteResultDTO;
+import com.example.ordermanager.order.dto.BulkStatusUpdateResultDTO;
 import com.example.ordermanager.order.dto.CreateOrderDTO;
 import com.example.ordermanager.order.dto.CreateOrderItemDTO;
 import com.example.ordermanager.order.dto.OrderItemResponseDTO;
 import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.order.outbox.OrderEventType;
+import com.example.ordermanager.order.outbox.OrderOutboxRepository;
 import com.example.ordermanager.product.Product;
 import com.example.ordermanager.product.ProductRepository;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    // CAS otimista + uma releitura com lock; a segunda tentativa só falha se o pedido sumir no meio
+    private static final int MAX_STATUS_ATTEMPTS = 2;
+
+    public static final Money MAX_ORDER_TOTAL = Money.parse("1000.00");
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
+    private final OrderStatsDailyRepository orderStatsRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final CacheInvalidations cacheInvalidations;
+    private final ByIdLookup<OrderResponseDTO> lookup;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int deleteChunkSize;
 
     public OrderService(OrderRepository orderRepository,
                         OrderItemRepository orderItemRepository,
-                        ProductRepository productRepository) {
+                        ProductRepository productRepository,
+                        OrderStatsDailyRepository orderStatsRepository,
+                        OrderOutboxRepository outboxRepository,
+                        ArchivedOrderRepository archivedOrderRepository,
+                        CacheInvalidations cacheInvalidations,
+                        ByIdLookup<OrderResponseDTO> lookup,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${orders.delete.chunk-size:500}") int deleteChunkSize) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
+        this.orderStatsRepository = orderStatsRepository;
+        this.outboxRepository = outboxRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.cacheInvalidations = cacheInvalidations;
+        this.lookup = lookup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.deleteChunkSize = deleteChunkSize;
     }
 
     // ============================
@@ -40,35 +89,54 @@ public class OrderService {
         Order order = new Order();
         order.setStatus(OrderStatus.PENDING);
 
-        BigDecimal total = BigDecimal.ZERO;
+        // trava os produtos do pedido antes de ler o estoque: um cancelamento concorrente que
+        // devolve estoque (restoreStock) espera, em vez de ter a devolução sobrescrita pelo save
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.lockAllById(
+                dto.getItems().stream().map(CreateOrderItemDTO::getProductId).collect(Collectors.toSet()))) {
+            products.put(product.getId(), product);
+        }
+
+        // soma em centavos (long): sem alocação por item
+        long totalCents = 0;
 
         for (CreateOrderItemDTO itemDTO : dto.getItems()) {
 
-            Product product = productRepository.findById(itemDTO.getProductId())
-                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProductId()));
+            Product product = Optional.ofNullable(products.get(itemDTO.getProductId()))
+                    .orElseThrow(() -> new OrderRejectedException(OrderErrorCode.PRODUCT_NOT_FOUND,
+                            "Produto não encontrado: " + itemDTO.getProductId()));
 
-                if (product.getStock() < itemDTO.getQuantity()) {
-    throw new IllegalStateException("Estoque insuficiente para o produto: " + product.getName());
+                // unidades seguras por reservas ativas não podem ser vendidas
+                if (product.getAvailable() < itemDTO.getQuantity()) {
+    throw new OrderRejectedException(OrderErrorCode.INSUFFICIENT_STOCK,
+            "Estoque insuficiente para o produto: " + product.getName());
                 
             }
 
             product.setStock(product.getStock() - itemDTO.getQuantity());
             productRepository.save(product);
+            // estoque aparece no catálogo: invalida as ETags do produto se o pedido commitar
+            cacheInvalidations.stockChanged(product.getId());
 
             OrderItem item = new OrderItem(order, product, itemDTO.getQuantity(), product.getPrice());
             order.getItems().add(item);
 
-            total = total.add(item.getSubtotal());
+            totalCents = Math.addExact(totalCents, item.getSubtotal().cents());
         }
 
+        Money total = Money.ofCents(totalCents);
         order.setTotalAmount(total);
         // regra de negócio: valor máximo permitido por pedido
-        if (total.compareTo(new java.math.BigDecimal("1000.00")) > 0) {
-            throw new IllegalStateException("Valor máximo do pedido excedido. Total calculado: " + total);
+        if (total.isGreaterThan(MAX_ORDER_TOTAL)) {
+            throw new OrderRejectedException(OrderErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED,
+                    "Valor máximo do pedido excedido. Total calculado: " + total);
         }
 
 
         Order saved = orderRepository.save(order);
+        orderStatsRepository.adjust(saved.getId(), saved.getStatus(), 1);
+        outboxRepository.append(saved.getId(), OrderEventType.ORDER_CREATED, saved.getStatus());
+        cacheInvalidations.orderChanged(saved.getId());
 
         return toResponseDTO(saved);
     }
@@ -76,16 +144,24 @@ public class OrderService {
     // ============================
     // BUSCAR POR ID
     // ============================
+    // Sem @Transactional: leituras simultâneas do mesmo id esperam a consulta de outra
+    // requisição sem segurar conexão (ver ByIdLookup); a transação fica dentro do loader
     public OrderResponseDTO findById(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+        return lookup.find(id, () -> readOnlyTransaction.execute(status -> load(id)))
+                .orElseThrow(() -> orderNotFound("Pedido não encontrado"));
+    }
 
-        return toResponseDTO(order);
+    private Optional<OrderResponseDTO> load(Long id) {
+        // pedidos finalizados antigos ficam em orders_archive (OrderArchiver)
+        return orderRepository.findById(id)
+                .map(this::toResponseDTO)
+                .or(() -> archivedOrderRepository.findWithItemsById(id).map(this::toResponseDTO));
     }
 
         // ============================
         // LISTAR COM PAGINAÇÃO E FILTRO OPCIONAL POR STATUS
         // ============================
+        @Transactional(readOnly = true)
         public Page<OrderResponseDTO> findAll(OrderStatus status, Pageable pageable) {
             Page<Order> page;
 
@@ -102,45 +178,168 @@ public class OrderService {
     // ATUALIZAR STATUS
     // ============================
     @Transactional
-        public void updateStatus(Long id, OrderStatus newStatus) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
-
-        OrderStatus currentStatus = order.getStatus();
-
-             // Regras de transição:
-        // - PENDING   -> CONFIRMED ou CANCELLED
-        // - CONFIRMED -> CANCELLED
-        // - Se já estiver CANCELLED, não pode mudar mais
-        if (currentStatus == OrderStatus.PENDING) {
-            if (newStatus != OrderStatus.CONFIRMED && newStatus != OrderStatus.CANCELLED) {
-                throw new IllegalStateException("Transição de status inválida: " + currentStatus + " -> " + newStatus);
+    public void updateStatus(Long id, OrderStatus newStatus) {
+        OrderStatus currentStatus = orderRepository.findStatusById(id)
+                .orElseThrow(() -> orderNotFound("Pedido não encontrado: " + id));
+
+        for (int attempt = 1; ; attempt++) {
+            OrderStatusTransitions.check(currentStatus, newStatus);
+            if (currentStatus == newStatus) {
+                return; // permanência permitida, nada a gravar
             }
-        } else if (currentStatus == OrderStatus.CONFIRMED) {
-            if (newStatus != OrderStatus.CANCELLED && newStatus != OrderStatus.CONFIRMED) {
-                throw new IllegalStateException("Transição de status inválida: " + currentStatus + " -> " + newStatus);
+
+            // compare-and-set: só grava se ninguém mudou o status desde a leitura
+            if (orderRepository.compareAndSetStatus(id, currentStatus, newStatus, Instant.now()) == 1) {
+                // move o pedido de bucket no agregado diário
+                orderStatsRepository.adjust(id, currentStatus, -1);
+                orderStatsRepository.adjust(id, newStatus, 1);
+                outboxRepository.append(id, OrderEventType.ORDER_STATUS_CHANGED, newStatus);
+                if (newStatus == OrderStatus.CANCELLED) {
+                    // só quem ganhou o compare-and-set devolve: cancelar de novo é permanência
+                    restoreStock(List.of(id));
+                }
+                cacheInvalidations.orderChanged(id);
+                return;
             }
-        } else {
-            // CANCELLED não pode ir para outro status diferente
-            if (newStatus != currentStatus) {
-                throw new IllegalStateException("Pedido já está " + currentStatus + " e não pode ser alterado.");
+
+            if (attempt == MAX_STATUS_ATTEMPTS) {
+                throw new OrderRejectedException(OrderErrorCode.CONCURRENT_MODIFICATION,
+                        "Pedido " + id + " foi alterado por outra requisição. Tente novamente.");
             }
-        }
 
-        order.setStatus(newStatus);
-        orderRepository.save(order);
+            // Perdeu a corrida: relê o status atual e revalida a transição.
+            // A releitura trava a linha; uma leitura comum devolveria o mesmo snapshot (REPEATABLE READ).
+            currentStatus = orderRepository.lockStatuses(List.of(id)).stream()
+                    .findFirst()
+                    .map(OrderStatusView::getStatus)
+                    .orElseThrow(() -> orderNotFound("Pedido não encontrado: " + id));
+        }
     }
 
+    // ============================
+    // ATUALIZAR STATUS EM LOTE
+    // ============================
+    @Transactional
+    public BulkStatusUpdateResultDTO updateStatuses(Collection<Long> ids, OrderStatus newStatus) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            return new BulkStatusUpdateResultDTO(newStatus, List.of(), List.of(), List.of());
+        }
+        Set<OrderStatus> allowedFrom = OrderStatusTransitions.predecessorsOf(newStatus);
+
+        // trava as linhas: o UPDATE abaixo afeta exatamente o que foi classificado aqui
+        Map<Long, OrderStatus> current = new HashMap<>();
+        for (OrderStatusView row : orderRepository.lockStatuses(requested)) {
+            current.put(row.getId(), row.getStatus());
+        }
+
+        List<Long> updated = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        Map<OrderStatus, List<Long>> changedByStatus = new EnumMap<>(OrderStatus.class);
+
+        for (Long id : requested) {
+            OrderStatus status = current.get(id);
+            if (status == null) {
+                notFound.add(id);
+            } else if (!allowedFrom.contains(status)) {
+                rejected.add(id);
+            } else {
+                updated.add(id);
+                if (status != newStatus) {
+                    changedByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+                }
+            }
+        }
+
+        if (!changedByStatus.isEmpty()) {
+            List<Long> changed = changedByStatus.values().stream().flatMap(List::stream).toList();
+
+            orderRepository.updateStatuses(changed, newStatus, changedByStatus.keySet(), Instant.now());
+
+            changedByStatus.forEach((from, group) -> orderStatsRepository.adjust(group, from.name(), -1));
+            orderStatsRepository.adjust(changed, newStatus.name(), 1);
+            outboxRepository.append(changed, OrderEventType.ORDER_STATUS_CHANGED.name(), newStatus.name());
+            if (newStatus == OrderStatus.CANCELLED) {
+                // changed não inclui quem já estava CANCELLED
+                restoreStock(changed);
+            }
+            cacheInvalidations.ordersChanged(changed);
+        }
+
+        return new BulkStatusUpdateResultDTO(newStatus, updated, rejected, notFound);
+    }
 
     // ============================
     // DELETAR PEDIDO
     // ============================
     @Transactional
     public void delete(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new EntityNotFoundException("Pedido não encontrado");
+        if (deleteLocked(List.of(id)).isEmpty()) {
+            throw orderNotFound("Pedido não encontrado");
         }
-        orderRepository.deleteById(id);
+    }
+
+    /**
+     * Exclui até alguns milhares de pedidos em blocos de {@code orders.delete.chunk-size},
+     * cada bloco na própria transação: os locks duram um bloco, não a operação inteira.
+     * Se um bloco falhar, os anteriores já estão commitados.
+     */
+    public BulkDeleteResultDTO deleteAll(Collection<Long> ids) {
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Long> deleted = new ArrayList<>(requested.size());
+
+        for (int from = 0; from < requested.size(); from += deleteChunkSize) {
+            List<Long> chunk = requested.subList(from, Math.min(from + deleteChunkSize, requested.size()));
+            deleted.addAll(transactionTemplate.execute(status -> deleteLocked(chunk)));
+        }
+
+        Set<Long> deletedSet = new HashSet<>(deleted);
+        List<Long> notFound = requested.stream().filter(id -> !deletedSet.contains(id)).toList();
+        return new BulkDeleteResultDTO(deleted, notFound);
+    }
+
+    // Trava as linhas, ajusta estatísticas/outbox por status e apaga tudo num único DELETE.
+    // Nada é hidratado: os itens saem pelo cascade do banco.
+    private List<Long> deleteLocked(Collection<Long> ids) {
+        Map<OrderStatus, List<Long>> byStatus = new EnumMap<>(OrderStatus.class);
+        List<Long> found = new ArrayList<>(ids.size());
+        for (OrderStatusView row : orderRepository.lockStatuses(ids)) {
+            byStatus.computeIfAbsent(row.getStatus(), s -> new ArrayList<>()).add(row.getId());
+            found.add(row.getId());
+        }
+        if (found.isEmpty()) {
+            return found;
+        }
+
+        // precisam rodar antes do DELETE (leem created_at/total do pedido e os itens)
+        List<Long> holdingStock = new ArrayList<>(found.size());
+        byStatus.forEach((status, group) -> {
+            orderStatsRepository.adjust(group, status.name(), -1);
+            outboxRepository.append(group, OrderEventType.ORDER_DELETED.name(), status.name());
+            // pedidos cancelados já devolveram o estoque no cancelamento
+            if (status != OrderStatus.CANCELLED) {
+                holdingStock.addAll(group);
+            }
+        });
+        if (!holdingStock.isEmpty()) {
+            restoreStock(holdingStock);
+        }
+        orderRepository.deleteByIds(found);
+        cacheInvalidations.ordersChanged(found);
+        return found;
+    }
+
+    // Um UPDATE para todos os pedidos, somando as quantidades por produto; nenhum item é carregado.
+    // Os produtos são travados antes em ordem de id, como na criação.
+    private void restoreStock(Collection<Long> orderIds) {
+        List<Long> productIds = productRepository.lockIdsByOrderIds(orderIds);
+        productRepository.restoreStock(orderIds, Instant.now());
+        productIds.forEach(cacheInvalidations::stockChanged);
+    }
+
+    private static OrderRejectedException orderNotFound(String message) {
+        return new OrderRejectedException(OrderErrorCode.ORDER_NOT_FOUND, message);
     }
 
     // ============================
@@ -166,4 +365,25 @@ public class OrderService {
                 items
         );
     }
+
+    private OrderResponseDTO toResponseDTO(ArchivedOrder order) {
+        List<OrderItemResponseDTO> items = order.getItems().stream()
+                .map(i -> new OrderItemResponseDTO(
+                        i.getProductId(),
+                        i.getProductName(),
+                        i.getQuantity(),
+                        i.getUnitPrice(),
+                        i.getSubtotal()
+                )).collect(Collectors.toList());
+
+        return new OrderResponseDTO(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                items
+        );
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.ordermanager.order;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Linha do agregado diário (dia de criação do pedido x status).
+ * Escrita apenas por SQL nativo em {@link OrderStatsDailyRepository}.
+ */
+@Entity
+@Table(name = "order_stats_daily")
+@IdClass(OrderStatsDaily.Key.class)
+public class OrderStatsDaily {
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    public LocalDate getDay() { return day; }
+    public OrderStatus getStatus() { return status; }
+    public long getOrderCount() { return orderCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private OrderStatus status;
+
+        public Key() {
+        }
+
+        public Key(LocalDate day, OrderStatus status) {
+            this.day = day;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(day, other.day) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, status);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ordermanager.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderStatsDailyRepository extends JpaRepository<OrderStatsDaily, OrderStatsDaily.Key> {
+
+    List<OrderStatsDaily> findAllByOrderByDayAscStatusAsc();
+
+    List<OrderStatsDaily> findByDayBetweenOrderByDayAscStatusAsc(LocalDate from, LocalDate to);
+
+    /**
+     * Soma (sign = 1) ou subtrai (sign = -1) os pedidos informados do bucket (dia de criação, status).
+     * O status é passado explicitamente para funcionar antes ou depois do UPDATE/DELETE em orders.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_stats_daily (day, status, order_count, total_amount) "
+            + "SELECT DATE(o.created_at), :status, :sign * COUNT(*), :sign * SUM(o.total_amount) "
+            + "FROM orders o WHERE o.id IN (:ids) GROUP BY DATE(o.created_at) "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "total_amount = total_amount + VALUES(total_amount)",
+            nativeQuery = true)
+    int adjust(@Param("ids") Collection<Long> ids, @Param("status") String status, @Param("sign") int sign);
+
+    default int adjust(Long orderId, OrderStatus status, int sign) {
+        return adjust(List.of(orderId), status.name(), sign);
+    }
+
+    // ---- rebuild ----
+
+    @Modifying
+    @Query(value = "DELETE FROM order_stats_daily", nativeQuery = true)
+    int deleteAllRows();
+
+    // orders + orders_archive: pedidos arquivados continuam contando nas estatísticas
+    @Query(value = "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders), "
+            + "(SELECT COALESCE(MAX(id), 0) FROM orders_archive))", nativeQuery = true)
+    long maxOrderId();
+
+    @Modifying
+    @Query(value = "INSERT INTO order_stats_daily (day, status, order_count, total_amount) "
+            + "SELECT DATE(o.created_at), o.status, COUNT(*), SUM(o.total_amount) "
+            + "FROM (SELECT created_at, status, total_amount FROM orders "
+            + "      WHERE id > :fromExclusive AND id <= :toInclusive "
+            + "      UNION ALL "
+            + "      SELECT created_at, status, total_amount FROM orders_archive "
+            + "      WHERE id > :fromExclusive AND id <= :toInclusive) o "
+            + "GROUP BY DATE(o.created_at), o.status "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "total_amount = total_amount + VALUES(total_amount)",
+            nativeQuery = true)
+    int backfillRange(@Param("fromExclusive") long fromExclusive, @Param("toInclusive") long toInclusive);
+}
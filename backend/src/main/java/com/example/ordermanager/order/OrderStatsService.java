@@ -0,0 +1,107 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.order.dto.OrderStatsDTO;
+import com.example.ordermanager.order.dto.OrderStatsSummaryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e reconstrução do agregado {@code order_stats_daily}.
+ * A manutenção incremental fica no {@link OrderService}, na mesma transação de cada escrita.
+ */
+@Service
+public class OrderStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsService.class);
+
+    private final OrderStatsDailyRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkSize;
+
+    public OrderStatsService(OrderStatsDailyRepository statsRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${orders.stats.rebuild-chunk-size:5000}") int rebuildChunkSize) {
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    // ============================
+    // CONSULTA (O(dias) - não varre orders)
+    // ============================
+    @Transactional(readOnly = true)
+    public OrderStatsSummaryDTO summary(LocalDate from, LocalDate to) {
+        List<OrderStatsDaily> rows;
+        if (from == null && to == null) {
+            rows = statsRepository.findAllByOrderByDayAscStatusAsc();
+        } else {
+            rows = statsRepository.findByDayBetweenOrderByDayAscStatusAsc(
+                    from != null ? from : LocalDate.of(1970, 1, 1),
+                    to != null ? to : LocalDate.of(9999, 12, 31));
+        }
+
+        Map<OrderStatus, long[]> counts = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, BigDecimal> totals = new EnumMap<>(OrderStatus.class);
+        List<OrderStatsDTO> daily = new ArrayList<>(rows.size());
+
+        for (OrderStatsDaily row : rows) {
+            if (row.getOrderCount() == 0) {
+                continue; // bucket zerado por cancelamentos/exclusões
+            }
+            daily.add(new OrderStatsDTO(row.getDay(), row.getStatus(), row.getOrderCount(), row.getTotalAmount()));
+            counts.computeIfAbsent(row.getStatus(), s -> new long[1])[0] += row.getOrderCount();
+            totals.merge(row.getStatus(), row.getTotalAmount(), BigDecimal::add);
+        }
+
+        List<OrderStatsSummaryDTO.StatusTotal> byStatus = new ArrayList<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            long[] count = counts.get(status);
+            byStatus.add(new OrderStatsSummaryDTO.StatusTotal(
+                    status,
+                    count != null ? count[0] : 0,
+                    totals.getOrDefault(status, BigDecimal.ZERO)));
+        }
+        return new OrderStatsSummaryDTO(byStatus, daily);
+    }
+
+    // ============================
+    // RECONSTRUÇÃO (backfill em blocos de ids)
+    // ============================
+    /**
+     * Apaga o agregado e o recalcula a partir de orders, em blocos de
+     * {@code orders.stats.rebuild-chunk-size} ids (uma transação curta por bloco).
+     *
+     * Pedidos criados/alterados durante a reconstrução podem ser contados em dobro;
+     * rode com as escritas pausadas (janela de manutenção).
+     *
+     * @return quantidade de blocos processados
+     */
+    public int rebuild() {
+        transactionTemplate.executeWithoutResult(status -> statsRepository.deleteAllRows());
+
+        long maxId = statsRepository.maxOrderId();
+        int chunks = 0;
+        for (long from = 0; from < maxId; from += rebuildChunkSize) {
+            long fromExclusive = from;
+            long toInclusive = Math.min(from + rebuildChunkSize, maxId);
+            transactionTemplate.executeWithoutResult(
+                    status -> statsRepository.backfillRange(fromExclusive, toInclusive));
+            chunks++;
+        }
+
+        log.info("order_stats_daily reconstruída: {} pedidos em {} blocos", maxId, chunks);
+        return chunks;
+    }
+}
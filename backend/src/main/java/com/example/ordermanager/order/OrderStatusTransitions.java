@@ -0,0 +1,67 @@
+package com.example.ordermanager.order;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Máquina de estados do pedido em forma de tabela.
+ *
+ * Regras:
+ * - PENDING   -> CONFIRMED ou CANCELLED
+ * - CONFIRMED -> CONFIRMED ou CANCELLED
+ * - CANCELLED -> só ele mesmo (estado final)
+ *
+ * Permanecer no mesmo status é permitido onde está listado e não gera escrita.
+ */
+public final class OrderStatusTransitions {
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TARGETS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        allow(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        allow(OrderStatus.CONFIRMED, OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        allow(OrderStatus.CANCELLED, OrderStatus.CANCELLED);
+    }
+
+    private OrderStatusTransitions() {
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... to) {
+        Set<OrderStatus> targets = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus target : to) {
+            targets.add(target);
+            PREDECESSORS.computeIfAbsent(target, t -> EnumSet.noneOf(OrderStatus.class)).add(from);
+        }
+        TARGETS.put(from, targets);
+    }
+
+    public static boolean isAllowed(OrderStatus from, OrderStatus to) {
+        return TARGETS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Status a partir dos quais é permitido chegar em {@code to} (inclui o próprio, se permitido).
+     */
+    public static Set<OrderStatus> predecessorsOf(OrderStatus to) {
+        return Collections.unmodifiableSet(PREDECESSORS.getOrDefault(to, EnumSet.noneOf(OrderStatus.class)));
+    }
+
+    /**
+     * @throws OrderRejectedException se a transição não for permitida
+     */
+    public static void check(OrderStatus from, OrderStatus to) {
+        if (isAllowed(from, to)) {
+            return;
+        }
+        if (TARGETS.get(from).equals(EnumSet.of(from))) {
+            throw new OrderRejectedException(OrderErrorCode.ORDER_FINALIZED,
+                    "Pedido já está " + from + " e não pode ser alterado.");
+        }
+        throw new OrderRejectedException(OrderErrorCode.INVALID_STATUS_TRANSITION,
+                "Transição de status inválida: " + from + " -> " + to);
+    }
+}
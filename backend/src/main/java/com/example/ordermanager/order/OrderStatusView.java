@@ -0,0 +1,11 @@
+package com.example.ordermanager.order;
+
+/**
+ * Projeção (id, status) de um pedido, sem carregar o agregado.
+ */
+public interface OrderStatusView {
+
+    Long getId();
+
+    OrderStatus getStatus();
+}
@@ -0,0 +1,55 @@
+package com.example.ordermanager.order.archive;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.OrderStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedido movido para orders_archive pelo {@link OrderArchiver}. Somente leitura.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive")
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_number", nullable = false)
+    private String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "total_amount", nullable = false)
+    private Money totalAmount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @OneToMany
+    @JoinColumn(name = "order_id")
+    @OrderBy("id")
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+
+    public Long getId() { return id; }
+    public String getOrderNumber() { return orderNumber; }
+    public OrderStatus getStatus() { return status; }
+    public Money getTotalAmount() { return totalAmount; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public Instant getArchivedAt() { return archivedAt; }
+    public List<ArchivedOrderItem> getItems() { return items; }
+}
@@ -0,0 +1,39 @@
+package com.example.ordermanager.order.archive;
+
+import com.example.ordermanager.common.money.Money;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Item de um {@link ArchivedOrder}, com o nome do produto copiado no arquivamento.
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive")
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_name")
+    private String productName;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false)
+    private Money unitPrice;
+
+    @Column(nullable = false)
+    private Money subtotal;
+
+    public Long getId() { return id; }
+    public Long getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public Integer getQuantity() { return quantity; }
+    public Money getUnitPrice() { return unitPrice; }
+    public Money getSubtotal() { return subtotal; }
+}
@@ -0,0 +1,44 @@
+package com.example.ordermanager.order.archive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("select o from ArchivedOrder o left join fetch o.items where o.id = :id")
+    Optional<ArchivedOrder> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * Próximo bloco de pedidos finalizados criados antes de {@code before}, travados;
+     * SKIP LOCKED deixa de fora pedidos em uso (ex.: cancelamento em andamento).
+     */
+    @Query(value = "SELECT id FROM orders "
+            + "WHERE status IN ('CONFIRMED', 'CANCELLED') AND created_at < :before "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockArchivable(@Param("before") Instant before, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive "
+            + "(id, order_number, status, total_amount, created_at, updated_at, archived_at) "
+            + "SELECT id, order_number, status, total_amount, created_at, updated_at, :now "
+            + "FROM orders WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyOrders(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive "
+            + "(id, order_id, product_id, product_name, quantity, unit_price, subtotal) "
+            + "SELECT i.id, i.order_id, i.product_id, p.name, i.quantity, i.unit_price, i.subtotal "
+            + "FROM order_items i LEFT JOIN products p ON p.id = i.product_id "
+            + "WHERE i.order_id IN (:ids)",
+            nativeQuery = true)
+    int copyItems(@Param("ids") Collection<Long> ids);
+}
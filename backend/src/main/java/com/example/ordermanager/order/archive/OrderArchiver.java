@@ -0,0 +1,107 @@
+package com.example.ordermanager.order.archive;
+
+import com.example.ordermanager.order.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Move pedidos finalizados (CONFIRMED/CANCELLED) criados há mais de
+ * {@code orders.archive.retention-days} dias de orders/order_items para
+ * orders_archive/order_items_archive.
+ *
+ * Cada bloco de {@code orders.archive.chunk-size} pedidos roda em uma transação:
+ * lock (SKIP LOCKED), cópia dos itens e dos pedidos e um DELETE em orders (os itens
+ * saem pelo cascade). Um ciclo para em {@code orders.archive.max-chunks-per-run}
+ * blocos para não disputar o banco por muito tempo; o restante fica para o próximo.
+ *
+ * O order_stats_daily não muda: os pedidos continuam existindo, só em outra tabela.
+ */
+@Component
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final ArchivedOrderRepository archiveRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter moved;
+
+    public OrderArchiver(ArchivedOrderRepository archiveRepository,
+                         OrderRepository orderRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${orders.archive.enabled:true}") boolean enabled,
+                         @Value("${orders.archive.retention-days:365}") int retentionDays,
+                         @Value("${orders.archive.chunk-size:1000}") int chunkSize,
+                         @Value("${orders.archive.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.archiveRepository = archiveRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = Duration.ofDays(retentionDays);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.moved = Counter.builder("orders.archive.moved")
+                .description("Pedidos movidos para orders_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archive.interval:3600000}",
+               initialDelayString = "${orders.archive.interval:3600000}")
+    public void poll() {
+        if (enabled) {
+            archiveOlderThan(Instant.now().minus(retention));
+        }
+    }
+
+    /**
+     * Arquiva pedidos finalizados criados antes de {@code cutoff}, até o limite de blocos por ciclo.
+     *
+     * @return quantidade de pedidos movidos
+     */
+    public int archiveOlderThan(Instant cutoff) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> archiveNextChunk(cutoff));
+            int n = count != null ? count : 0;
+            total += n;
+            if (n < chunkSize) {
+                break;
+            }
+        }
+
+        moved.increment(total);
+        if (total > 0) {
+            log.info("{} pedidos anteriores a {} movidos para orders_archive", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveNextChunk(Instant cutoff) {
+        List<Long> ids = archiveRepository.lockArchivable(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.copyItems(ids);
+        archiveRepository.copyOrders(ids, Instant.now());
+        orderRepository.deleteByIds(ids);
+        return ids.size();
+    }
+}
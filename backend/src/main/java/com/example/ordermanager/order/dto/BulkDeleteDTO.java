@@ -0,0 +1,13 @@
+package com.example.ordermanager.order.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkDeleteDTO(
+        @NotEmpty
+        @Size(max = 10000)
+        List<@NotNull Long> ids) {
+}
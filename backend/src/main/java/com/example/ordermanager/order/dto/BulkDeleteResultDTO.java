@@ -0,0 +1,10 @@
+package com.example.ordermanager.order.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma exclusão em lote: ids removidos e ids que não existiam.
+ */
+public record BulkDeleteResultDTO(List<Long> deleted,
+                                  List<Long> notFound) {
+}
@@ -0,0 +1,17 @@
+package com.example.ordermanager.order.dto;
+
+import com.example.ordermanager.order.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkStatusUpdateDTO(
+        @NotEmpty
+        @Size(max = 1000)
+        List<@NotNull Long> ids,
+
+        @NotNull
+        OrderStatus status) {
+}
@@ -0,0 +1,15 @@
+package com.example.ordermanager.order.dto;
+
+import com.example.ordermanager.order.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Resultado de uma mudança de status em lote. {@code updated} inclui pedidos que
+ * já estavam no status pedido quando essa permanência é permitida (ex.: CANCELLED -> CANCELLED).
+ */
+public record BulkStatusUpdateResultDTO(OrderStatus status,
+                                        List<Long> updated,
+                                        List<Long> rejected,
+                                        List<Long> notFound) {
+}
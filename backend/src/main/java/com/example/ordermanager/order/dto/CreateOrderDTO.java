@@ -9,6 +9,13 @@ public class CreateOrderDTO {
     @NotEmpty
     private List<@Valid CreateOrderItemDTO> items; // valida cada item
 
+    public CreateOrderDTO() {
+    }
+
+    public CreateOrderDTO(List<CreateOrderItemDTO> items) {
+        this.items = items;
+    }
+
     public List<CreateOrderItemDTO> getItems() {
         return items;
     }
@@ -24,6 +24,11 @@ public class CreateOrderItemDTO {
     public CreateOrderItemDTO() {
     }
 
+    public CreateOrderItemDTO(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
     public Long getProductId() {
         return productId;
     }
@@ -1,17 +1,17 @@
 package com.example.ordermanager.order.dto;
 
-import java.math.BigDecimal;
+import com.example.ordermanager.common.money.Money;
 
 public class OrderItemResponseDTO {
 
     private Long productId;
     private String productName;
     private Integer quantity;
-    private BigDecimal unitPrice;
-    private BigDecimal subtotal;
+    private Money unitPrice;
+    private Money subtotal;
 
     public OrderItemResponseDTO(Long productId, String productName, Integer quantity,
-                                BigDecimal unitPrice, BigDecimal subtotal) {
+                                Money unitPrice, Money subtotal) {
         this.productId = productId;
         this.productName = productName;
         this.quantity = quantity;
@@ -22,6 +22,6 @@ public class OrderItemResponseDTO {
     public Long getProductId() { return productId; }
     public String getProductName() { return productName; }
     public Integer getQuantity() { return quantity; }
-    public BigDecimal getUnitPrice() { return unitPrice; }
-    public BigDecimal getSubtotal() { return subtotal; }
+    public Money getUnitPrice() { return unitPrice; }
+    public Money getSubtotal() { return subtotal; }
 }
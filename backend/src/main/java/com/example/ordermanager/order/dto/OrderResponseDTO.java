@@ -1,7 +1,7 @@
 package com.example.ordermanager.order.dto;
 
+import com.example.ordermanager.common.money.Money;
 import com.example.ordermanager.order.OrderStatus;
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 
@@ -10,13 +10,13 @@ public class OrderResponseDTO {
     private Long id;
     private String orderNumber;
     private OrderStatus status;
-    private BigDecimal total;
+    private Money total;
     private Instant createdAt;
     private Instant updatedAt;
     private List<OrderItemResponseDTO> items;
 
     public OrderResponseDTO(Long id, String orderNumber, OrderStatus status,
-                            BigDecimal total, Instant createdAt,
+                            Money total, Instant createdAt,
                             Instant updatedAt, List<OrderItemResponseDTO> items) {
         this.id = id;
         this.orderNumber = orderNumber;
@@ -30,7 +30,7 @@ public class OrderResponseDTO {
     public Long getId() { return id; }
     public String getOrderNumber() { return orderNumber; }
     public OrderStatus getStatus() { return status; }
-    public BigDecimal getTotal() { return total; }
+    public Money getTotal() { return total; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public List<OrderItemResponseDTO> getItems() { return items; }
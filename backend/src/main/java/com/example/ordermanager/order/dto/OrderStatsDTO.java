@@ -0,0 +1,12 @@
+package com.example.ordermanager.order.dto;
+
+import com.example.ordermanager.order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Contagem e soma dos totais dos pedidos criados em {@code day} que estão em {@code status}.
+ */
+public record OrderStatsDTO(LocalDate day, OrderStatus status, long count, BigDecimal total) {
+}
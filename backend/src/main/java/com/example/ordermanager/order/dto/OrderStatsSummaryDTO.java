@@ -0,0 +1,15 @@
+package com.example.ordermanager.order.dto;
+
+import com.example.ordermanager.order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resposta de GET /api/orders/stats: totais por status no período e a quebra diária.
+ */
+public record OrderStatsSummaryDTO(List<StatusTotal> byStatus, List<OrderStatsDTO> daily) {
+
+    public record StatusTotal(OrderStatus status, long count, BigDecimal total) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ordermanager.order.expiry;
+
+import com.example.ordermanager.common.cache.CacheInvalidations;
+import com.example.ordermanager.order.OrderRepository;
+import com.example.ordermanager.order.OrderStatsDailyRepository;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.outbox.OrderEventType;
+import com.example.ordermanager.order.outbox.OrderOutboxRepository;
+import com.example.ordermanager.product.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cancela pedidos PENDING criados há mais de {@code orders.pending-expiry.ttl-minutes} e devolve
+ * o estoque que eles seguravam (sem isso, pedidos abandonados geram "estoque insuficiente" falso
+ * em novos pedidos).
+ *
+ * Cada bloco de {@code orders.pending-expiry.chunk-size} pedidos roda em uma transação: lock dos
+ * mais antigos pelo índice (status, created_at) com SKIP LOCKED (vários nós podem rodar o job sem
+ * pegar os mesmos pedidos), um UPDATE que devolve o estoque somado por produto, um UPDATE de
+ * status, estatísticas e outbox ({@code ORDER_STATUS_CHANGED}, CANCELLED). Um ciclo para em
+ * {@code orders.pending-expiry.max-chunks-per-run} blocos; o restante fica para o próximo.
+ *
+ * Métricas: {@code orders.expiry.expired} (vazão), {@code orders.expiry.chunk} (tempo por bloco)
+ * e {@code orders.expiry.backlog} (pedidos vencidos ainda pendentes ao fim do último ciclo).
+ */
+@Component
+public class PendingOrderExpirer {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingOrderExpirer.class);
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final OrderStatsDailyRepository orderStatsRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final CacheInvalidations cacheInvalidations;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter expired;
+    private final Timer chunkTimer;
+
+    private volatile long lastBacklog;
+
+    public PendingOrderExpirer(OrderRepository orderRepository,
+                               ProductRepository productRepository,
+                               OrderStatsDailyRepository orderStatsRepository,
+                               OrderOutboxRepository outboxRepository,
+                               CacheInvalidations cacheInvalidations,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${orders.pending-expiry.enabled:true}") boolean enabled,
+                               @Value("${orders.pending-expiry.ttl-minutes:60}") long ttlMinutes,
+                               @Value("${orders.pending-expiry.chunk-size:500}") int chunkSize,
+                               @Value("${orders.pending-expiry.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.orderStatsRepository = orderStatsRepository;
+        this.outboxRepository = outboxRepository;
+        this.cacheInvalidations = cacheInvalidations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.expired = Counter.builder("orders.expiry.expired")
+                .description("Pedidos PENDING cancelados por expiração")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("orders.expiry.chunk")
+                .description("Tempo por bloco (lock + estoque + status + estatísticas + outbox)")
+                .register(meterRegistry);
+        Gauge.builder("orders.expiry.backlog", this, e -> e.lastBacklog)
+                .description("Pedidos PENDING vencidos ainda não cancelados")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.pending-expiry.interval:60000}",
+               initialDelayString = "${orders.pending-expiry.interval:60000}")
+    public void poll() {
+        if (enabled) {
+            expireCreatedBefore(Instant.now().minus(ttl));
+        }
+    }
+
+    /**
+     * Cancela pedidos PENDING criados antes de {@code cutoff}, até o limite de blocos por ciclo.
+     *
+     * @return quantidade de pedidos cancelados
+     */
+    public int expireCreatedBefore(Instant cutoff) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = chunkTimer.record(() -> transactionTemplate.execute(status -> expireNextChunk(cutoff)));
+            int n = count != null ? count : 0;
+            total += n;
+            if (n < chunkSize) {
+                break;
+            }
+        }
+
+        expired.increment(total);
+        lastBacklog = orderRepository.countExpiredPending(cutoff);
+        if (total > 0) {
+            log.info("{} pedidos PENDING anteriores a {} cancelados por expiração; {} ainda vencidos",
+                    total, cutoff, lastBacklog);
+        }
+        return total;
+    }
+
+    private int expireNextChunk(Instant cutoff) {
+        List<Long> ids = orderRepository.lockExpiredPending(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        List<Long> productIds = productRepository.lockIdsByOrderIds(ids);
+
+        productRepository.restoreStock(ids, now);
+        orderRepository.updateStatuses(ids, OrderStatus.CANCELLED, Set.of(OrderStatus.PENDING), now);
+        orderStatsRepository.adjust(ids, OrderStatus.PENDING.name(), -1);
+        orderStatsRepository.adjust(ids, OrderStatus.CANCELLED.name(), 1);
+        outboxRepository.append(ids, OrderEventType.ORDER_STATUS_CHANGED.name(), OrderStatus.CANCELLED.name());
+
+        cacheInvalidations.ordersChanged(ids);
+        productIds.forEach(cacheInvalidations::stockChanged);
+        return ids.size();
+    }
+}
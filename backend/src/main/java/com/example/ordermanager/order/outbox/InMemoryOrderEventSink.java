@@ -0,0 +1,25 @@
+package com.example.ordermanager.order.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guarda os eventos publicados em memória (testes e ambiente local).
+ */
+public class InMemoryOrderEventSink implements OrderEventSink {
+
+    private final List<OrderEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OrderEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<OrderEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ordermanager.order.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Sink padrão: só registra os eventos no log.
+ */
+public class LoggingOrderEventSink implements OrderEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOrderEventSink.class);
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            log.info("Evento de pedido {} #{} (pedido {}): {}",
+                    event.type(), event.eventId(), event.orderId(), event.payload());
+        }
+    }
+}
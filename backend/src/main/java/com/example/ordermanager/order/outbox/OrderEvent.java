@@ -0,0 +1,20 @@
+package com.example.ordermanager.order.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * Evento entregue ao {@link OrderEventSink}. {@code eventId} é crescente e
+ * serve para o consumidor descartar duplicatas e ordenar eventos do mesmo pedido.
+ */
+public record OrderEvent(long eventId,
+                         long orderId,
+                         OrderEventType type,
+                         Instant occurredAt,
+                         @JsonRawValue String payload) {
+
+    static OrderEvent from(OrderOutboxEvent row) {
+        return new OrderEvent(row.getId(), row.getOrderId(), row.getEventType(), row.getCreatedAt(), row.getPayload());
+    }
+}
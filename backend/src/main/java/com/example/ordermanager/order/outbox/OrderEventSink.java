@@ -0,0 +1,12 @@
+package com.example.ordermanager.order.outbox;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos drenados do outbox. Uma exceção faz o lote voltar para a
+ * fila (a entrega é at-least-once). Implementação escolhida por {@code orders.outbox.sink}.
+ */
+public interface OrderEventSink {
+
+    void publish(List<OrderEvent> events) throws Exception;
+}
@@ -0,0 +1,7 @@
+package com.example.ordermanager.order.outbox;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    ORDER_DELETED
+}
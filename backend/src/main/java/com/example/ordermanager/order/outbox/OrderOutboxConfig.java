@@ -0,0 +1,27 @@
+package com.example.ordermanager.order.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class OrderOutboxConfig {
+
+    /**
+     * orders.outbox.sink: log (padrão) | file | memory
+     */
+    @Bean
+    public OrderEventSink orderEventSink(@Value("${orders.outbox.sink:log}") String sink,
+                                         @Value("${orders.outbox.file:order-events.jsonl}") String file,
+                                         ObjectMapper objectMapper) {
+        return switch (sink) {
+            case "file" -> new FileOrderEventSink(Path.of(file), objectMapper);
+            case "memory" -> new InMemoryOrderEventSink();
+            case "log" -> new LoggingOrderEventSink();
+            default -> throw new IllegalArgumentException("orders.outbox.sink inválido: " + sink);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.ordermanager.order.outbox;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Linha da tabela order_outbox. Gravada por SQL nativo
+ * ({@link OrderOutboxRepository#append}) e apagada depois de publicada.
+ */
+@Entity
+@Table(name = "order_outbox")
+public class OrderOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private OrderEventType eventType;
+
+    @Column(nullable = false, columnDefinition = "json")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() { return id; }
+    public Long getOrderId() { return orderId; }
+    public OrderEventType getEventType() { return eventType; }
+    public String getPayload() { return payload; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,169 @@
+package com.example.ordermanager.order.outbox;
+
+import com.example.ordermanager.common.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drena o order_outbox em lotes ordenados por id e publica no {@link OrderEventSink}.
+ *
+ * Cada lote roda em uma transação: SELECT ... FOR UPDATE SKIP LOCKED, publish e DELETE.
+ * Se o sink falhar, a transação volta e o lote é tentado de novo no próximo ciclo
+ * (entrega at-least-once). Com vários nós, cada um pega lotes diferentes; a ordem
+ * global entre nós não é garantida, por isso o evento leva o {@code eventId}.
+ *
+ * A cada ciclo drena enquanto houver eventos, até {@code orders.outbox.max-drain-millis},
+ * o que limita o atraso (lag) quando há rajadas.
+ *
+ * Roda na própria thread ({@code outbox-relay-1}), fora do scheduler dos jobs {@code @Scheduled}:
+ * o lag e {@code orders.outbox.max-lag-millis} contam com um ciclo a cada
+ * {@code orders.outbox.poll-interval}, e um arquivamento longo não pode segurar os eventos.
+ */
+@Component
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDrainMillis;
+    private final long maxLagMillis;
+    private final Duration pollInterval;
+    private ThreadPoolTaskScheduler scheduler;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    private volatile long lastLagMillis;
+    private volatile long lastBacklog;
+
+    public OrderOutboxRelay(OrderOutboxRepository outboxRepository,
+                            OrderEventSink sink,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${orders.outbox.relay-enabled:true}") boolean enabled,
+                            @Value("${orders.outbox.batch-size:200}") int batchSize,
+                            @Value("${orders.outbox.max-drain-millis:800}") long maxDrainMillis,
+                            @Value("${orders.outbox.max-lag-millis:10000}") long maxLagMillis,
+                            @Value("${orders.outbox.poll-interval:1000}") long pollIntervalMillis) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDrainMillis = maxDrainMillis;
+        this.maxLagMillis = maxLagMillis;
+        this.pollInterval = Duration.ofMillis(pollIntervalMillis);
+
+        this.published = Counter.builder("orders.outbox.published")
+                .description("Eventos de pedido publicados pelo relay")
+                .register(meterRegistry);
+        this.failures = Counter.builder("orders.outbox.failures")
+                .description("Lotes que falharam ao publicar")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.outbox.batch")
+                .description("Tempo por lote (lock + publish + delete)")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.lag", this, r -> r.lastLagMillis)
+                .description("Idade do evento pendente mais antigo")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.backlog", this, r -> r.lastBacklog)
+                .description("Estimativa de eventos pendentes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (enabled && scheduler == null) {
+            scheduler = BulkheadConfig.dedicatedScheduler("outbox-relay-");
+            scheduler.scheduleWithFixedDelay(this::poll, pollInterval);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public void poll() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Publica lotes até esvaziar a fila, falhar ou estourar o orçamento de tempo.
+     *
+     * @return quantidade de eventos publicados
+     */
+    public int drain() {
+        long deadline = System.nanoTime() + maxDrainMillis * 1_000_000L;
+        int total = 0;
+        int count;
+        do {
+            try {
+                count = publishNextBatch();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Falha ao publicar lote do outbox; será tentado novamente: {}", e.getMessage());
+                break;
+            }
+            total += count;
+        } while (count == batchSize && System.nanoTime() < deadline);
+
+        updateLag();
+        return total;
+    }
+
+    private int publishNextBatch() {
+        Integer count = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OrderOutboxEvent> rows = outboxRepository.lockNextBatch(batchSize);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(rows.stream().map(OrderEvent::from).toList());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            outboxRepository.deleteAllInBatch(rows);
+            return rows.size();
+        }));
+        int n = count != null ? count : 0;
+        published.increment(n);
+        return n;
+    }
+
+    private void updateLag() {
+        lastLagMillis = outboxRepository.findOldestAgeMillis().orElse(0L);
+        lastBacklog = outboxRepository.estimateBacklog();
+        if (lastLagMillis > maxLagMillis) {
+            log.warn("Outbox de pedidos atrasado: evento mais antigo com {} ms ({} pendentes estimados)",
+                    lastLagMillis, lastBacklog);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ordermanager.order.outbox;
+
+import com.example.ordermanager.order.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    /**
+     * Grava um evento por pedido, montando o payload a partir da linha em orders.
+     * O status vai como parâmetro para não depender de o UPDATE já ter sido enviado ao banco;
+     * em exclusões, chamar antes do DELETE.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_outbox (order_id, event_type, payload, created_at) "
+            + "SELECT o.id, :type, JSON_OBJECT('orderId', o.id, 'orderNumber', o.order_number, "
+            + "'status', :status, 'total', o.total_amount), NOW(6) "
+            + "FROM orders o WHERE o.id IN (:ids) ORDER BY o.id",
+            nativeQuery = true)
+    int append(@Param("ids") Collection<Long> ids, @Param("type") String type, @Param("status") String status);
+
+    default int append(Long orderId, OrderEventType type, OrderStatus status) {
+        return append(List.of(orderId), type.name(), status.name());
+    }
+
+    /**
+     * Próximo lote em ordem de id. Linhas travadas por outro relay (outro nó) são puladas.
+     */
+    @Query(value = "SELECT * FROM order_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderOutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    // Idade (em ms) do evento pendente mais antigo
+    @Query(value = "SELECT TIMESTAMPDIFF(MICROSECOND, created_at, NOW(6)) DIV 1000 "
+            + "FROM order_outbox ORDER BY id LIMIT 1", nativeQuery = true)
+    Optional<Long> findOldestAgeMillis();
+
+    @Query(value = "SELECT COALESCE(MAX(id) - MIN(id) + 1, 0) FROM order_outbox", nativeQuery = true)
+    long estimateBacklog();
+}
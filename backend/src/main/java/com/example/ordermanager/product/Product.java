@@ -2,7 +2,7 @@ package com.example.ordermanager.product;
 
 import jakarta.persistence.*;
 import com.example.ordermanager.category.Category;
-import java.math.BigDecimal;
+import com.example.ordermanager.common.money.Money;
 import java.time.Instant;
 
 @Entity
@@ -16,12 +16,16 @@ public class Product {
     private String name;
 
     @Column(nullable=false, precision=15, scale=2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(nullable=false)
     private Integer stock;
 
-    @ManyToOne
+    // unidades seguras por reservas ativas; só muda por UPDATE relativo (ver StockReservationService)
+    @Column(nullable=false, insertable=false, updatable=false)
+    private int reserved;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = true)
     private Category category;
 
@@ -48,10 +52,13 @@ public class Product {
     public void setId(Long id) { this.id = id; }
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
-    public BigDecimal getPrice() { return price; }
-    public void setPrice(BigDecimal price) { this.price = price; }
+    public Money getPrice() { return price; }
+    public void setPrice(Money price) { this.price = price; }
     public Integer getStock() { return stock; }
     public void setStock(Integer stock) { this.stock = stock; }
+    public int getReserved() { return reserved; }
+    // disponível para novos pedidos e reservas
+    public int getAvailable() { return stock - reserved; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
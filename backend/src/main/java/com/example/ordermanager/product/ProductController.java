@@ -1,12 +1,17 @@
 package com.example.ordermanager.product;
 
+import com.example.ordermanager.common.catalog.CatalogVersion;
+import com.example.ordermanager.common.catalog.ConditionalGet;
 import com.example.ordermanager.product.dto.ProductDTO;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import com.example.ordermanager.product.dto.ProductSuggestionDTO;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -23,28 +28,59 @@ import java.util.List;
 public class ProductController {
 
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ProductService service;
+    private final CatalogVersion catalogVersion;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, CatalogVersion catalogVersion) {
         this.service = service;
+        this.catalogVersion = catalogVersion;
     }
 
         // LISTAR PRODUTOS - USER ou ADMIN
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    // ETag = versão do catálogo: If-None-Match igual responde 304 sem ir ao banco
     @Operation(summary = "Listar produtos",
-               description = "Lista produtos paginados, com filtro opcional por nome.")
+               description = "Lista produtos paginados, com filtro opcional por nome. Suporta If-None-Match (304).")
     @GetMapping
-    public Page<Product> list(@RequestParam(required = false) String name,
-                              Pageable pageable) {
+    public Page<ProductResponseDTO> list(@RequestParam(required = false) String name,
+                              Pageable pageable,
+                              ServletWebRequest request) {
+        if (ConditionalGet.notModified(request, catalogVersion.collectionETag())) {
+            return null;
+        }
         return service.list(name, pageable);
     }
 
+    // SUGESTÕES POR PREFIXO (AUTOCOMPLETE) - USER ou ADMIN
+    // Servido pelo índice em memória, sem consultar o banco
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Operation(summary = "Sugerir produtos",
+               description = "Retorna até 'limit' produtos cujo nome começa com o prefixo informado (sem diferenciar maiúsculas/acentos), em ordem alfabética.")
+    @GetMapping("/suggest")
+    public List<ProductSuggestionDTO> suggest(@RequestParam String prefix,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        return service.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
     // BUSCAR POR ID - USER ou ADMIN
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
-    @Operation(summary = "Buscar produto por ID")
+    // ETag forte por produto; depois da primeira leitura o 304 sai da memória
+    @Operation(summary = "Buscar produto por ID",
+               description = "Suporta If-None-Match (304).")
     @GetMapping("/{id}")
-    public Product get(@PathVariable Long id) {
-        return service.get(id);
+    public ProductResponseDTO get(@PathVariable Long id, ServletWebRequest request) {
+        String known = catalogVersion.knownProductETag(id);
+        if (known != null && ConditionalGet.notModified(request, known)) {
+            return null;
+        }
+
+        long versionBeforeLoad = catalogVersion.current();
+        ProductResponseDTO product = service.getResponse(id);
+        String etag = catalogVersion.productETag(product);
+        catalogVersion.rememberProductETag(id, etag, versionBeforeLoad);
+        return ConditionalGet.notModified(request, etag) ? null : product;
     }
 
  // CRIAR PRODUTO - só ADMIN
@@ -52,7 +88,7 @@ public class ProductController {
 @Operation(summary = "Criar produto",
            description = "Cria um novo produto com nome, preço e estoque.")
 @PostMapping
-public ResponseEntity<Product> create(@RequestBody @Valid ProductDTO dto) {
+public ResponseEntity<ProductResponseDTO> create(@RequestBody @Valid ProductDTO dto) {
     Product created = service.create(dto);
 
     // Monta URI do recurso criado: /api/products/{id}
@@ -63,7 +99,7 @@ public ResponseEntity<Product> create(@RequestBody @Valid ProductDTO dto) {
             .toUri();
 
     // 201 Created + Location + body com o produto criado
-    return ResponseEntity.created(location).body(created);
+    return ResponseEntity.created(location).body(ProductResponseDTO.from(created));
 }
 
 
@@ -72,9 +108,9 @@ public ResponseEntity<Product> create(@RequestBody @Valid ProductDTO dto) {
     @Operation(summary = "Atualizar produto",
                description = "Atualiza os dados de um produto existente.")
     @PutMapping("/{id}")
-    public Product update(@PathVariable Long id,
-                          @RequestBody @Valid ProductDTO dto) {
-        return service.update(id, dto);
+    public ProductResponseDTO update(@PathVariable Long id,
+                                     @RequestBody @Valid ProductDTO dto) {
+        return ProductResponseDTO.from(service.update(id, dto));
     }
 
     // DELETAR PRODUTO - só ADMIN
@@ -0,0 +1,20 @@
+package com.example.ordermanager.product;
+
+import com.example.ordermanager.common.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+public enum ProductErrorCode implements ErrorCode {
+
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND);
+
+    private final HttpStatus status;
+
+    ProductErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public HttpStatus status() {
+        return status;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.ordermanager.product;
+
+import com.example.ordermanager.common.error.BusinessRejectionException;
+
+public class ProductRejectedException extends BusinessRejectionException {
+
+    public ProductRejectedException(ProductErrorCode code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public ProductErrorCode getCode() {
+        return (ProductErrorCode) super.getCode();
+    }
+}
@@ -1,9 +1,74 @@
 package com.example.ordermanager.product;
 
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import com.example.ordermanager.product.dto.ProductSuggestionDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    // Projeções de leitura: uma única query com left join na categoria, sem hidratar entidades
+    @Query(value = "select new com.example.ordermanager.product.dto.ProductResponseDTO("
+            + "p.id, p.name, p.price, p.stock, c.id, c.name, p.createdAt, p.updatedAt) "
+            + "from Product p left join p.category c",
+            countQuery = "select count(p) from Product p")
+    Page<ProductResponseDTO> findAllResponses(Pageable pageable);
+
+    @Query(value = "select new com.example.ordermanager.product.dto.ProductResponseDTO("
+            + "p.id, p.name, p.price, p.stock, c.id, c.name, p.createdAt, p.updatedAt) "
+            + "from Product p left join p.category c "
+            + "where lower(p.name) like lower(concat('%', :name, '%'))",
+            countQuery = "select count(p) from Product p where lower(p.name) like lower(concat('%', :name, '%'))")
+    Page<ProductResponseDTO> findResponsesByName(@Param("name") String name, Pageable pageable);
+
+    @Query("select new com.example.ordermanager.product.dto.ProductResponseDTO("
+            + "p.id, p.name, p.price, p.stock, c.id, c.name, p.createdAt, p.updatedAt) "
+            + "from Product p left join p.category c where p.id = :id")
+    Optional<ProductResponseDTO> findResponseById(@Param("id") Long id);
+
+    // Carga do índice de sugestões: só id e nome, sem hidratar entidades
+    @Query("select new com.example.ordermanager.product.dto.ProductSuggestionDTO(p.id, p.name) from Product p")
+    List<ProductSuggestionDTO> findAllSuggestions();
+
+    @Query("select new com.example.ordermanager.product.dto.ProductSuggestionDTO(p.id, p.name) from Product p "
+            + "where p.id in :ids")
+    List<ProductSuggestionDTO> findSuggestionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Produtos travados (SELECT ... FOR UPDATE) em ordem de id, a mesma da devolução de estoque
+     * e da criação em lote: quem trava vários produtos não entra em deadlock com os outros.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Trava, em ordem de id, os produtos dos itens dos pedidos informados e devolve os ids.
+     * Chamar antes de {@link #restoreStock}, que sozinho travaria na ordem do plano de execução.
+     */
+    @Query(value = "SELECT id FROM products WHERE id IN "
+            + "(SELECT product_id FROM order_items WHERE order_id IN (:orderIds)) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Devolve ao estoque as quantidades dos itens dos pedidos informados: um único UPDATE,
+     * somando por produto. Chamar antes de apagar os itens.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE products p JOIN (SELECT product_id, SUM(quantity) AS quantity FROM order_items "
+            + "WHERE order_id IN (:orderIds) GROUP BY product_id) r ON r.product_id = p.id "
+            + "SET p.stock = p.stock + r.quantity, p.updated_at = :now",
+            nativeQuery = true)
+    int restoreStock(@Param("orderIds") Collection<Long> orderIds, @Param("now") Instant now);
 }
@@ -1,44 +1,96 @@
 package com.example.ordermanager.product;
 
+import com.example.ordermanager.common.cache.CacheInvalidations;
+import com.example.ordermanager.common.lookup.ByIdLookup;
+import com.example.ordermanager.common.money.Money;
 import com.example.ordermanager.product.dto.ProductDTO;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import com.example.ordermanager.product.dto.ProductSuggestionDTO;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 @Service
 public class ProductService {
     private final ProductRepository repo;
-    public ProductService(ProductRepository repo) { this.repo = repo; }
+    private final ProductSuggestionIndex suggestionIndex;
+    private final CacheInvalidations cacheInvalidations;
+    private final ByIdLookup<ProductResponseDTO> lookup;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductService(ProductRepository repo, ProductSuggestionIndex suggestionIndex,
+                          CacheInvalidations cacheInvalidations, ByIdLookup<ProductResponseDTO> lookup,
+                          PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.suggestionIndex = suggestionIndex;
+        this.cacheInvalidations = cacheInvalidations;
+        this.lookup = lookup;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
-    public Page<Product> list(String name, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<ProductResponseDTO> list(String name, Pageable pageable) {
         if (name == null || name.isBlank()) {
-            return repo.findAll(pageable);
+            return repo.findAllResponses(pageable);
         }
-        return repo.findByNameContainingIgnoreCase(name, pageable);
+        return repo.findResponsesByName(name, pageable);
+    }
+
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    // Sem @Transactional: leituras simultâneas do mesmo id esperam a consulta de outra
+    // requisição sem segurar conexão (ver ByIdLookup); a transação fica dentro do loader
+    public ProductResponseDTO getResponse(Long id) {
+        return lookup.find(id, () -> readOnlyTransaction.execute(status -> repo.findResponseById(id))).orElseThrow(
+            () -> new ProductRejectedException(ProductErrorCode.PRODUCT_NOT_FOUND, "Product not found"));
     }
 
     public Product get(Long id) {
         return repo.findById(id).orElseThrow(
-            () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
+            () -> new ProductRejectedException(ProductErrorCode.PRODUCT_NOT_FOUND, "Product not found"));
     }
 
     public Product create(ProductDTO dto) {
         Product p = new Product();
         p.setName(dto.getName());
-        p.setPrice(dto.getPrice());
+        p.setPrice(Money.of(dto.getPrice()));
         p.setStock(dto.getStock());
-        return repo.save(p);
+        Product saved = repo.save(p);
+        suggestionIndex.put(saved.getId(), saved.getName());
+        cacheInvalidations.productChanged(saved.getId());
+        return saved;
     }
 
     public Product update(Long id, ProductDTO dto) {
         Product p = get(id);
         p.setName(dto.getName());
-        p.setPrice(dto.getPrice());
+        p.setPrice(Money.of(dto.getPrice()));
         p.setStock(dto.getStock());
-        return repo.save(p);
+        Product saved = repo.save(p);
+        suggestionIndex.put(saved.getId(), saved.getName());
+        cacheInvalidations.productChanged(saved.getId());
+        return saved;
     }
 
-    public void delete(Long id) { repo.delete(get(id)); }
+    public void delete(Long id) {
+        repo.delete(get(id));
+        suggestionIndex.remove(id);
+        cacheInvalidations.productChanged(id);
+    }
+
+    // Carga inicial do índice de sugestões; depois disso ele é mantido pelas escritas acima
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSuggestionIndex() {
+        suggestionIndex.rebuild(repo.findAllSuggestions());
+    }
 }
@@ -0,0 +1,267 @@
+package com.example.ordermanager.product;
+
+import com.example.ordermanager.product.dto.ProductSuggestionDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória para autocomplete de produtos por prefixo do nome.
+ *
+ * Os nomes normalizados (minúsculos e sem acentos) ficam em arrays ordenados;
+ * uma busca é um binary search até o primeiro nome >= prefixo seguido de uma
+ * varredura curta enquanto o prefixo bate. As leituras usam um snapshot
+ * imutável (sem lock); as escritas do {@link ProductService} geram um novo
+ * snapshot com a entrada inserida/removida (copy-on-write).
+ *
+ * O número de entradas é limitado por {@code catalog.suggest.max-entries}.
+ */
+@Component
+public class ProductSuggestionIndex implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestionIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // Estimativa de bytes por entrada além do tamanho dos textos:
+    // 2 Strings (~40 bytes de cabeçalho cada), 3 slots de array e a entrada no mapa id -> chave
+    private static final int ENTRY_OVERHEAD_BYTES = 2 * 40 + 3 * 8 + 64;
+
+    private final int maxEntries;
+
+    // Usado apenas pelos escritores (sob synchronized) para localizar a chave de um id
+    private final Map<Long, String> keysById = new HashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long droppedEntries;
+
+    public ProductSuggestionIndex(@Value("${catalog.suggest.max-entries:200000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // ============================
+    // BUSCA
+    // ============================
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        int pos = current.lowerBound(key);
+
+        List<ProductSuggestionDTO> result = new ArrayList<>(Math.min(limit, 16));
+        while (pos < current.size() && result.size() < limit && current.keys[pos].startsWith(key)) {
+            result.add(new ProductSuggestionDTO(current.ids[pos], current.names[pos]));
+            pos++;
+        }
+        return result;
+    }
+
+    // ============================
+    // ATUALIZAÇÃO
+    // ============================
+    public synchronized void rebuild(Collection<ProductSuggestionDTO> products) {
+        keysById.clear();
+
+        List<Entry> entries = new ArrayList<>(Math.min(products.size(), maxEntries));
+        for (ProductSuggestionDTO p : products) {
+            if (entries.size() >= maxEntries) {
+                break;
+            }
+            Entry entry = new Entry(normalize(p.name()), p.id(), p.name());
+            entries.add(entry);
+            keysById.put(p.id(), entry.key());
+        }
+        entries.sort(Entry.ORDER);
+
+        droppedEntries = products.size() - entries.size();
+        if (droppedEntries > 0) {
+            log.warn("Índice de sugestões limitado a {} produtos; {} ficaram de fora", maxEntries, droppedEntries);
+        }
+        snapshot = Snapshot.of(entries);
+    }
+
+    public synchronized void put(Long id, String name) {
+        Snapshot current = snapshot;
+        String oldKey = keysById.get(id);
+        if (oldKey != null) {
+            current = current.without(oldKey, id);
+        } else if (keysById.size() >= maxEntries) {
+            droppedEntries++;
+            return;
+        }
+
+        String key = normalize(name);
+        keysById.put(id, key);
+        snapshot = current.with(key, id, name);
+    }
+
+    public synchronized void remove(Long id) {
+        String oldKey = keysById.remove(id);
+        if (oldKey != null) {
+            snapshot = snapshot.without(oldKey, id);
+        }
+    }
+
+    // ============================
+    // MÉTRICAS
+    // ============================
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Estimativa (não exata) da memória ocupada pelo índice, em bytes.
+     */
+    public long estimatedMemoryBytes() {
+        Snapshot current = snapshot;
+        long bytes = 0;
+        for (int i = 0; i < current.size(); i++) {
+            bytes += ENTRY_OVERHEAD_BYTES + current.keys[i].length() + current.names[i].length();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.suggest.entries", this, ProductSuggestionIndex::size)
+                .description("Produtos presentes no índice de sugestões")
+                .register(registry);
+        Gauge.builder("catalog.suggest.memory", this, ProductSuggestionIndex::estimatedMemoryBytes)
+                .description("Memória estimada do índice de sugestões")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("catalog.suggest.dropped", this, i -> i.droppedEntries)
+                .description("Produtos fora do índice por causa do limite de entradas")
+                .register(registry);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.strip(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String key, long id, String name) {
+        static final Comparator<Entry> ORDER =
+                Comparator.comparing(Entry::key).thenComparingLong(Entry::id);
+    }
+
+    /**
+     * Arrays paralelos ordenados por (chave normalizada, id). Nunca são alterados
+     * depois de publicados.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0], new String[0]);
+
+        final String[] keys;
+        final long[] ids;
+        final String[] names;
+
+        Snapshot(String[] keys, long[] ids, String[] names) {
+            this.keys = keys;
+            this.ids = ids;
+            this.names = names;
+        }
+
+        static Snapshot of(List<Entry> sorted) {
+            int n = sorted.size();
+            String[] keys = new String[n];
+            long[] ids = new long[n];
+            String[] names = new String[n];
+            for (int i = 0; i < n; i++) {
+                Entry e = sorted.get(i);
+                keys[i] = e.key();
+                ids[i] = e.id();
+                names[i] = e.name();
+            }
+            return new Snapshot(keys, ids, names);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        // Primeira posição cuja chave é >= key
+        int lowerBound(String key) {
+            return position(key, Long.MIN_VALUE);
+        }
+
+        // Primeira posição cujo par (chave, id) é >= (key, id)
+        int position(String key, long id) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = keys[mid].compareTo(key);
+                if (cmp == 0) {
+                    cmp = Long.compare(ids[mid], id);
+                }
+                if (cmp < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        Snapshot with(String key, long id, String name) {
+            int pos = position(key, id);
+            int n = keys.length;
+
+            String[] newKeys = Arrays.copyOf(keys, n + 1);
+            long[] newIds = Arrays.copyOf(ids, n + 1);
+            String[] newNames = Arrays.copyOf(names, n + 1);
+
+            System.arraycopy(keys, pos, newKeys, pos + 1, n - pos);
+            System.arraycopy(ids, pos, newIds, pos + 1, n - pos);
+            System.arraycopy(names, pos, newNames, pos + 1, n - pos);
+
+            newKeys[pos] = key;
+            newIds[pos] = id;
+            newNames[pos] = name;
+            return new Snapshot(newKeys, newIds, newNames);
+        }
+
+        Snapshot without(String key, long id) {
+            int pos = position(key, id);
+            if (pos >= keys.length || ids[pos] != id || !keys[pos].equals(key)) {
+                return this;
+            }
+            int n = keys.length;
+
+            String[] newKeys = new String[n - 1];
+            long[] newIds = new long[n - 1];
+            String[] newNames = new String[n - 1];
+
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(names, 0, newNames, 0, pos);
+            System.arraycopy(keys, pos + 1, newKeys, pos, n - pos - 1);
+            System.arraycopy(ids, pos + 1, newIds, pos, n - pos - 1);
+            System.arraycopy(names, pos + 1, newNames, pos, n - pos - 1);
+            return new Snapshot(newKeys, newIds, newNames);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ordermanager.product.dto;
+
+import com.example.ordermanager.category.Category;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.product.Product;
+
+import java.time.Instant;
+
+/**
+ * DTO de saída de produto, com a categoria "achatada" (id + nome).
+ * Nas listagens é montado direto pela query (projeção com left join),
+ * sem hidratar entidades.
+ */
+public class ProductResponseDTO {
+
+    private Long id;
+    private String name;
+    private Money price;
+    private Integer stock;
+    private Long categoryId;
+    private String categoryName;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public ProductResponseDTO(Long id, String name, Money price, Integer stock,
+                              Long categoryId, String categoryName,
+                              Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ProductResponseDTO from(Product p) {
+        Category c = p.getCategory();
+        return new ProductResponseDTO(
+                p.getId(),
+                p.getName(),
+                p.getPrice(),
+                p.getStock(),
+                c != null ? c.getId() : null,
+                c != null ? c.getName() : null,
+                p.getCreatedAt(),
+                p.getUpdatedAt());
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public Money getPrice() { return price; }
+    public Integer getStock() { return stock; }
+    public Long getCategoryId() { return categoryId; }
+    public String getCategoryName() { return categoryName; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,4 @@
+package com.example.ordermanager.product.dto;
+
+public record ProductSuggestionDTO(Long id, String name) {
+}
@@ -0,0 +1,95 @@
+package com.example.ordermanager.reservation;
+
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.reservation.dto.CreateReservationDTO;
+import com.example.ordermanager.reservation.dto.ProductAvailabilityDTO;
+import com.example.ordermanager.reservation.dto.ReservationResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@Tag(name = "Reservas", description = "Reservas de estoque com prazo para o checkout.")
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private final StockReservationService service;
+
+    public ReservationController(StockReservationService service) {
+        this.service = service;
+    }
+
+    // RESERVAR - USER ou ADMIN
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @Operation(summary = "Reservar estoque",
+               description = "Segura as unidades dos itens até o prazo (ttlSeconds ou o padrão). 409 se não houver disponível.")
+    @PostMapping
+    public ResponseEntity<ReservationResponseDTO> reserve(@RequestBody @Valid CreateReservationDTO dto,
+                                                          Authentication authentication) {
+        ReservationResponseDTO created = service.reserve(dto, authentication.getName());
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(created.id())
+                .toUri();
+        return ResponseEntity.created(location).body(created);
+    }
+
+    // DISPONÍVEL POR PRODUTO - USER ou ADMIN
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @Operation(summary = "Consultar disponível",
+               description = "Estoque, unidades reservadas e disponível (estoque - reservado) dos produtos informados.")
+    @GetMapping("/availability")
+    public List<ProductAvailabilityDTO> availability(@RequestParam List<Long> productIds) {
+        return service.availability(productIds);
+    }
+
+    // BUSCAR - dono da reserva ou ADMIN
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @Operation(summary = "Buscar reserva por ID")
+    @GetMapping("/{id}")
+    public ReservationResponseDTO get(@PathVariable Long id, Authentication authentication) {
+        return service.get(id, authentication.getName(), isAdmin(authentication));
+    }
+
+    // CONFIRMAR - cria o pedido com os itens reservados
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @Operation(summary = "Confirmar reserva",
+               description = "Cria o pedido com os itens da reserva. 409 se a reserva não estiver ativa ou tiver vencido.")
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<OrderResponseDTO> confirm(@PathVariable Long id, Authentication authentication) {
+        OrderResponseDTO order = service.confirm(id, authentication.getName(), isAdmin(authentication));
+
+        // Location aponta para o pedido criado: /api/orders/{id}
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/orders/{id}")
+                .buildAndExpand(order.getId())
+                .toUri();
+        return ResponseEntity.created(location).body(order);
+    }
+
+    // LIBERAR - devolve as unidades antes do prazo
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @Operation(summary = "Liberar reserva",
+               description = "Devolve as unidades reservadas. Reserva já liberada ou expirada: 204 sem efeito.")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable Long id, Authentication authentication) {
+        service.release(id, authentication.getName(), isAdmin(authentication));
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ordermanager.reservation;
+
+import com.example.ordermanager.common.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+public enum ReservationErrorCode implements ErrorCode {
+
+    RESERVATION_NOT_FOUND(HttpStatus.NOT_FOUND),
+    RESERVATION_NOT_ACTIVE(HttpStatus.CONFLICT),
+    RESERVATION_EXPIRED(HttpStatus.CONFLICT),
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    INSUFFICIENT_STOCK(HttpStatus.CONFLICT),
+    ORDER_TOTAL_LIMIT_EXCEEDED(HttpStatus.CONFLICT);
+
+    private final HttpStatus status;
+
+    ReservationErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public HttpStatus status() {
+        return status;
+    }
+}
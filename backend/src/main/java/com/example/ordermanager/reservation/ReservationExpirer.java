@@ -0,0 +1,108 @@
+package com.example.ordermanager.reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Devolve ao disponível as unidades de reservas ACTIVE vencidas (checkout abandonado).
+ *
+ * Mesmo formato do {@code PendingOrderExpirer}: blocos de {@code reservations.expiry.chunk-size}
+ * reservas, cada um em uma transação, pegos pelo índice (status, expires_at) com SKIP LOCKED
+ * (reservas sendo confirmadas ou liberadas, ou com outro nó, ficam de fora); um UPDATE subtrai de
+ * products.reserved as quantidades somadas por produto e outro marca as reservas como EXPIRED.
+ * Um ciclo para em {@code reservations.expiry.max-chunks-per-run} blocos.
+ *
+ * Métricas: {@code reservations.expired} (vazão) e {@code reservations.expiry.backlog}
+ * (reservas vencidas ainda ativas ao fim do último ciclo).
+ */
+@Component
+public class ReservationExpirer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpirer.class);
+
+    private final StockReservationRepository reservationRepository;
+    private final StockReservationService reservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter expired;
+
+    private volatile long lastBacklog;
+
+    public ReservationExpirer(StockReservationRepository reservationRepository,
+                              StockReservationService reservationService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${reservations.expiry.enabled:true}") boolean enabled,
+                              @Value("${reservations.expiry.chunk-size:500}") int chunkSize,
+                              @Value("${reservations.expiry.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.reservationRepository = reservationRepository;
+        this.reservationService = reservationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.expired = Counter.builder("reservations.expired")
+                .description("Reservas de estoque vencidas e devolvidas")
+                .register(meterRegistry);
+        Gauge.builder("reservations.expiry.backlog", this, e -> e.lastBacklog)
+                .description("Reservas vencidas ainda segurando estoque")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reservations.expiry.interval:5000}",
+               initialDelayString = "${reservations.expiry.interval:5000}")
+    public void poll() {
+        if (enabled) {
+            expireBefore(Instant.now());
+        }
+    }
+
+    /**
+     * Expira reservas ACTIVE com prazo anterior a {@code cutoff}, até o limite de blocos por ciclo.
+     *
+     * @return quantidade de reservas expiradas
+     */
+    public int expireBefore(Instant cutoff) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> expireNextChunk(cutoff));
+            int n = count != null ? count : 0;
+            total += n;
+            if (n < chunkSize) {
+                break;
+            }
+        }
+
+        expired.increment(total);
+        lastBacklog = reservationRepository.countExpired(cutoff);
+        if (total > 0) {
+            log.info("{} reservas vencidas antes de {} devolvidas; {} ainda vencidas", total, cutoff, lastBacklog);
+        }
+        return total;
+    }
+
+    private int expireNextChunk(Instant cutoff) {
+        List<Long> ids = reservationRepository.lockExpired(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        reservationService.unhold(ids);
+        reservationRepository.finish(ids, ReservationStatus.EXPIRED, null, Instant.now());
+        return ids.size();
+    }
+}
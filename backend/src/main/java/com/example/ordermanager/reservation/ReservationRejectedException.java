@@ -0,0 +1,18 @@
+package com.example.ordermanager.reservation;
+
+import com.example.ordermanager.common.error.BusinessRejectionException;
+
+/**
+ * Recusa de uma operação de reserva (criar, confirmar, liberar).
+ */
+public class ReservationRejectedException extends BusinessRejectionException {
+
+    public ReservationRejectedException(ReservationErrorCode code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public ReservationErrorCode getCode() {
+        return (ReservationErrorCode) super.getCode();
+    }
+}
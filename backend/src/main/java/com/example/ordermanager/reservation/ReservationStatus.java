@@ -0,0 +1,11 @@
+package com.example.ordermanager.reservation;
+
+/**
+ * ACTIVE segura estoque; os demais são finais e já devolveram (ou converteram) as unidades.
+ */
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,68 @@
+package com.example.ordermanager.reservation;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 120)
+    private String owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    // pedido criado na confirmação
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<StockReservationItem> items = new ArrayList<>();
+
+    protected StockReservation() {
+    }
+
+    public StockReservation(String owner, Instant expiresAt) {
+        this.owner = owner;
+        this.status = ReservationStatus.ACTIVE;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        Instant now = Instant.now();
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    public void addItem(Long productId, int quantity) {
+        items.add(new StockReservationItem(this, productId, quantity));
+    }
+
+    public Long getId() { return id; }
+    public String getOwner() { return owner; }
+    public ReservationStatus getStatus() { return status; }
+    public Long getOrderId() { return orderId; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public List<StockReservationItem> getItems() { return items; }
+}
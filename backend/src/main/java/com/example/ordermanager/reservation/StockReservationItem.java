@@ -0,0 +1,37 @@
+package com.example.ordermanager.reservation;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "stock_reservation_items")
+public class StockReservationItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    private StockReservation reservation;
+
+    // só o id: a reserva nunca precisa do produto hidratado
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    protected StockReservationItem() {
+    }
+
+    StockReservationItem(StockReservation reservation, Long productId, Integer quantity) {
+        this.reservation = reservation;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getId() { return id; }
+    public StockReservation getReservation() { return reservation; }
+    public Long getProductId() { return productId; }
+    public Integer getQuantity() { return quantity; }
+}
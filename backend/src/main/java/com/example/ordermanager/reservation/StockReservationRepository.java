@@ -0,0 +1,70 @@
+package com.example.ordermanager.reservation;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * Reserva com os itens, travada até o fim da transação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r left join fetch r.items where r.id = :id")
+    Optional<StockReservation> lockWithItemsById(@Param("id") Long id);
+
+    @Query("select r from StockReservation r left join fetch r.items where r.id = :id")
+    Optional<StockReservation> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * Trava, em ordem de id, os produtos das reservas informadas (a mesma ordem da criação de
+     * pedidos) e devolve os ids; chamar antes de {@link #adjustReserved}.
+     */
+    @Query(value = "SELECT id FROM products WHERE id IN "
+            + "(SELECT product_id FROM stock_reservation_items WHERE reservation_id IN (:ids)) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockProductIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Soma (sign = 1) ou subtrai (sign = -1) as quantidades das reservas de products.reserved:
+     * um UPDATE para todas, agregando por produto.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products p JOIN (SELECT product_id, SUM(quantity) AS quantity "
+            + "FROM stock_reservation_items WHERE reservation_id IN (:ids) GROUP BY product_id) r "
+            + "ON r.product_id = p.id SET p.reserved = p.reserved + :sign * r.quantity",
+            nativeQuery = true)
+    int adjustReserved(@Param("ids") Collection<Long> ids, @Param("sign") int sign);
+
+    /**
+     * Encerra reservas ainda ACTIVE; as que já saíram de ACTIVE não mudam.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update StockReservation r set r.status = :status, r.orderId = :orderId, r.updatedAt = :now "
+            + "where r.id in :ids and r.status = com.example.ordermanager.reservation.ReservationStatus.ACTIVE")
+    int finish(@Param("ids") Collection<Long> ids,
+               @Param("status") ReservationStatus status,
+               @Param("orderId") Long orderId,
+               @Param("now") Instant now);
+
+    /**
+     * Próximo bloco de reservas ACTIVE vencidas, das mais antigas para as mais novas, travadas;
+     * SKIP LOCKED deixa de fora as que estão sendo confirmadas/liberadas ou com outro nó.
+     */
+    @Query(value = "SELECT id FROM stock_reservations WHERE status = 'ACTIVE' AND expires_at < :now "
+            + "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockExpired(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM stock_reservations WHERE status = 'ACTIVE' AND expires_at < :now",
+            nativeQuery = true)
+    long countExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,213 @@
+package com.example.ordermanager.reservation;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.reservation.dto.CreateReservationDTO;
+import com.example.ordermanager.reservation.dto.ProductAvailabilityDTO;
+import com.example.ordermanager.reservation.dto.ReservationResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reservas de estoque com prazo para o checkout.
+ *
+ * Uma reserva ACTIVE segura unidades até {@code expiresAt}: o disponível de cada produto é
+ * {@code stock - reserved}, e {@code products.reserved} é mantido por UPDATEs relativos (soma na
+ * reserva, subtrai na confirmação, liberação ou expiração), sem somar stock_reservation_items a
+ * cada leitura. Pedidos e reservas travam os produtos na mesma ordem (id) antes de ler o
+ * disponível, então dois checkouts não prometem a mesma unidade.
+ *
+ * A confirmação devolve as unidades seguras e cria o pedido ({@link OrderService#create}) na
+ * mesma transação: ninguém consegue pegar as unidades entre uma coisa e outra.
+ *
+ * A reserva já aplica o limite de valor do pedido ({@link OrderService#MAX_ORDER_TOTAL}), com a
+ * mesma soma em centavos: uma reserva que o pedido recusaria não chega a segurar estoque.
+ */
+@Service
+public class StockReservationService {
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final OrderService orderService;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    public StockReservationService(StockReservationRepository reservationRepository,
+                                   ProductRepository productRepository,
+                                   OrderService orderService,
+                                   @Value("${reservations.default-ttl-seconds:600}") long defaultTtlSeconds,
+                                   @Value("${reservations.max-ttl-seconds:3600}") long maxTtlSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.orderService = orderService;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+    }
+
+    // ============================
+    // RESERVAR
+    // ============================
+    @Transactional
+    public ReservationResponseDTO reserve(CreateReservationDTO dto, String owner) {
+        // uma linha por produto, em ordem de id
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CreateOrderItemDTO item : dto.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.lockAllById(quantities.keySet())) {
+            products.put(product.getId(), product);
+        }
+
+        StockReservation reservation = new StockReservation(owner, Instant.now().plus(ttlOf(dto)));
+        long totalCents = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Long productId = entry.getKey();
+            int quantity = entry.getValue();
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ReservationRejectedException(ReservationErrorCode.PRODUCT_NOT_FOUND,
+                        "Produto não encontrado: " + productId);
+            }
+            if (product.getAvailable() < quantity) {
+                throw new ReservationRejectedException(ReservationErrorCode.INSUFFICIENT_STOCK,
+                        "Estoque insuficiente para o produto: " + product.getName());
+            }
+            reservation.addItem(productId, quantity);
+            totalCents = Math.addExact(totalCents, product.getPrice().times(quantity).cents());
+        }
+
+        // mesma regra do OrderService.create: a confirmação recusaria o pedido
+        Money total = Money.ofCents(totalCents);
+        if (total.isGreaterThan(OrderService.MAX_ORDER_TOTAL)) {
+            throw new ReservationRejectedException(ReservationErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED,
+                    "Valor máximo do pedido excedido. Total calculado: " + total);
+        }
+
+        reservationRepository.saveAndFlush(reservation);
+        reservationRepository.adjustReserved(Set.of(reservation.getId()), 1);
+        return toResponse(reservation);
+    }
+
+    // ============================
+    // CONFIRMAR (vira pedido)
+    // ============================
+    @Transactional
+    public OrderResponseDTO confirm(Long id, String owner, boolean admin) {
+        StockReservation reservation = lockOwned(id, owner, admin);
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            throw new ReservationRejectedException(ReservationErrorCode.RESERVATION_NOT_ACTIVE,
+                    "Reserva não está ativa: " + reservation.getStatus());
+        }
+        // vencida e ainda não recolhida pelo ReservationExpirer: não vale mais
+        if (reservation.getExpiresAt().isBefore(Instant.now())) {
+            throw new ReservationRejectedException(ReservationErrorCode.RESERVATION_EXPIRED,
+                    "Reserva expirada em " + reservation.getExpiresAt());
+        }
+
+        List<CreateOrderItemDTO> items = reservation.getItems().stream()
+                .map(item -> new CreateOrderItemDTO(item.getProductId(), item.getQuantity()))
+                .toList();
+
+        // devolve o que estava seguro e cria o pedido com o mesmo lock nos produtos
+        unhold(List.of(id));
+        OrderResponseDTO order = orderService.create(new CreateOrderDTO(items));
+        reservationRepository.finish(List.of(id), ReservationStatus.CONFIRMED, order.getId(), Instant.now());
+        return order;
+    }
+
+    // ============================
+    // LIBERAR
+    // ============================
+    @Transactional
+    public void release(Long id, String owner, boolean admin) {
+        StockReservation reservation = lockOwned(id, owner, admin);
+        switch (reservation.getStatus()) {
+            case CONFIRMED -> throw new ReservationRejectedException(ReservationErrorCode.RESERVATION_NOT_ACTIVE,
+                    "Reserva já confirmada no pedido " + reservation.getOrderId());
+            // já devolvida: liberar de novo não muda nada
+            case RELEASED, EXPIRED -> {
+                return;
+            }
+            case ACTIVE -> {
+                unhold(List.of(id));
+                reservationRepository.finish(List.of(id), ReservationStatus.RELEASED, null, Instant.now());
+            }
+        }
+    }
+
+    // ============================
+    // CONSULTAS
+    // ============================
+    @Transactional(readOnly = true)
+    public ReservationResponseDTO get(Long id, String owner, boolean admin) {
+        StockReservation reservation = reservationRepository.findWithItemsById(id)
+                .filter(found -> admin || found.getOwner().equals(owner))
+                .orElseThrow(() -> notFound(id));
+        return toResponse(reservation);
+    }
+
+    /**
+     * Estoque, reservado e disponível dos produtos pedidos; ids inexistentes ficam de fora.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAvailabilityDTO> availability(Collection<Long> productIds) {
+        return productRepository.findAllById(productIds).stream()
+                .map(product -> new ProductAvailabilityDTO(product.getId(), product.getStock(),
+                        product.getReserved(), product.getAvailable()))
+                .toList();
+    }
+
+    /**
+     * Subtrai de products.reserved as unidades das reservas (que o chamador já travou), travando
+     * antes os produtos em ordem de id.
+     */
+    void unhold(Collection<Long> reservationIds) {
+        reservationRepository.lockProductIds(reservationIds);
+        reservationRepository.adjustReserved(reservationIds, -1);
+    }
+
+    private Duration ttlOf(CreateReservationDTO dto) {
+        if (dto.getTtlSeconds() == null) {
+            return defaultTtl;
+        }
+        Duration requested = Duration.ofSeconds(dto.getTtlSeconds());
+        return requested.compareTo(maxTtl) > 0 ? maxTtl : requested;
+    }
+
+    // reserva de outro usuário responde como inexistente
+    private StockReservation lockOwned(Long id, String owner, boolean admin) {
+        return reservationRepository.lockWithItemsById(id)
+                .filter(found -> admin || found.getOwner().equals(owner))
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private static ReservationRejectedException notFound(Long id) {
+        return new ReservationRejectedException(ReservationErrorCode.RESERVATION_NOT_FOUND,
+                "Reserva não encontrada: " + id);
+    }
+
+    private static ReservationResponseDTO toResponse(StockReservation reservation) {
+        return new ReservationResponseDTO(reservation.getId(), reservation.getStatus(),
+                reservation.getExpiresAt(), reservation.getOrderId(),
+                reservation.getItems().stream()
+                        .map(item -> new ReservationResponseDTO.Item(item.getProductId(), item.getQuantity()))
+                        .toList());
+    }
+}
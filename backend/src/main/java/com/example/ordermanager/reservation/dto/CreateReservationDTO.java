@@ -0,0 +1,37 @@
+package com.example.ordermanager.reservation.dto;
+
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Itens a segurar (mesmo formato dos itens do pedido) e prazo opcional em segundos;
+ * sem prazo vale {@code reservations.default-ttl-seconds}.
+ */
+public class CreateReservationDTO {
+
+    @NotEmpty
+    private List<@Valid CreateOrderItemDTO> items;
+
+    @Min(1)
+    private Integer ttlSeconds;
+
+    public CreateReservationDTO() {
+    }
+
+    public CreateReservationDTO(List<CreateOrderItemDTO> items, Integer ttlSeconds) {
+        this.items = items;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public List<CreateOrderItemDTO> getItems() {
+        return items;
+    }
+
+    public Integer getTtlSeconds() {
+        return ttlSeconds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ordermanager.reservation.dto;
+
+/**
+ * Disponível para prometer: estoque menos o que está seguro por reservas ativas.
+ */
+public record ProductAvailabilityDTO(Long productId,
+                                     int stock,
+                                     int reserved,
+                                     int available) {
+}
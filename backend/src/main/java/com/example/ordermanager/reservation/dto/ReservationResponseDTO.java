@@ -0,0 +1,19 @@
+package com.example.ordermanager.reservation.dto;
+
+import com.example.ordermanager.reservation.ReservationStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reserva com status, prazo e, depois de confirmada, o pedido criado.
+ */
+public record ReservationResponseDTO(Long id,
+                                     ReservationStatus status,
+                                     Instant expiresAt,
+                                     Long orderId,
+                                     List<Item> items) {
+
+    public record Item(Long productId, Integer quantity) {
+    }
+}
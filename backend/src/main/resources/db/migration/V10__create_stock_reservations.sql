@@ -0,0 +1,34 @@
+-- Reservas de estoque do checkout: seguram unidades por um tempo (expires_at) sem criar pedido.
+-- Uma reserva tem itens (um por produto); ao confirmar vira pedido (order_id), ao liberar ou
+-- vencer devolve as unidades.
+--
+-- products.reserved é o total seguro por reservas ACTIVE, mantido a cada reserva, liberação,
+-- confirmação e expiração: disponível = stock - reserved, sem SUM sobre as reservas.
+ALTER TABLE products ADD COLUMN reserved INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    owner VARCHAR(120) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_id BIGINT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    -- job de expiração: ACTIVE com expires_at vencido, dos mais antigos para os mais novos
+    KEY idx_stock_reservations_status_expires_at (status, expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS stock_reservation_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    reservation_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+
+    CONSTRAINT fk_stock_reservation_item_reservation
+        FOREIGN KEY (reservation_id) REFERENCES stock_reservations(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_stock_reservation_item_product
+        FOREIGN KEY (product_id) REFERENCES products(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,9 @@
+-- Agregado diário de pedidos por status, mantido na mesma transação das escritas em orders.
+-- day = DATE(created_at) do pedido (no fuso da sessão MySQL).
+CREATE TABLE IF NOT EXISTS order_stats_daily (
+    day DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    total_amount DECIMAL(19,2) NOT NULL,
+    PRIMARY KEY (day, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,10 @@
+-- Outbox transacional: eventos do ciclo de vida do pedido, gravados na mesma
+-- transação da escrita em orders e drenados pelo OrderOutboxRelay.
+-- Sem FK para orders: o evento de exclusão precisa sobreviver ao pedido.
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload JSON NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
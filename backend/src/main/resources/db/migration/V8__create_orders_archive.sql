@@ -0,0 +1,34 @@
+-- Arquivo de pedidos finalizados (CONFIRMED/CANCELLED) mais antigos que a retenção,
+-- movidos de orders/order_items pelo OrderArchiver em blocos.
+--
+-- Particionar orders por created_at não é possível no MySQL: tabelas particionadas
+-- não aceitam FOREIGN KEY (order_items -> orders) e toda UNIQUE precisaria incluir
+-- created_at (order_number). Por isso a tabela quente encolhe movendo linhas para cá.
+--
+-- Sem FKs: o arquivo é autocontido (guarda o nome do produto) e sobrevive à
+-- exclusão de produtos.
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+    KEY idx_orders_archive_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(120),
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    KEY idx_order_items_archive_order (order_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Localiza candidatos ao arquivamento (status finalizado + created_at antigo)
+-- sem varrer a tabela; também atende a listagem filtrada por status.
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at);
@@ -0,0 +1,15 @@
+-- Invalidações de cache entre instâncias da aplicação: cada escrita em produtos,
+-- categorias e pedidos grava aqui as chaves afetadas (CacheInvalidations) e cada
+-- instância lê as linhas novas periodicamente (CacheInvalidationPoller) para
+-- descartar o que tem em memória. Linhas antigas são apagadas pela retenção.
+--
+-- entity_id nulo = todas as chaves do tipo (ex.: categorias).
+-- node = instância que gravou (ela já invalidou os próprios caches).
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    kind VARCHAR(16) NOT NULL,
+    entity_id BIGINT NULL,
+    node BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    KEY idx_cache_invalidations_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
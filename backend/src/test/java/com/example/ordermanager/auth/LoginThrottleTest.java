@@ -0,0 +1,109 @@
+package com.example.ordermanager.auth;
+
+import com.example.ordermanager.common.limit.LimitErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String IP = "203.0.113.7";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // janela de 60 s, 3 tentativas por IP, 2 falhas por e-mail, 1 verificação por vez
+    private final LoginThrottle throttle = new LoginThrottle(registry, true, 60, 3, 2, 1, 1024);
+
+    @Test
+    void beforeAttempt_afterMaxFailuresForEmail_rejectsWith429UntilWindowSlides() {
+        long now = 600 * SECOND;
+        fail("ana@example.com", "198.51.100.1", now);
+        fail("ANA@example.com ", "198.51.100.2", now);
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> throttle.beforeAttempt("ana@example.com", "198.51.100.3", now));
+
+        assertEquals(LimitErrorCode.RATE_LIMITED, ex.getCode());
+        // na janela seguinte as 2 falhas passam a pesar cada vez menos; logo depois do início já < 2
+        assertEquals(61, ex.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> throttle.beforeAttempt("ana@example.com", "198.51.100.3", now + 61 * SECOND));
+        assertEquals(1.0, registry.get("auth.login.throttled").tag("reason", "email").counter().count());
+    }
+
+    @Test
+    void afterAttempt_success_clearsEmailFailures() {
+        long now = 0;
+        fail("ana@example.com", "198.51.100.1", now);
+        throttle.beforeAttempt("ana@example.com", "198.51.100.2", now);
+        throttle.afterAttempt("ana@example.com", null, now);
+
+        fail("ana@example.com", "198.51.100.3", now);
+        assertDoesNotThrow(() -> throttle.beforeAttempt("ana@example.com", "198.51.100.4", now));
+    }
+
+    @Test
+    void beforeAttempt_afterMaxAttemptsFromIp_rejectsAnyEmail() {
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            fail("user" + i + "@example.com", IP, now);
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.beforeAttempt("nova@example.com", IP, now));
+        assertDoesNotThrow(() -> throttle.beforeAttempt("nova@example.com", "198.51.100.9", now));
+        assertEquals(1.0, registry.get("auth.login.throttled").tag("reason", "ip").counter().count());
+    }
+
+    @Test
+    void beforeAttempt_withoutFreeVerificationSlot_rejectsWith503() {
+        throttle.beforeAttempt("ana@example.com", IP, 0);
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> throttle.beforeAttempt("bia@example.com", "198.51.100.9", 0));
+
+        assertEquals(LimitErrorCode.OVERLOADED, ex.getCode());
+        throttle.afterAttempt("ana@example.com", null, 0);
+        assertDoesNotThrow(() -> throttle.beforeAttempt("bia@example.com", "198.51.100.9", 0));
+    }
+
+    @Test
+    void afterAttempt_infrastructureFailure_releasesSlotWithoutCountingAgainstEmail() {
+        long now = 0;
+        for (int i = 0; i < 2; i++) {
+            throttle.beforeAttempt("ana@example.com", "198.51.100." + i, now);
+            throttle.afterAttempt("ana@example.com",
+                    new InternalAuthenticationServiceException("Communications link failure"), now);
+        }
+
+        // duas falhas seriam o limite do e-mail; a vaga de verificação também foi devolvida
+        assertDoesNotThrow(() -> throttle.beforeAttempt("ana@example.com", "198.51.100.9", now));
+        assertEquals(0.0, registry.get("auth.login.failures").counter().count());
+    }
+
+    @Test
+    void isCredentialFailure_onlyForCredentialRejections() {
+        assertTrue(LoginThrottle.isCredentialFailure(new BadCredentialsException("x")));
+        assertTrue(LoginThrottle.isCredentialFailure(new UsernameNotFoundException("x")));
+        assertTrue(LoginThrottle.isCredentialFailure(new LockedException("x")));
+        assertFalse(LoginThrottle.isCredentialFailure(new InternalAuthenticationServiceException("x")));
+        assertFalse(LoginThrottle.isCredentialFailure(new AuthenticationServiceException("x")));
+        assertFalse(LoginThrottle.isCredentialFailure(new IllegalStateException("x")));
+    }
+
+    private void fail(String email, String ip, long now) {
+        throttle.beforeAttempt(email, ip, now);
+        throttle.afterAttempt(email, new BadCredentialsException("Bad credentials"), now);
+    }
+}
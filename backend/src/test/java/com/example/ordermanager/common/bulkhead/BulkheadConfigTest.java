@@ -0,0 +1,56 @@
+package com.example.ordermanager.common.bulkhead;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadConfigTest {
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void backgroundTrafficScheduler_slowJobDoesNotDelayOthers() throws Exception {
+        new BulkheadConfig().backgroundTrafficScheduler(4).customize(scheduler);
+        scheduler.initialize();
+
+        CountDownLatch releaseSlowJob = new CountDownLatch(1);
+        CountDownLatch slowJobRunning = new CountDownLatch(1);
+        CompletableFuture<TrafficClass> quickJob = new CompletableFuture<>();
+        try {
+            // ex.: um ciclo longo do arquivamento
+            scheduler.scheduleWithFixedDelay(() -> {
+                slowJobRunning.countDown();
+                awaitQuietly(releaseSlowJob);
+            }, Duration.ofMillis(10));
+            assertTrue(slowJobRunning.await(5, TimeUnit.SECONDS));
+
+            scheduler.scheduleWithFixedDelay(() -> quickJob.complete(TrafficClass.current()), Duration.ofMillis(10));
+
+            assertEquals(TrafficClass.BACKGROUND, quickJob.get(5, TimeUnit.SECONDS));
+            assertEquals(4, scheduler.getScheduledThreadPoolExecutor().getCorePoolSize());
+        } finally {
+            releaseSlowJob.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
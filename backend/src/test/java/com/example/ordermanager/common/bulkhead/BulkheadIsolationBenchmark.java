@@ -0,0 +1,167 @@
+package com.example.ordermanager.common.bulkhead;
+
+import com.example.ordermanager.OrderManagerApplication;
+import com.example.ordermanager.order.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Latência (p50/p99 no modo SampleTime) de uma leitura interativa, {@link OrderService#findById},
+ * enquanto uma "exportação" pagina a tabela de pedidos em páginas de 1000 com 16 clientes
+ * simultâneos:
+ *
+ * - {@code none}: sem exportação (referência);
+ * - {@code shared}: a exportação roda como tráfego interativo, no pool principal (como antes
+ *   dos bulkheads, quando 16 threads do Tomcat podiam ocupar as 10 conexões);
+ * - {@code bulkhead}: a exportação passa por {@link Bulkheads#bulk} (2 threads, fila de 8,
+ *   pool "bulk" de 4 conexões; quem não cabe recebe 503 e tenta de novo).
+ *
+ * Contra um MySQL real (Testcontainers, precisa de Docker).
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=BulkheadIsolation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(1)
+public class BulkheadIsolationBenchmark {
+
+    private static final int ORDERS = 50_000;
+    private static final int EXPORT_CLIENTS = 16;
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    @Param({"none", "shared", "bulkhead"})
+    private String export;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Bulkheads bulkheads;
+    private long firstOrderId;
+
+    private final AtomicBoolean exporting = new AtomicBoolean();
+    private final List<Thread> exportClients = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws InterruptedException {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false",
+                        "orders.archive.enabled=false")
+                .run();
+
+        orderService = context.getBean(OrderService.class);
+        bulkheads = context.getBean(Bulkheads.class);
+        seedOrders(context.getBean(JdbcTemplate.class));
+
+        if (!export.equals("none")) {
+            exporting.set(true);
+            for (int i = 0; i < EXPORT_CLIENTS; i++) {
+                Thread client = new Thread(this::exportLoop, "export-client-" + i);
+                client.setDaemon(true);
+                client.start();
+                exportClients.add(client);
+            }
+            // deixa as exportações ocuparem os pools antes de medir
+            Thread.sleep(2000);
+        }
+    }
+
+    @Benchmark
+    public Object interactiveFindById() {
+        return orderService.findById(firstOrderId + ThreadLocalRandom.current().nextInt(ORDERS));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws InterruptedException {
+        exporting.set(false);
+        for (Thread client : exportClients) {
+            client.join(60_000);
+        }
+        context.close();
+        mysql.stop();
+    }
+
+    private void exportLoop() {
+        int pages = ORDERS / EXPORT_PAGE_SIZE;
+        while (exporting.get()) {
+            PageRequest page = PageRequest.of(ThreadLocalRandom.current().nextInt(pages), EXPORT_PAGE_SIZE);
+            if (export.equals("shared")) {
+                orderService.findAll(null, page);
+                continue;
+            }
+            try {
+                bulkheads.bulk(() -> orderService.findAll(null, page)).join();
+            } catch (ResponseStatusException full) {
+                sleepQuietly(50);
+            }
+        }
+    }
+
+    private void seedOrders(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO products (name, price, stock, created_at, updated_at) "
+                + "VALUES ('Parafuso', 0.10, 1000000, ?, ?)", now, now);
+        long productId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+
+        List<Object[]> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(new Object[]{"BENCH-" + i, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_number, status, total_amount, created_at, updated_at) "
+                + "VALUES (?, 'PENDING', 0.20, ?, ?)", orders);
+        firstOrderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+
+        jdbcTemplate.update("INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) "
+                + "SELECT id, ?, 2, 0.10, 0.20 FROM orders", productId);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
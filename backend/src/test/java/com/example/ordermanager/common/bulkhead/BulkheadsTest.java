@@ -0,0 +1,76 @@
+package com.example.ordermanager.common.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Bulkheads bulkheads;
+
+    @AfterEach
+    void tearDown() {
+        if (bulkheads != null) {
+            bulkheads.shutdown();
+        }
+    }
+
+    @Test
+    void bulk_runsOnBulkThreadAsBulkTraffic() throws Exception {
+        bulkheads = new Bulkheads(registry, 1, 1);
+
+        CompletableFuture<String> result = bulkheads.bulk(
+                () -> Thread.currentThread().getName() + ":" + TrafficClass.current());
+
+        assertEquals("bulk-1:BULK", result.get(5, TimeUnit.SECONDS));
+        assertEquals(TrafficClass.INTERACTIVE, TrafficClass.current());
+    }
+
+    @Test
+    void bulk_whenThreadsAndQueueAreBusy_rejectsWith503() throws Exception {
+        bulkheads = new Bulkheads(registry, 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = bulkheads.bulk(() -> awaitQuietly(release));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> bulkheads.bulk(() -> true));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertEquals(1.0, registry.get("bulkhead.rejected").counter().count());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void bulk_withoutThreads_runsInlineAndPropagatesFailure() {
+        bulkheads = new Bulkheads(registry, 0, 0);
+
+        CompletableFuture<TrafficClass> traffic = bulkheads.bulk(TrafficClass::current);
+        CompletableFuture<Object> failed = bulkheads.bulk(() -> {
+            throw new IllegalStateException("falhou");
+        });
+
+        assertEquals(TrafficClass.BULK, traffic.join());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(TrafficClass.INTERACTIVE, TrafficClass.current());
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
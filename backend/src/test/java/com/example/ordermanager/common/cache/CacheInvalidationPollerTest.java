@@ -0,0 +1,76 @@
+package com.example.ordermanager.common.cache;
+
+import com.example.ordermanager.common.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * O poller tem thread própria: um job longo no scheduler dos {@code @Scheduled} não atrasa a
+ * leitura de cache_invalidations.
+ */
+class CacheInvalidationPollerTest {
+
+    private final CacheInvalidations invalidations = mock(CacheInvalidations.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ThreadPoolTaskScheduler sharedScheduler = new ThreadPoolTaskScheduler();
+    private CacheInvalidationPoller poller;
+
+    @AfterEach
+    void tearDown() {
+        if (poller != null) {
+            poller.stop();
+        }
+        sharedScheduler.shutdown();
+    }
+
+    @Test
+    void start_slowJobOnSharedScheduler_doesNotDelayPolling() throws Exception {
+        when(invalidations.enabled()).thenReturn(true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenReturn(List.of());
+
+        // scheduler compartilhado com uma thread (o padrão do Boot), ocupado por um ciclo longo
+        new BulkheadConfig().backgroundTrafficScheduler(1).customize(sharedScheduler);
+        sharedScheduler.initialize();
+        CountDownLatch releaseSlowJob = new CountDownLatch(1);
+        CountDownLatch slowJobRunning = new CountDownLatch(1);
+        sharedScheduler.scheduleWithFixedDelay(() -> {
+            slowJobRunning.countDown();
+            try {
+                releaseSlowJob.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Duration.ofMillis(10));
+        try {
+            assertTrue(slowJobRunning.await(5, TimeUnit.SECONDS));
+
+            poller = new CacheInvalidationPoller(invalidations, jdbcTemplate, new SimpleMeterRegistry(),
+                    1000, 60_000, 3_600_000, 10);
+            poller.start();
+
+            // primeiro ciclo lê o maior id; os seguintes (a cada 10 ms) consultam as linhas novas
+            verify(jdbcTemplate, timeout(2000).atLeast(3)).query(anyString(), any(RowMapper.class), any(), any());
+        } finally {
+            releaseSlowJob.countDown();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ordermanager.common.cache;
+
+import com.example.ordermanager.OrderManagerApplication;
+import com.example.ordermanager.common.catalog.CatalogVersion;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRejectedException;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.product.ProductService;
+import com.example.ordermanager.product.ProductSuggestionIndex;
+import com.example.ordermanager.product.dto.ProductDTO;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Duas instâncias da aplicação no mesmo MySQL: o contexto do teste (esta instância) e
+ * {@code otherNode}, subido à parte. Escritas feitas aqui precisam invalidar os caches em
+ * memória de lá dentro do intervalo do poller.
+ */
+class CacheInvalidationTest extends IntegrationTestBase {
+
+    private static final long MISSING_ID = 900_000_001L;
+    private static final long MAX_WAIT_MILLIS = 5_000;
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @DynamicPropertySource
+    static void registerCacheProperties(DynamicPropertyRegistry registry) {
+        registry.add("cache.invalidation.poll-interval", () -> "100");
+        registry.add("lookup.negative-ttl-ms", () -> "600000");
+    }
+
+    @BeforeAll
+    static void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + MYSQL.getJdbcUrl(),
+                        "spring.datasource.username=" + MYSQL.getUsername(),
+                        "spring.datasource.password=" + MYSQL.getPassword(),
+                        "orders.outbox.relay-enabled=false",
+                        "orders.archive.enabled=false",
+                        "cache.invalidation.poll-interval=100",
+                        "lookup.negative-ttl-ms=600000")
+                .run();
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        otherNode.close();
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheInvalidations cacheInvalidations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void productWrittenHere_isRefreshedInOtherNodeCatalogAndSuggestions() {
+        CatalogVersion otherCatalog = otherNode.getBean(CatalogVersion.class);
+        ProductSuggestionIndex otherIndex = otherNode.getBean(ProductSuggestionIndex.class);
+
+        Product product = productService.create(productDTO("Teclado Sem Fio"));
+        awaitOnOtherNode(() -> suggests(otherIndex, "teclado sem", product.getId()));
+
+        String etagBefore = otherCatalog.collectionETag();
+        productService.update(product.getId(), productDTO("Monitor Curvo"));
+
+        awaitOnOtherNode(() -> !otherCatalog.collectionETag().equals(etagBefore)
+                && suggests(otherIndex, "monitor curvo", product.getId())
+                && !suggests(otherIndex, "teclado sem", product.getId()));
+
+        productService.delete(product.getId());
+        awaitOnOtherNode(() -> !suggests(otherIndex, "monitor curvo", product.getId()));
+    }
+
+    @Test
+    void notFoundCachedInOtherNode_isForgottenWhenProductAppearsHere() {
+        ProductService otherProductService = otherNode.getBean(ProductService.class);
+        assertThrows(ProductRejectedException.class, () -> otherProductService.getResponse(MISSING_ID));
+
+        // id escolhido pelo teste: grava direto e avisa como faria uma escrita desta instância
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock, created_at, updated_at) "
+                + "VALUES (?, 'Aparece depois', 1.00, 1, NOW(6), NOW(6))", MISSING_ID);
+        // o 404 continua guardado lá até a invalidação chegar
+        assertThrows(ProductRejectedException.class, () -> otherProductService.getResponse(MISSING_ID));
+        cacheInvalidations.productChanged(MISSING_ID);
+
+        awaitOnOtherNode(() -> {
+            try {
+                return otherProductService.getResponse(MISSING_ID).getId() == MISSING_ID;
+            } catch (ProductRejectedException stillCached) {
+                return false;
+            }
+        });
+    }
+
+    private static boolean suggests(ProductSuggestionIndex index, String prefix, Long id) {
+        return index.suggest(prefix, 10).stream().anyMatch(s -> s.id().equals(id));
+    }
+
+    private static void awaitOnOtherNode(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + MAX_WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "invalidação não chegou à outra instância");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static ProductDTO productDTO(String name) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setPrice(new BigDecimal("10.00"));
+        dto.setStock(1);
+        return dto;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ordermanager.common.catalog;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogVersionTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion(100);
+
+    @Test
+    void productChanged_withoutTransaction_bumpsCollectionETagAndForgetsProduct() {
+        String before = catalogVersion.collectionETag();
+        catalogVersion.rememberProductETag(1L, "\"p1\"", catalogVersion.current());
+
+        catalogVersion.productChanged(1L);
+
+        assertTrue(before.startsWith("W/\""));
+        assertNotEquals(before, catalogVersion.collectionETag());
+        assertNull(catalogVersion.knownProductETag(1L));
+    }
+
+    @Test
+    void productChanged_insideTransaction_waitsForCommit() {
+        String before = catalogVersion.collectionETag();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogVersion.productChanged(1L);
+            assertEquals(before, catalogVersion.collectionETag());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertNotEquals(before, catalogVersion.collectionETag());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rememberProductETag_afterConcurrentWrite_isDiscarded() {
+        long versionBeforeLoad = catalogVersion.current();
+        catalogVersion.productChanged(2L);
+
+        catalogVersion.rememberProductETag(1L, "\"p1\"", versionBeforeLoad);
+
+        assertNull(catalogVersion.knownProductETag(1L));
+    }
+
+    @Test
+    void etags_sameVersionOnAnotherInstance_doNotMatch() {
+        CatalogVersion otherInstance = new CatalogVersion(100);
+        ProductResponseDTO product = new ProductResponseDTO(1L, "Teclado", Money.parse("10.00"), 5,
+                1L, "Periféricos", Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T00:00:00.5Z"));
+
+        assertEquals(catalogVersion.current(), otherInstance.current());
+        assertNotEquals(catalogVersion.collectionETag(), otherInstance.collectionETag());
+        assertNotEquals(catalogVersion.productETag(product), otherInstance.productETag(product));
+    }
+
+    @Test
+    void categoriesChanged_changesProductETagAndClearsKnownOnes() {
+        ProductResponseDTO product = new ProductResponseDTO(1L, "Teclado", Money.parse("10.00"), 5,
+                1L, "Periféricos", Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T00:00:00.5Z"));
+        String before = catalogVersion.productETag(product);
+        catalogVersion.rememberProductETag(1L, before, catalogVersion.current());
+
+        catalogVersion.categoriesChanged();
+
+        assertNotEquals(before, catalogVersion.productETag(product));
+        assertNull(catalogVersion.knownProductETag(1L));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.ordermanager.common.db;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * O provider do caminho AOT acha as mesmas migrations que estão em src/main/resources, com o
+ * caminho relativo e o conteúdo que o scanner padrão do Flyway daria.
+ */
+class MigrationResourceProviderTest {
+
+    private static final Path MIGRATIONS = Path.of("src/main/resources/db/migration");
+
+    @Test
+    void getResources_classpathLocation_listsEveryVersionedMigration() throws IOException {
+        MigrationResourceProvider provider = provider("classpath:db/migration");
+
+        List<String> found = provider.getResources("V", new String[]{".sql"}).stream()
+                .map(LoadableResource::getRelativePath)
+                .sorted()
+                .toList();
+
+        assertEquals(filesOnDisk(), found);
+        LoadableResource init = provider.getResource("V1__init.sql");
+        assertEquals("V1__init.sql", init.getFilename());
+        assertEquals(Files.readString(MIGRATIONS.resolve("V1__init.sql")), content(init));
+        assertNull(provider.getResource("V999__nao_existe.sql"));
+    }
+
+    @Test
+    void getResources_filesystemLocation_keepsSubdirectoryInRelativePath(@TempDir Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("extra"));
+        Files.writeString(dir.resolve("V1__a.sql"), "SELECT 1;");
+        Files.writeString(dir.resolve("extra/V2__b.sql"), "SELECT 2;");
+        Files.writeString(dir.resolve("README.txt"), "não é migration");
+
+        MigrationResourceProvider provider = provider("filesystem:" + dir);
+
+        assertEquals(List.of("V1__a.sql", "extra/V2__b.sql"), provider.getResources("V", new String[]{".sql"}).stream()
+                .map(LoadableResource::getRelativePath)
+                .toList());
+        assertEquals("V2__b.sql", provider.getResource("extra/V2__b.sql").getFilename());
+    }
+
+    @Test
+    void aotCompatibleFlywayScanner_withAotEnabled_installsProvider() throws IOException {
+        FluentConfiguration configuration = Flyway.configure().locations("classpath:db/migration");
+        System.setProperty("spring.aot.enabled", "true");
+        try {
+            new FlywayConfig().aotCompatibleFlywayScanner().customize(configuration);
+        } finally {
+            System.clearProperty("spring.aot.enabled");
+        }
+
+        assertInstanceOf(MigrationResourceProvider.class, configuration.getResourceProvider());
+        assertEquals(filesOnDisk().size(),
+                configuration.getResourceProvider().getResources("V", new String[]{".sql"}).size());
+    }
+
+    @Test
+    void aotCompatibleFlywayScanner_withoutAot_keepsFlywayDefault() {
+        FluentConfiguration configuration = Flyway.configure();
+
+        new FlywayConfig().aotCompatibleFlywayScanner().customize(configuration);
+
+        assertNull(configuration.getResourceProvider());
+    }
+
+    private static MigrationResourceProvider provider(String location) {
+        return new MigrationResourceProvider(List.of(new Location(location)),
+                MigrationResourceProviderTest.class.getClassLoader(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> filesOnDisk() throws IOException {
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("V") && name.endsWith(".sql"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String content(LoadableResource resource) throws IOException {
+        try (Reader reader = resource.read()) {
+            StringBuilder text = new StringBuilder();
+            char[] buffer = new char[4096];
+            for (int n; (n = reader.read(buffer)) > 0; ) {
+                text.append(buffer, 0, n);
+            }
+            return text.toString();
+        }
+    }
+}
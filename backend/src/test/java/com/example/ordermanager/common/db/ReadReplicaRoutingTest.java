@@ -0,0 +1,135 @@
+package com.example.ordermanager.common.db;
+
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.product.ProductService;
+import com.example.ordermanager.product.dto.ProductDTO;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Primário (container do IntegrationTestBase) + um segundo MySQL fazendo papel de réplica.
+ * Não há replicação real entre eles: cada um tem dados próprios, o que permite
+ * ver para onde cada leitura foi roteada.
+ */
+class ReadReplicaRoutingTest extends IntegrationTestBase {
+
+    static final MySQLContainer<?> REPLICA;
+
+    static {
+        REPLICA = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        REPLICA.start();
+
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void registerReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("datasource.replica.username", REPLICA::getUsername);
+        registry.add("datasource.replica.password", REPLICA::getPassword);
+        // o teste controla a saúde da réplica manualmente
+        registry.add("datasource.replica.lag-check-interval", () -> "3600000");
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        executeOnReplica("DELETE FROM products");
+        executeOnReplica("INSERT INTO products (name, price, stock, created_at, updated_at) "
+                + "VALUES ('Somente na replica', 1.00, 1, NOW(6), NOW(6))");
+        replicaLagMonitor.recordLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyList_isServedByReplica() {
+        assertEquals(1, countByName("Somente na replica"));
+    }
+
+    @Test
+    void readAfterWrite_sameUserReadsFromPrimary_otherUserFromReplica() {
+        authenticate("alice@test.com");
+        productService.create(productDTO("Escrito pela Alice"));
+
+        assertEquals(1, countByName("Escrito pela Alice"));
+        assertEquals(0, countByName("Somente na replica"));
+
+        authenticate("bob@test.com");
+        assertEquals(0, countByName("Escrito pela Alice"));
+        assertEquals(1, countByName("Somente na replica"));
+    }
+
+    @Test
+    void laggingReplica_readsFallBackToPrimary() {
+        replicaLagMonitor.recordLag(60);
+
+        assertEquals(0, countByName("Somente na replica"));
+
+        replicaLagMonitor.recordLag(0);
+        assertEquals(1, countByName("Somente na replica"));
+    }
+
+    private long countByName(String name) {
+        return productService.list(name, PageRequest.of(0, 10)).getTotalElements();
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static ProductDTO productDTO(String name) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setPrice(new BigDecimal("10.00"));
+        dto.setStock(1);
+        return dto;
+    }
+
+    private static void executeOnReplica(String sql) throws Exception {
+        try (Connection con = DriverManager.getConnection(
+                REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword());
+             Statement st = con.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
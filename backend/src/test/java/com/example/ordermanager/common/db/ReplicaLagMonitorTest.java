@@ -0,0 +1,101 @@
+package com.example.ordermanager.common.db;
+
+import com.example.ordermanager.common.bulkhead.BulkheadConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * O monitor mede o atraso na própria thread, e uma medição antiga deixa de valer.
+ */
+class ReplicaLagMonitorTest {
+
+    private final DataSource replica = mock(DataSource.class);
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(true, 5000);
+    private final ThreadPoolTaskScheduler sharedScheduler = new ThreadPoolTaskScheduler();
+    private ReplicaLagMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+        sharedScheduler.shutdown();
+    }
+
+    @Test
+    void recordLag_noNewReadingFor2Intervals_replicaUnhealthy() throws Exception {
+        monitor = new ReplicaLagMonitor(replica, routing, 5, 20);
+
+        monitor.recordLag(0);
+        assertTrue(routing.isReplicaHealthy());
+
+        Thread.sleep(100);
+        assertFalse(routing.isReplicaHealthy());
+
+        monitor.recordLag(0);
+        assertTrue(routing.isReplicaHealthy());
+    }
+
+    @Test
+    void recordLag_aboveLimit_replicaUnhealthy() {
+        monitor = new ReplicaLagMonitor(replica, routing, 5, 60_000);
+
+        monitor.recordLag(6);
+        assertFalse(routing.isReplicaHealthy());
+
+        monitor.recordLag(-1);
+        assertFalse(routing.isReplicaHealthy());
+    }
+
+    @Test
+    void start_slowJobOnSharedScheduler_doesNotDelayCheck() throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        // scheduler compartilhado com uma thread (o padrão do Boot), ocupado por um ciclo longo
+        new BulkheadConfig().backgroundTrafficScheduler(1).customize(sharedScheduler);
+        sharedScheduler.initialize();
+        CountDownLatch releaseSlowJob = new CountDownLatch(1);
+        CountDownLatch slowJobRunning = new CountDownLatch(1);
+        sharedScheduler.scheduleWithFixedDelay(() -> {
+            slowJobRunning.countDown();
+            try {
+                releaseSlowJob.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Duration.ofMillis(10));
+        try {
+            assertTrue(slowJobRunning.await(5, TimeUnit.SECONDS));
+
+            monitor = new ReplicaLagMonitor(replica, routing, 5, 10);
+            monitor.start();
+
+            verify(replica, timeout(2000).atLeast(3)).getConnection();
+        } finally {
+            releaseSlowJob.countDown();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ordermanager.common.db;
+
+import com.example.ordermanager.common.db.SchemaVersionCheck.AppliedVersion;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SchemaVersionCheckTest {
+
+    private static final MigrationVersion V8 = MigrationVersion.fromVersion("8");
+
+    @Test
+    void latestVersion_comparesNumericallyAndIgnoresOtherFiles() {
+        MigrationVersion latest = SchemaVersionCheck.latestVersion(List.of(
+                "V1__create_users.sql", "V10__x.sql", "V9_1__y.sql", "R__views.sql", "README.md"));
+
+        assertEquals(MigrationVersion.fromVersion("10"), latest);
+        assertNull(SchemaVersionCheck.latestVersion(List.of("R__views.sql")));
+    }
+
+    @Test
+    void evaluate_schemaAtOrAheadOfBuild_isUp() {
+        assertEquals(Status.UP, SchemaVersionCheck.evaluate(V8, List.of(
+                new AppliedVersion("1", true), new AppliedVersion("8", true))).getStatus());
+        assertEquals(Status.UP, SchemaVersionCheck.evaluate(V8, List.of(
+                new AppliedVersion("8", true), new AppliedVersion("9", true))).getStatus());
+    }
+
+    @Test
+    void evaluate_schemaBehindBuild_isDown() {
+        assertEquals(Status.DOWN, SchemaVersionCheck.evaluate(V8, List.of(
+                new AppliedVersion("1", true), new AppliedVersion("7", true))).getStatus());
+        assertEquals(Status.DOWN, SchemaVersionCheck.evaluate(V8, List.of()).getStatus());
+    }
+
+    @Test
+    void evaluate_failedMigrationInHistory_isDown() {
+        assertEquals(Status.DOWN, SchemaVersionCheck.evaluate(V8, List.of(
+                new AppliedVersion("8", true), new AppliedVersion("9", false))).getStatus());
+    }
+}
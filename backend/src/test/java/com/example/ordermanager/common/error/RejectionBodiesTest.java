@@ -0,0 +1,32 @@
+package com.example.ordermanager.common.error;
+
+import com.example.ordermanager.order.OrderErrorCode;
+import com.example.ordermanager.order.OrderRejectedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RejectionBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void render_producesStatusCodeAndEscapedMessage() throws Exception {
+        byte[] body = RejectionBodies.render(OrderErrorCode.INSUFFICIENT_STOCK,
+                "Estoque insuficiente para o produto: Monitor 24\"");
+
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals(409, json.get("status").asInt());
+        assertEquals("INSUFFICIENT_STOCK", json.get("code").asText());
+        assertEquals("Estoque insuficiente para o produto: Monitor 24\"", json.get("error").asText());
+    }
+
+    @Test
+    void rejection_hasNoStackTrace() {
+        OrderRejectedException ex = new OrderRejectedException(OrderErrorCode.ORDER_NOT_FOUND, "Pedido não encontrado");
+
+        assertEquals(0, ex.getStackTrace().length);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ordermanager.common.error;
+
+import com.example.ordermanager.order.OrderErrorCode;
+import com.example.ordermanager.order.OrderRejectedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caminho de uma recusa de estoque, do throw até os bytes da resposta.
+ *
+ * - before: IllegalStateException com stack + HashMap serializado pelo ObjectMapper (como era);
+ * - after: OrderRejectedException sem stack + {@link RejectionBodies}.
+ *
+ * {@code depth} simula a profundidade da pilha até o service (filtros, proxies, controller).
+ * Referência (JDK 17, depth=100): ~127 mil ops/s antes, ~268 mil ops/s depois.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=RejectionPath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectionPathBenchmark {
+
+    @Param({"100"})
+    private int depth;
+
+    private ObjectMapper objectMapper;
+    private final String productName = "Monitor 24";
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] before() throws Exception {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (IllegalStateException ex) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("status", 409);
+            body.put("error", ex.getMessage());
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+
+    @Benchmark
+    public byte[] after() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (BusinessRejectionException ex) {
+            return RejectionBodies.render(ex.getCode(), ex.getMessage());
+        }
+    }
+
+    private void throwAt(int remaining, boolean stackless) {
+        if (remaining > 0) {
+            throwAt(remaining - 1, stackless);
+            return;
+        }
+        String message = "Estoque insuficiente para o produto: " + productName;
+        if (stackless) {
+            throw new OrderRejectedException(OrderErrorCode.INSUFFICIENT_STOCK, message);
+        }
+        throw new IllegalStateException(message);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ordermanager.common.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = 100;
+
+    @Test
+    void tryAcquire_beyondLimit_isRejectedUntilRelease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(TARGET, false);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    void release_slowOrOverloaded_shrinksLimitDownToMin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, TARGET, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(TARGET + 1, false);
+        assertEquals(4, limiter.limit());
+
+        limiter.tryAcquire();
+        limiter.release(1, true);
+        assertEquals(2, limiter.limit());
+
+        limiter.tryAcquire();
+        limiter.release(TARGET + 1, false);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void release_fastWithLimitInUse_growsLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 3, TARGET, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(TARGET, false);
+        assertEquals(3, limiter.limit());
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(TARGET, false);
+        assertEquals(3, limiter.limit());
+    }
+
+    @Test
+    void release_fastButMostlyIdle_keepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, TARGET, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(1, false);
+
+        assertEquals(10, limiter.limit());
+    }
+}
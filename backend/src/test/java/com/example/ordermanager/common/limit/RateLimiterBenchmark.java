@@ -0,0 +1,63 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.auth.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link RateLimiter#tryAcquire} por requisição (a meta é ficar abaixo de 1 µs),
+ * com 8 threads:
+ *
+ * - {@code users=1}: todas as threads no mesmo balde (pior caso de disputa no CAS; quase
+ *   tudo recusado);
+ * - {@code users=10000}: usuários sorteados, baldes espalhados pelo mapa.
+ *
+ * Sem banco.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=RateLimiter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    private int users;
+
+    private RateLimiter limiter;
+    private String[] subjects;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(new SimpleMeterRegistry(), true, 100_000,
+                "10,20", "20,40", "10,20", "50,100", "50,100", "50,100");
+        subjects = new String[users];
+        for (int i = 0; i < users; i++) {
+            subjects[i] = "user" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        String subject = subjects[ThreadLocalRandom.current().nextInt(users)];
+        return limiter.tryAcquire(subject, UserRole.USER, RateLimitGroup.ORDERS_READ);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.auth.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RateLimiter limiter(int maxUsers) {
+        // USER lê pedidos a 1/s com rajada 2; ADMIN a 10/s com rajada 5
+        return new RateLimiter(registry, true, maxUsers, "1,2", "20,40", "10,20", "10,5", "50,100", "50,100");
+    }
+
+    @Test
+    void tryAcquire_burstThenRefillsAtRate() {
+        RateLimiter limiter = limiter(10);
+        long now = 1_000 * SECOND;
+
+        assertEquals(1, limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now));
+        assertEquals(0, limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now));
+        long rejected = limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now);
+        assertEquals(-SECOND, rejected);
+
+        // um segundo depois, uma ficha de volta
+        assertEquals(0, limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now + SECOND));
+        assertEquals(1.0, registry.get("rate.limiter.rejected").tag("group", "orders-read").counter().count());
+    }
+
+    @Test
+    void tryAcquire_separateBucketsPerUserAndGroup_andLimitsPerRole() {
+        RateLimiter limiter = limiter(10);
+        long now = 0;
+
+        limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now);
+        limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now);
+
+        assertTrue(limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now) < 0);
+        assertEquals(39, limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.READ, now));
+        assertEquals(1, limiter.tryAcquire("bia@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now));
+        assertEquals(4, limiter.tryAcquire("root@example.com", UserRole.ADMIN, RateLimitGroup.ORDERS_READ, now));
+    }
+
+    @Test
+    void evictIdle_dropsOnlyFullBuckets() {
+        RateLimiter limiter = limiter(10);
+        long now = 0;
+        limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now);
+        limiter.tryAcquire("bia@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, now + SECOND / 2);
+
+        limiter.evictIdle(now + SECOND);
+
+        assertEquals(1, limiter.bucketCount());
+    }
+
+    @Test
+    void tryAcquire_whenMapIsFull_letsNewUsersThroughAndCountsOverflow() {
+        RateLimiter limiter = limiter(1);
+        limiter.tryAcquire("ana@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2, limiter.tryAcquire("bia@example.com", UserRole.USER, RateLimitGroup.ORDERS_READ, 0));
+        }
+
+        assertEquals(1, limiter.bucketCount());
+        assertEquals(5.0, registry.get("rate.limiter.overflow").counter().count());
+    }
+
+    @Test
+    void constructor_withMalformedLimit_fails() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new RateLimiter(registry, true, 10, "10", "20,40", "10,20", "50,100", "50,100", "50,100"));
+    }
+
+    @Test
+    void groupOf_classifiesByMethodAndPath() {
+        assertEquals(RateLimitGroup.ORDERS_READ, RateLimitGroup.of("GET", "/api/orders"));
+        assertEquals(RateLimitGroup.ORDERS_READ, RateLimitGroup.of("GET", "/api/orders/42"));
+        assertEquals(RateLimitGroup.READ, RateLimitGroup.of("GET", "/api/products"));
+        assertEquals(RateLimitGroup.WRITE, RateLimitGroup.of("POST", "/api/orders"));
+        assertEquals(null, RateLimitGroup.of("GET", "/actuator/health"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.ordermanager.common.limit;
+
+import com.example.ordermanager.OrderManagerApplication;
+import com.example.ordermanager.auth.TokenService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Goodput de POST /api/orders sob sobrecarga: 128 clientes HTTP sem pausa contra uma instância
+ * com 10 conexões no pool, com e sem o limite adaptativo de escritas.
+ *
+ * Para cada requisição conta em {@code good} as que criaram o pedido (201) dentro do SLO de
+ * 500 ms, em {@code slow} as 201 fora do SLO, em {@code shed} as recusadas com 503 pelo
+ * limitador e em {@code failed} o resto (ex.: 500 por timeout do Hikari). O número que
+ * interessa é {@code good} por segundo.
+ *
+ * Contra um MySQL real (Testcontainers, precisa de Docker), com a API subindo numa porta local.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=WriteOverload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(128)
+@Fork(1)
+public class WriteOverloadBenchmark {
+
+    private static final long SLO_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int PRODUCTS = 20;
+
+    @Param({"false", "true"})
+    private boolean limiter;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI ordersUri;
+    private String authorization;
+    private long firstProductId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false",
+                        "orders.archive.enabled=false",
+                        "write-limiter.enabled=" + limiter)
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, created_at, updated_at) "
+                + "VALUES ('Bench', 'bench@example.com', 'x', 'USER', ?, ?)", now, now);
+        for (int i = 0; i < PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO products (name, price, stock, created_at, updated_at) "
+                    + "VALUES (?, 1.00, 100000000, ?, ?)", "Produto " + i, now, now);
+        }
+        firstProductId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        ordersUri = URI.create("http://localhost:" + port + "/api/orders");
+        authorization = "Bearer " + context.getBean(TokenService.class).generateToken("bench@example.com");
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long good;
+        public long slow;
+        public long shed;
+        public long failed;
+    }
+
+    @Benchmark
+    public void createOrder(Outcomes outcomes) throws Exception {
+        long productId = firstProductId + ThreadLocalRandom.current().nextInt(PRODUCTS);
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}"))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long elapsed = System.nanoTime() - start;
+
+        if (response.statusCode() == 201) {
+            if (elapsed <= SLO_NANOS) {
+                outcomes.good++;
+            } else {
+                outcomes.slow++;
+            }
+        } else if (response.statusCode() == 503) {
+            outcomes.shed++;
+            // cliente educado: respeita o Retry-After (1 s) em vez de martelar
+            Thread.sleep(1000);
+        } else {
+            outcomes.failed++;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mysql.stop();
+    }
+}
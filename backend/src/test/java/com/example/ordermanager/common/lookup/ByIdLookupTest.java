@@ -0,0 +1,132 @@
+package com.example.ordermanager.common.lookup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByIdLookupTest {
+
+    private static final int CALLERS = 16;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ByIdLookup<String> lookup(long negativeTtlMillis) {
+        return new ByIdLookup<>("test", registry, negativeTtlMillis, 100, () -> false);
+    }
+
+    @Test
+    void find_concurrentCallsForSameId_shareOneLoad() throws Exception {
+        ByIdLookup<String> lookup = lookup(0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            Future<Optional<String>> leader = pool.submit(() -> lookup.find(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return Optional.of("pedido 1");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Future<Optional<String>>> followers = new ArrayList<>();
+            for (int i = 1; i < CALLERS; i++) {
+                followers.add(pool.submit(() -> lookup.find(1L, () -> {
+                    loads.incrementAndGet();
+                    return Optional.of("consulta duplicada");
+                })));
+            }
+            // espera todos se juntarem à consulta em andamento antes de liberá-la
+            while (registry.get("lookup.requests").tag("result", "coalesced").counter().count() < CALLERS - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals(Optional.of("pedido 1"), leader.get(5, TimeUnit.SECONDS));
+            for (Future<Optional<String>> follower : followers) {
+                assertEquals(Optional.of("pedido 1"), follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1.0, registry.get("lookup.requests").tag("result", "loaded").counter().count());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // terminada a consulta, a próxima busca vai ao banco de novo (resultado encontrado não fica guardado)
+        lookup.find(1L, () -> Optional.of("pedido 1 " + loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void find_failureIsPropagatedToLeaderAndNotCached() {
+        ByIdLookup<String> lookup = lookup(60_000);
+
+        assertThrows(IllegalStateException.class, () -> lookup.find(1L, () -> {
+            throw new IllegalStateException("banco fora");
+        }));
+
+        assertEquals(Optional.of("ok"), lookup.find(1L, () -> Optional.of("ok")));
+    }
+
+    @Test
+    void find_notFound_isCachedUntilInvalidated() {
+        ByIdLookup<String> lookup = lookup(60_000);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Optional.empty(), lookup.find(404L, () -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            }));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(4.0, registry.get("lookup.requests").tag("result", "negative-hit").counter().count());
+
+        lookup.invalidate(404L);
+
+        assertEquals(Optional.of("criado"), lookup.find(404L, () -> Optional.of("criado")));
+    }
+
+    @Test
+    void find_notFoundLoadedBeforeInvalidation_isNotCached() {
+        ByIdLookup<String> lookup = lookup(60_000);
+
+        // o id é criado (e invalidado) enquanto a consulta que não o encontrou ainda está rodando
+        lookup.find(7L, () -> {
+            lookup.invalidate(7L);
+            return Optional.empty();
+        });
+
+        assertEquals(Optional.of("criado"), lookup.find(7L, () -> Optional.of("criado")));
+    }
+
+    @Test
+    void find_bypass_alwaysLoads() {
+        ByIdLookup<String> lookup = new ByIdLookup<>("test", registry, 60_000, 100, () -> true);
+
+        lookup.find(404L, Optional::empty);
+        assertEquals(Optional.of("primário"), lookup.find(404L, () -> Optional.of("primário")));
+        assertEquals(2.0, registry.get("lookup.requests").tag("result", "bypassed").counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ordermanager.common.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void of_roundsHalfUpToCents() {
+        assertEquals(1999, Money.of(new BigDecimal("19.99")).cents());
+        assertEquals(1000, Money.of(new BigDecimal("9.995")).cents());
+        assertEquals(1050, Money.of(new BigDecimal("10.5")).cents());
+    }
+
+    @Test
+    void arithmetic_staysInCents() {
+        Money total = Money.parse("250.00").times(2).plus(Money.parse("150.00").times(1));
+
+        assertEquals(Money.parse("650.00"), total);
+        assertEquals("650.00", total.toString());
+        assertEquals(new BigDecimal("650.00"), total.toBigDecimal());
+    }
+
+    @Test
+    void toString_keepsTwoDecimalsForSmallAndNegativeValues() {
+        assertEquals("0.05", Money.ofCents(5).toString());
+        assertEquals("-0.05", Money.ofCents(-5).toString());
+        assertEquals("-12.30", Money.ofCents(-1230).toString());
+    }
+
+    @Test
+    void times_onOverflow_throws() {
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE / 2).times(3));
+    }
+
+    @Test
+    void json_matchesBigDecimalWireFormat() throws Exception {
+        String money = objectMapper.writeValueAsString(Map.of("total", Money.parse("650.00")));
+        String decimal = objectMapper.writeValueAsString(Map.of("total", new BigDecimal("650.00")));
+
+        assertEquals(decimal, money);
+        assertEquals(Money.parse("19.90"), objectMapper.readValue("19.9", Money.class));
+        assertEquals(Money.parse("19.90"), objectMapper.readValue("\"19.90\"", Money.class));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ordermanager.common.warmup;
+
+import com.example.ordermanager.auth.TokenService;
+import com.example.ordermanager.common.db.ReadWriteRoutingDataSource;
+import com.example.ordermanager.order.OrderErrorCode;
+import com.example.ordermanager.order.OrderRejectedException;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.product.ProductErrorCode;
+import com.example.ordermanager.product.ProductRejectedException;
+import com.example.ordermanager.product.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WarmUpRunnerTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final TokenService tokenService = mock(TokenService.class);
+    private final ReadWriteRoutingDataSource routing = mock(ReadWriteRoutingDataSource.class);
+
+    private WarmUpRunner runner(boolean enabled, int iterations) {
+        return new WarmUpRunner(orderService, productService, tokenService, new ObjectMapper(), routing,
+                new SimpleMeterRegistry(), enabled, iterations, 10_000);
+    }
+
+    @Test
+    void run_disabled_doesNothing() {
+        runner(false, 10).run(null);
+
+        verifyNoInteractions(orderService, productService, tokenService, routing);
+    }
+
+    @Test
+    void run_enabled_callsOnlyReadPathsUpToIterationCount() {
+        when(routing.getResolvedDataSources()).thenReturn(Map.of());
+        when(orderService.findAll(any(), any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(productService.list(any(), any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+        when(productService.suggest(anyString(), anyInt())).thenReturn(List.of());
+        when(productService.getResponse(-1L)).thenThrow(
+                new ProductRejectedException(ProductErrorCode.PRODUCT_NOT_FOUND, "Product not found"));
+        when(orderService.create(any())).thenThrow(
+                new OrderRejectedException(OrderErrorCode.PRODUCT_NOT_FOUND, "Produto não encontrado: -1"));
+        when(tokenService.generateToken(anyString())).thenReturn("jwt");
+        when(tokenService.getEmailFromToken("jwt")).thenReturn("warmup@order-manager.local");
+
+        runner(true, 3).run(null);
+
+        verify(tokenService, times(3)).generateToken(anyString());
+        verify(orderService, times(3)).create(any());
+        // listagens com COUNT(*) só na primeira de cada 50 iterações
+        verify(orderService, times(1)).findAll(any(), any());
+        verify(orderService, never()).updateStatus(any(), any());
+        verify(orderService, never()).delete(any());
+        verify(productService, never()).create(any());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.OrderManagerApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Confirmar N pedidos PENDING: N chamadas de {@link OrderService#updateStatus} (o que
+ * PUT /api/orders/{id}/status faz por pedido) vs uma chamada de {@link OrderService#updateStatuses}.
+ *
+ * Mede no nível do serviço, contra um MySQL real (Testcontainers, precisa de Docker);
+ * o custo HTTP por requisição do laço só aumentaria a diferença.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=OrderBulkStatus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBulkStatusBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int orders;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> ids;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false")
+                .run();
+
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void insertPendingOrders() {
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM order_stats_daily");
+        jdbcTemplate.update("DELETE FROM order_outbox");
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            rows.add(new Object[]{"BENCH-" + (sequence++), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_number, status, total_amount, created_at, updated_at) "
+                + "VALUES (?, 'PENDING', 10.00, ?, ?)", rows);
+        jdbcTemplate.update("INSERT INTO order_stats_daily (day, status, order_count, total_amount) "
+                + "SELECT DATE(created_at), status, COUNT(*), SUM(total_amount) FROM orders GROUP BY 1, 2");
+
+        ids = jdbcTemplate.queryForList("SELECT id FROM orders ORDER BY id", Long.class);
+    }
+
+    @Benchmark
+    public void singleUpdates() {
+        for (Long id : ids) {
+            orderService.updateStatus(id, OrderStatus.CONFIRMED);
+        }
+    }
+
+    @Benchmark
+    public Object bulkUpdate() {
+        return orderService.updateStatuses(ids, OrderStatus.CONFIRMED);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mysql.stop();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.ordermanager.order;
 import com.example.ordermanager.auth.User;
 import com.example.ordermanager.auth.UserRole;
 import com.example.ordermanager.auth.UserRepository;
+import com.example.ordermanager.common.money.Money;
 import com.example.ordermanager.product.Product;
 import com.example.ordermanager.product.ProductRepository;
 import com.example.ordermanager.support.IntegrationTestBase;
@@ -17,7 +18,6 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -55,7 +55,7 @@ class OrderControllerAuthTest extends IntegrationTestBase {
     private Order createSimpleOrder() {
         Order order = new Order();
         order.setStatus(OrderStatus.PENDING);
-        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setTotalAmount(Money.parse("100.00"));
         return orderRepository.save(order);
     }
 
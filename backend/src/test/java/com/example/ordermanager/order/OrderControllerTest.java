@@ -1,5 +1,6 @@
 package com.example.ordermanager.order;
 
+import com.example.ordermanager.common.money.Money;
 import com.example.ordermanager.product.Product;
 import com.example.ordermanager.product.ProductRepository;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -11,26 +12,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import com.example.ordermanager.support.IntegrationTestBase;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.test.context.support.WithMockUser;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
-import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc(addFilters = false)
 @Transactional
 @WithMockUser(username = "admin@test.com", roles = "ADMIN")
+// endpoints em lote na thread do teste, dentro da transação dele
+@TestPropertySource(properties = "bulkhead.bulk.threads=0")
 class OrderControllerTest extends IntegrationTestBase {
 
         @Autowired
@@ -53,13 +59,13 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria dois produtos em banco
                 Product p1 = new Product();
                 p1.setName("Teclado Mecânico");
-                p1.setPrice(new BigDecimal("250.00"));
+                p1.setPrice(Money.parse("250.00"));
                 p1.setStock(10);
                 productRepository.save(p1);
 
                 Product p2 = new Product();
                 p2.setName("Mouse Gamer");
-                p2.setPrice(new BigDecimal("150.00"));
+                p2.setPrice(Money.parse("150.00"));
                 p2.setStock(5);
                 productRepository.save(p2);
 
@@ -84,7 +90,7 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria um produto com pouco estoque
                 Product p = new Product();
                 p.setName("Monitor 24\"");
-                p.setPrice(new BigDecimal("800.00"));
+                p.setPrice(Money.parse("800.00"));
                 p.setStock(1); // só 1 unidade em estoque
                 productRepository.save(p);
 
@@ -99,6 +105,7 @@ class OrderControllerTest extends IntegrationTestBase {
                                 .content(body))
                                 .andExpect(status().isConflict())
                                 .andExpect(jsonPath("$.status").value(409))
+                                .andExpect(jsonPath("$.code").value("INSUFFICIENT_STOCK"))
                                 .andExpect(jsonPath("$.error").value(
                                                 Matchers.containsString(
                                                                 "Estoque insuficiente para o produto: "
@@ -110,7 +117,7 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria um pedido em estado PENDING
                 Order order = new Order();
                 order.setStatus(OrderStatus.PENDING);
-                order.setTotalAmount(new BigDecimal("100.00"));
+                order.setTotalAmount(Money.parse("100.00"));
                 Order saved = orderRepository.save(order);
 
                 // Act + Assert: faz PUT /api/orders/{id}/status?status=CONFIRMED
@@ -131,7 +138,7 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria um pedido em estado CONFIRMED
                 Order order = new Order();
                 order.setStatus(OrderStatus.CONFIRMED);
-                order.setTotalAmount(new BigDecimal("200.00"));
+                order.setTotalAmount(Money.parse("200.00"));
                 Order saved = orderRepository.save(order);
 
                 // Act + Assert: faz PUT /api/orders/{id}/status?status=CANCELLED
@@ -152,7 +159,7 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria um pedido já CANCELLED
                 Order order = new Order();
                 order.setStatus(OrderStatus.CANCELLED);
-                order.setTotalAmount(new BigDecimal("150.00"));
+                order.setTotalAmount(Money.parse("150.00"));
                 Order saved = orderRepository.save(order);
 
                 // Act + Assert: tenta mudar para CONFIRMED → deve falhar
@@ -181,13 +188,51 @@ class OrderControllerTest extends IntegrationTestBase {
                                                 Matchers.containsString("Pedido não encontrado")));
         }
 
+        @Test
+        void updateStatuses_mixedOrders_reportsUpdatedRejectedAndNotFound() throws Exception {
+                // Arrange: um de cada status
+                Long pending = saveOrder(OrderStatus.PENDING, "10.00");
+                Long confirmed = saveOrder(OrderStatus.CONFIRMED, "20.00");
+                Long cancelled = saveOrder(OrderStatus.CANCELLED, "30.00");
+                Long nonExistingId = cancelled + 1000;
+
+                String body = String.format("{\"ids\":[%d,%d,%d,%d],\"status\":\"CONFIRMED\"}",
+                                pending, confirmed, cancelled, nonExistingId);
+
+                // Act + Assert: CANCELLED não pode voltar; CONFIRMED -> CONFIRMED é permitido
+                MvcResult started = mockMvc.perform(put("/api/orders/status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.updated.length()").value(2))
+                                .andExpect(jsonPath("$.updated[0]").value(pending))
+                                .andExpect(jsonPath("$.updated[1]").value(confirmed))
+                                .andExpect(jsonPath("$.rejected[0]").value(cancelled))
+                                .andExpect(jsonPath("$.notFound[0]").value(nonExistingId));
+
+                assertEquals(OrderStatus.CONFIRMED, orderRepository.findStatusById(pending).orElseThrow());
+                assertEquals(OrderStatus.CANCELLED, orderRepository.findStatusById(cancelled).orElseThrow());
+        }
+
+        @Test
+        void updateStatuses_withEmptyIds_returnsBadRequest() throws Exception {
+                mockMvc.perform(put("/api/orders/status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[],\"status\":\"CANCELLED\"}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.status").value(400));
+        }
+
         @Test
         @WithMockUser(roles = "ADMIN") // garante permissão pra deletar
         void deleteOrder_existingOrder_returnsNoContent() throws Exception {
                 // Arrange: cria um pedido simples no banco
                 Order order = new Order();
                 order.setStatus(OrderStatus.PENDING);
-                order.setTotalAmount(new BigDecimal("99.90"));
+                order.setTotalAmount(Money.parse("99.90"));
                 Order saved = orderRepository.save(order);
 
                 // Sanidade: garante que ele existe antes do delete
@@ -216,13 +261,33 @@ class OrderControllerTest extends IntegrationTestBase {
                                                 Matchers.containsString("Pedido não encontrado")));
         }
 
+        @Test
+        void deleteOrders_bulk_returnsDeletedAndNotFound() throws Exception {
+                Long first = saveOrder(OrderStatus.PENDING, "10.00");
+                Long second = saveOrder(OrderStatus.CANCELLED, "20.00");
+                Long nonExistingId = second + 1000;
+
+                MvcResult started = mockMvc.perform(post("/api/orders/bulk-delete")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(String.format("{\"ids\":[%d,%d,%d]}", first, second, nonExistingId)))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.deleted.length()").value(2))
+                                .andExpect(jsonPath("$.notFound[0]").value(nonExistingId));
+
+                assertFalse(orderRepository.existsById(first));
+                assertFalse(orderRepository.existsById(second));
+        }
+
         @Test
         @WithMockUser(roles = "USER") // não é ADMIN
         void deleteOrder_withNonAdminUser_returnsForbidden() throws Exception {
                 // Arrange: cria um pedido qualquer
                 Order order = new Order();
                 order.setStatus(OrderStatus.PENDING);
-                order.setTotalAmount(new BigDecimal("50.00"));
+                order.setTotalAmount(Money.parse("50.00"));
                 Order saved = orderRepository.save(order);
 
                 // Act + Assert: tentativa de DELETE deve retornar 403
@@ -238,17 +303,17 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria 3 pedidos com status diferentes
                 Order o1 = new Order();
                 o1.setStatus(OrderStatus.PENDING);
-                o1.setTotalAmount(new BigDecimal("100.00"));
+                o1.setTotalAmount(Money.parse("100.00"));
                 orderRepository.save(o1);
 
                 Order o2 = new Order();
                 o2.setStatus(OrderStatus.CONFIRMED);
-                o2.setTotalAmount(new BigDecimal("200.00"));
+                o2.setTotalAmount(Money.parse("200.00"));
                 orderRepository.save(o2);
 
                 Order o3 = new Order();
                 o3.setStatus(OrderStatus.CANCELLED);
-                o3.setTotalAmount(new BigDecimal("300.00"));
+                o3.setTotalAmount(Money.parse("300.00"));
                 orderRepository.save(o3);
 
                 // Act + Assert: GET /api/orders sem filtro deve retornar os 3
@@ -264,17 +329,17 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria 3 pedidos com status diferentes
                 Order o1 = new Order();
                 o1.setStatus(OrderStatus.PENDING);
-                o1.setTotalAmount(new BigDecimal("100.00"));
+                o1.setTotalAmount(Money.parse("100.00"));
                 orderRepository.save(o1);
 
                 Order o2 = new Order();
                 o2.setStatus(OrderStatus.CONFIRMED);
-                o2.setTotalAmount(new BigDecimal("200.00"));
+                o2.setTotalAmount(Money.parse("200.00"));
                 orderRepository.save(o2);
 
                 Order o3 = new Order();
                 o3.setStatus(OrderStatus.CANCELLED);
-                o3.setTotalAmount(new BigDecimal("300.00"));
+                o3.setTotalAmount(Money.parse("300.00"));
                 orderRepository.save(o3);
 
                 // Act + Assert: GET /api/orders?status=CONFIRMED deve retornar só o CONFIRMED
@@ -292,7 +357,7 @@ class OrderControllerTest extends IntegrationTestBase {
                 // Arrange: cria um pedido simples no banco
                 Order order = new Order();
                 order.setStatus(OrderStatus.PENDING);
-                order.setTotalAmount(new BigDecimal("150.00"));
+                order.setTotalAmount(Money.parse("150.00"));
                 Order saved = orderRepository.save(order);
 
                 // Act + Assert: GET /api/orders/{id} deve retornar 200
@@ -360,4 +425,11 @@ class OrderControllerTest extends IntegrationTestBase {
                                 .andExpect(jsonPath("$.error").isNotEmpty());
         }
 
+        private Long saveOrder(OrderStatus status, String total) {
+                Order order = new Order();
+                order.setOrderNumber("ORD-" + System.nanoTime()); // vários pedidos no mesmo ms
+                order.setStatus(status);
+                order.setTotalAmount(Money.parse(total));
+                return orderRepository.save(order).getId();
+        }
 }
@@ -0,0 +1,115 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.OrderManagerApplication;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e latência (p50/p99 no modo SampleTime) de {@link OrderCreateBatcher#create} com 64
+ * chamadores simultâneos e 10 conexões no pool, variando a janela do lote:
+ *
+ * - {@code off}: sem lote, uma transação (e um commit) por pedido;
+ * - {@code 100}, {@code 500}, {@code 2000}: {@code orders.create-batch.max-wait-micros}, com
+ *   {@code max-size=64}.
+ *
+ * Janelas maiores juntam mais pedidos por commit (mais vazão) e somam a espera à latência de
+ * cada pedido; o ponto bom é onde o p99 para de cair.
+ *
+ * Contra um MySQL real (Testcontainers, precisa de Docker).
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=OrderCreateBatch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class OrderCreateBatchBenchmark {
+
+    private static final int PRODUCTS = 200;
+
+    @Param({"off", "100", "500", "2000"})
+    private String window;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private OrderCreateBatcher batcher;
+    private long firstProductId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        mysql.start();
+
+        boolean batching = !window.equals("off");
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false",
+                        "orders.archive.enabled=false",
+                        "orders.create-batch.enabled=" + batching,
+                        "orders.create-batch.max-size=64",
+                        "orders.create-batch.max-wait-micros=" + (batching ? window : "0"))
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO products (name, price, stock, created_at, updated_at) "
+                    + "VALUES (?, 1.00, 100000000, ?, ?)", "Produto " + i, now, now);
+        }
+        firstProductId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+        batcher = context.getBean(OrderCreateBatcher.class);
+    }
+
+    @Benchmark
+    public Object createOrder() {
+        CreateOrderItemDTO item = new CreateOrderItemDTO();
+        item.setProductId(firstProductId + ThreadLocalRandom.current().nextInt(PRODUCTS));
+        item.setQuantity(1);
+        CreateOrderDTO dto = new CreateOrderDTO();
+        ReflectionTestUtils.setField(dto, "items", List.of(item));
+        return batcher.create(dto);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mysql.stop();
+    }
+}
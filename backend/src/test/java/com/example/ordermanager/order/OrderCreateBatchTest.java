@@ -0,0 +1,148 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Criação em lote contra o MySQL: 50 pedidos simultâneos disputando 30 unidades de estoque.
+ * Exatamente 30 são criados (com itens, estatísticas e outbox) e 20 recebem a recusa de estoque.
+ */
+@TestPropertySource(properties = {
+        "orders.outbox.relay-enabled=false",
+        "orders.create-batch.enabled=true",
+        "orders.create-batch.max-size=16",
+        "orders.create-batch.max-wait-micros=2000"
+})
+class OrderCreateBatchTest extends IntegrationTestBase {
+
+    private static final int CALLERS = 50;
+    private static final int STOCK = 30;
+
+    @Autowired
+    private OrderCreateBatcher batcher;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void create_concurrentCallers_neverOversellAndWriteEverySideEffect() throws Exception {
+        Product product = new Product();
+        product.setName("Caneca Lote");
+        product.setPrice(Money.parse("12.50"));
+        product.setStock(STOCK);
+        productRepository.save(product);
+        long pendingBefore = pendingCount();
+        long batchesBefore = batchCount();
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    try {
+                        return batcher.create(orderOf(product.getId(), 1));
+                    } catch (OrderRejectedException ex) {
+                        return ex;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Long> created = new ArrayList<>();
+            int rejected = 0;
+            for (Future<Object> future : futures) {
+                Object result = future.get(30, TimeUnit.SECONDS);
+                if (result instanceof OrderResponseDTO order) {
+                    assertEquals(Money.parse("12.50"), order.getTotal());
+                    created.add(order.getId());
+                } else {
+                    assertEquals(OrderErrorCode.INSUFFICIENT_STOCK, ((OrderRejectedException) result).getCode());
+                    rejected++;
+                }
+            }
+
+            assertEquals(STOCK, created.size());
+            assertEquals(CALLERS - STOCK, rejected);
+            assertEquals(STOCK, created.stream().distinct().count());
+            assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStock());
+            assertEquals(STOCK, count("SELECT COUNT(*) FROM order_items WHERE product_id = ?", product.getId()));
+            assertEquals(STOCK, count("SELECT COUNT(*) FROM order_outbox o JOIN order_items i ON i.order_id = o.order_id "
+                    + "WHERE i.product_id = ? AND o.event_type = 'ORDER_CREATED'", product.getId()));
+            assertEquals(pendingBefore + STOCK, pendingCount());
+            assertTrue(batchCount() - batchesBefore < CALLERS, "pedidos deveriam ter sido agrupados");
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void create_unknownProduct_rejectsOnlyThatOrder() {
+        Product product = new Product();
+        product.setName("Parafuso Lote");
+        product.setPrice(Money.parse("0.10"));
+        product.setStock(10);
+        productRepository.save(product);
+
+        OrderRejectedException ex = assertThrows(OrderRejectedException.class,
+                () -> batcher.create(orderOf(product.getId() + 1000, 1)));
+        OrderResponseDTO created = batcher.create(orderOf(product.getId(), 3));
+
+        assertEquals(OrderErrorCode.PRODUCT_NOT_FOUND, ex.getCode());
+        assertEquals(Money.parse("0.30"), created.getTotal());
+        assertEquals(7, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    private long pendingCount() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(order_count), 0) FROM order_stats_daily WHERE status = 'PENDING'", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private long batchCount() {
+        return meterRegistry.get("orders.batch.size").summary().count();
+    }
+
+    private static CreateOrderDTO orderOf(Long productId, int quantity) {
+        CreateOrderItemDTO item = new CreateOrderItemDTO();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        CreateOrderDTO dto = new CreateOrderDTO();
+        ReflectionTestUtils.setField(dto, "items", List.of(item));
+        return dto;
+    }
+}
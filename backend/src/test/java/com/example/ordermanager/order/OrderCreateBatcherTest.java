@@ -0,0 +1,238 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.db.ReadWriteRoutingDataSource;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.OrderCreateBatcher.PendingOrder;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderCreateBatcherTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderBatchWriter writer = mock(OrderBatchWriter.class);
+    private final ReadWriteRoutingDataSource routing = mock(ReadWriteRoutingDataSource.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OrderCreateBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    private OrderCreateBatcher batcher(boolean enabled, int maxSize, long maxWaitMicros) {
+        return batcher(enabled, maxSize, maxWaitMicros, 5000);
+    }
+
+    private OrderCreateBatcher batcher(boolean enabled, int maxSize, long maxWaitMicros, long resultTimeoutMillis) {
+        batcher = new OrderCreateBatcher(orderService, writer, routing, registry, enabled, maxSize, maxWaitMicros, 64,
+                resultTimeoutMillis);
+        batcher.start();
+        return batcher;
+    }
+
+    @Test
+    void create_disabled_callsServiceDirectly() {
+        CreateOrderDTO dto = new CreateOrderDTO();
+        OrderResponseDTO created = order(1L);
+        when(orderService.create(dto)).thenReturn(created);
+
+        assertSame(created, batcher(false, 32, 500).create(dto));
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void create_concurrentCallers_shareOneBatchAndGetTheirOwnResult() throws Exception {
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderDTO> dtos = invocation.getArgument(0);
+            List<OrderBatchWriter.Result> results = new ArrayList<>();
+            for (CreateOrderDTO dto : dtos) {
+                long id = ((MarkedOrderDTO) dto).marker;
+                results.add(id % 2 == 0
+                        ? new OrderBatchWriter.Result(order(id), null)
+                        : new OrderBatchWriter.Result(null, new OrderRejectedException(
+                                OrderErrorCode.INSUFFICIENT_STOCK, "Estoque insuficiente para o produto: " + id)));
+            }
+            return results;
+        });
+        // janela longa: o lote só fecha pelo tamanho
+        batcher(true, 4, TimeUnit.SECONDS.toMicros(10));
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (long id = 1; id <= 4; id++) {
+                CreateOrderDTO dto = new MarkedOrderDTO(id);
+                futures.add(callers.submit(() -> {
+                    try {
+                        return batcher.create(dto);
+                    } catch (OrderRejectedException ex) {
+                        return ex;
+                    }
+                }));
+            }
+
+            assertTrue(futures.get(0).get(5, TimeUnit.SECONDS) instanceof OrderRejectedException);
+            assertEquals(2L, ((OrderResponseDTO) futures.get(1).get(5, TimeUnit.SECONDS)).getId());
+            assertTrue(futures.get(2).get(5, TimeUnit.SECONDS) instanceof OrderRejectedException);
+            assertEquals(4L, ((OrderResponseDTO) futures.get(3).get(5, TimeUnit.SECONDS)).getId());
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(writer, times(1)).write(anyList());
+        verify(routing, times(2)).markCurrentUserWrite();
+        assertEquals(4.0, registry.get("orders.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void process_whenBatchTransactionFails_retriesEachOrderAlone() {
+        CreateOrderDTO first = new CreateOrderDTO();
+        CreateOrderDTO second = new CreateOrderDTO();
+        when(writer.write(anyList())).thenThrow(new CannotAcquireLockException("deadlock"));
+        when(orderService.create(first)).thenReturn(order(10L));
+        when(orderService.create(second)).thenThrow(
+                new OrderRejectedException(OrderErrorCode.PRODUCT_NOT_FOUND, "Produto não encontrado: 7"));
+
+        PendingOrder a = new PendingOrder(first, new CompletableFuture<>());
+        PendingOrder b = new PendingOrder(second, new CompletableFuture<>());
+        batcher(false, 32, 500).process(List.of(a, b));
+
+        assertEquals(10L, a.result().join().getId());
+        assertTrue(b.result().isCompletedExceptionally());
+        assertEquals(1.0, registry.get("orders.batch.fallbacks").counter().count());
+        verify(orderService, times(2)).create(any());
+    }
+
+    @Test
+    void create_rejectionFromBatch_isRethrownUnwrapped() {
+        when(writer.write(anyList())).thenReturn(List.of(new OrderBatchWriter.Result(null,
+                new OrderRejectedException(OrderErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED, "Valor máximo do pedido excedido"))));
+        batcher(true, 1, 0);
+
+        OrderRejectedException ex = assertThrows(OrderRejectedException.class, () -> batcher.create(new CreateOrderDTO()));
+
+        assertEquals(OrderErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED, ex.getCode());
+    }
+
+    @Test
+    void create_writerThrowsError_callersStillReturnAndBatcherKeepsRunning() {
+        CreateOrderDTO first = new CreateOrderDTO();
+        CreateOrderDTO second = new CreateOrderDTO();
+        when(writer.write(anyList()))
+                .thenThrow(new LinkageError("classe quebrada"))
+                .thenReturn(List.of(new OrderBatchWriter.Result(order(21L), null)));
+        when(orderService.create(first)).thenReturn(order(20L));
+        batcher(true, 1, 0);
+
+        OrderResponseDTO alone = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> batcher.create(first));
+        OrderResponseDTO batched = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> batcher.create(second));
+
+        assertEquals(20L, alone.getId());
+        assertEquals(21L, batched.getId());
+        assertEquals(1.0, registry.get("orders.batch.fallbacks").counter().count());
+    }
+
+    @Test
+    void create_batchSlowerThanTimeout_waitsForItsCommit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new OrderBatchWriter.Result(order(30L), null));
+        });
+        batcher(true, 1, 0, 100);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<OrderResponseDTO> created = caller.submit(() -> batcher.create(new CreateOrderDTO()));
+            Thread.sleep(300);
+            assertFalse(created.isDone());
+
+            release.countDown();
+            assertEquals(30L, created.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(1.0, registry.get("orders.batch.timeouts").counter().count());
+            // o pedido foi gravado pelo lote: nada de refazer sozinho
+            verifyNoInteractions(orderService);
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void create_batchRolledBackAfterTimeout_getsTheRetriedResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CreateOrderDTO dto = new CreateOrderDTO();
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new QueryTimeoutException("prazo da transação do lote");
+        });
+        when(orderService.create(dto)).thenReturn(order(31L));
+        batcher(true, 1, 0, 100);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<OrderResponseDTO> created = caller.submit(() -> batcher.create(dto));
+            Thread.sleep(300);
+            release.countDown();
+
+            assertEquals(31L, created.get(5, TimeUnit.SECONDS).getId());
+            verify(orderService, times(1)).create(dto);
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void create_afterShutdown_bypassesTheQueue() {
+        CreateOrderDTO dto = new CreateOrderDTO();
+        when(orderService.create(dto)).thenReturn(order(40L));
+        batcher(true, 32, 500).shutdown();
+
+        assertEquals(40L, assertTimeoutPreemptively(Duration.ofSeconds(5), () -> batcher.create(dto)).getId());
+        verifyNoInteractions(writer);
+    }
+
+    private static OrderResponseDTO order(long id) {
+        Instant now = Instant.now();
+        return new OrderResponseDTO(id, "ORD-" + id, OrderStatus.PENDING, Money.parse("1.00"), now, now, List.of());
+    }
+
+    // identifica o chamador dentro do lote
+    private static final class MarkedOrderDTO extends CreateOrderDTO {
+        private final Long marker;
+
+        MarkedOrderDTO(Long marker) {
+            this.marker = marker;
+        }
+    }
+}
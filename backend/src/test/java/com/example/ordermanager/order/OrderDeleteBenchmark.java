@@ -0,0 +1,120 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.OrderManagerApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excluir um pedido de N itens: o caminho antigo ({@code deleteById}, que carrega o
+ * pedido e os itens e apaga linha por linha) vs {@link OrderService#delete}
+ * (um DELETE e o ON DELETE CASCADE do banco).
+ *
+ * Mede no nível do serviço, contra um MySQL real (Testcontainers, precisa de Docker).
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=OrderDelete
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderDeleteBenchmark {
+
+    @Param({"10", "500"})
+    private int lines;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private long productId;
+    private long orderId;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false")
+                .run();
+
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO products (name, price, stock, created_at, updated_at) "
+                + "VALUES ('Parafuso', 0.10, 1000000, ?, ?)", now, now);
+        productId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void insertOrder() {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO orders (order_number, status, total_amount, created_at, updated_at) "
+                + "VALUES (?, 'PENDING', ?, ?, ?)", "BENCH-" + (sequence++), 0.10 * lines, now, now);
+        orderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+
+        List<Object[]> rows = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            rows.add(new Object[]{orderId, productId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) "
+                + "VALUES (?, ?, 1, 0.10, 0.10)", rows);
+    }
+
+    @Benchmark
+    public void entityDelete() {
+        transactionTemplate.executeWithoutResult(status -> orderRepository.deleteById(orderId));
+    }
+
+    @Benchmark
+    public void setBasedDelete() {
+        orderService.delete(orderId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mysql.stop();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Excluir um pedido de 500 itens não pode carregar o agregado nem apagar item por item:
+ * lock + estatísticas + outbox + devolução de estoque (um UPDATE) + um DELETE, e o cascade
+ * do banco leva os itens.
+ */
+@Transactional
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "orders.outbox.relay-enabled=false",
+        "orders.delete.chunk-size=2"
+})
+class OrderDeleteTest extends IntegrationTestBase {
+
+    private static final int LINES = 500;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setName("Parafuso");
+        product.setPrice(Money.parse("0.10"));
+        product.setStock(100000);
+        productRepository.save(product);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void delete_orderWithManyLines_runsWithoutLoadingEntities() {
+        Long id = saveOrder(LINES);
+
+        statistics.clear();
+        orderService.delete(id);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(0, countItems(id));
+        assertTrue(orderRepository.findStatusById(id).isEmpty());
+    }
+
+    @Test
+    void deleteAll_acrossChunks_removesOrdersAndItems() {
+        Long first = saveOrder(3);
+        Long second = saveOrder(3);
+        Long third = saveOrder(3);
+        Long missing = third + 1000;
+
+        var result = orderService.deleteAll(List.of(first, second, missing, third));
+
+        assertEquals(List.of(first, second, third), result.deleted());
+        assertEquals(List.of(missing), result.notFound());
+        assertEquals(0, countItems(first) + countItems(second) + countItems(third));
+    }
+
+    private Long saveOrder(int lines) {
+        Order order = new Order();
+        order.setOrderNumber("DEL-" + System.nanoTime());
+        order.setStatus(OrderStatus.PENDING);
+        for (int i = 0; i < lines; i++) {
+            order.getItems().add(new OrderItem(order, product, 1, product.getPrice()));
+        }
+        order.setTotalAmount(Money.ofCents(product.getPrice().cents() * lines));
+        Long id = orderRepository.save(order).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+
+    private int countItems(Long orderId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class, orderId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ordermanager.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderNumberTest {
+
+    @Test
+    void generateOrderNumber_sameMillisecond_isUniqueAndCarriesTheInstanceId() {
+        Set<String> numbers = new HashSet<>();
+        Set<String> nodes = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String number = Order.generateOrderNumber();
+            String[] parts = number.split("-");
+            assertEquals(4, parts.length, number);
+            assertEquals(8, parts[2].length(), number);
+            assertTrue(number.length() <= 50, number);
+            numbers.add(number);
+            nodes.add(parts[2]);
+        }
+        assertEquals(10_000, numbers.size());
+        assertEquals(1, nodes.size());
+    }
+}
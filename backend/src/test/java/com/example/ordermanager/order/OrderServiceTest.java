@@ -1,26 +1,36 @@
 package com.example.ordermanager.order;
 
+import com.example.ordermanager.common.cache.CacheInvalidations;
+import com.example.ordermanager.common.lookup.ByIdLookup;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.archive.ArchivedOrderRepository;
+import com.example.ordermanager.order.dto.BulkDeleteResultDTO;
+import com.example.ordermanager.order.dto.BulkStatusUpdateResultDTO;
 import com.example.ordermanager.order.dto.CreateOrderDTO;
 import com.example.ordermanager.order.dto.CreateOrderItemDTO;
 import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.order.outbox.OrderEventType;
+import com.example.ordermanager.order.outbox.OrderOutboxRepository;
 import com.example.ordermanager.product.Product;
 import com.example.ordermanager.product.ProductRepository;
-import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.same;
 import static org.mockito.Mockito.verify;
@@ -38,11 +48,28 @@ class OrderServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private OrderStatsDailyRepository orderStatsRepository;
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private CacheInvalidations cacheInvalidations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
-        orderService = new OrderService(orderRepository, orderItemRepository, productRepository);
+        orderService = new OrderService(orderRepository, orderItemRepository, productRepository, orderStatsRepository,
+                outboxRepository, archivedOrderRepository, cacheInvalidations,
+                new ByIdLookup<>("orders", new SimpleMeterRegistry(), 0, 100, () -> false), transactionManager, 2);
     }
 
     @Test
@@ -53,8 +80,7 @@ class OrderServiceTest {
                 item(1L, 2),
                 item(2L, 1));
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(keyboard));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(mouse));
+        when(productRepository.lockAllById(Set.of(1L, 2L))).thenReturn(List.of(keyboard, mouse));
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
@@ -68,7 +94,7 @@ class OrderServiceTest {
         OrderResponseDTO response = orderService.create(dto);
 
         assertEquals(OrderStatus.PENDING, response.getStatus());
-        assertEquals(new BigDecimal("650.00"), response.getTotal());
+        assertEquals(Money.parse("650.00"), response.getTotal());
         assertEquals(2, response.getItems().size());
         assertEquals(8, keyboard.getStock());
         assertEquals(4, mouse.getStock());
@@ -76,128 +102,297 @@ class OrderServiceTest {
         verify(productRepository).save(same(keyboard));
         verify(productRepository).save(same(mouse));
         verify(orderRepository).save(any(Order.class));
+        verify(orderStatsRepository).adjust(99L, OrderStatus.PENDING, 1);
+        verify(outboxRepository).append(99L, OrderEventType.ORDER_CREATED, OrderStatus.PENDING);
     }
 
     @Test
-    void create_withMissingProduct_throwsEntityNotFoundException() {
+    void create_withMissingProduct_rejectsWithProductNotFound() {
         CreateOrderDTO dto = createOrderDTO(item(999L, 1));
 
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.lockAllById(Set.of(999L))).thenReturn(List.of());
 
-        EntityNotFoundException exception = assertThrows(
-                EntityNotFoundException.class,
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
                 () -> orderService.create(dto));
 
+        assertEquals(OrderErrorCode.PRODUCT_NOT_FOUND, exception.getCode());
         assertEquals("Produto não encontrado: 999", exception.getMessage());
         verify(productRepository, never()).save(any(Product.class));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
-    void create_withInsufficientStock_throwsIllegalStateException() {
+    void create_withInsufficientStock_rejectsWithInsufficientStock() {
         Product product = product(10L, "Monitor 24", "900.00", 1);
         CreateOrderDTO dto = createOrderDTO(item(10L, 2));
 
-        when(productRepository.findById(10L)).thenReturn(Optional.of(product));
+        when(productRepository.lockAllById(Set.of(10L))).thenReturn(List.of(product));
 
-        IllegalStateException exception = assertThrows(
-                IllegalStateException.class,
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
                 () -> orderService.create(dto));
 
+        assertEquals(OrderErrorCode.INSUFFICIENT_STOCK, exception.getCode());
         assertEquals("Estoque insuficiente para o produto: Monitor 24", exception.getMessage());
         verify(productRepository, never()).save(any(Product.class));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
-    void create_withTotalAboveLimit_throwsIllegalStateExceptionAndDoesNotPersistOrder() {
+    void create_withTotalAboveLimit_rejectsAndDoesNotPersistOrder() {
         Product product = product(20L, "Notebook", "600.00", 10);
         CreateOrderDTO dto = createOrderDTO(item(20L, 2));
 
-        when(productRepository.findById(20L)).thenReturn(Optional.of(product));
+        when(productRepository.lockAllById(Set.of(20L))).thenReturn(List.of(product));
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        IllegalStateException exception = assertThrows(
-                IllegalStateException.class,
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
                 () -> orderService.create(dto));
 
+        assertEquals(OrderErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED, exception.getCode());
         assertEquals("Valor máximo do pedido excedido. Total calculado: 1200.00", exception.getMessage());
         verify(productRepository).save(same(product));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
-    void updateStatus_whenPendingToConfirmed_updatesAndSavesOrder() {
-        Order order = new Order();
-        order.setId(30L);
-        order.setStatus(OrderStatus.PENDING);
-
-        when(orderRepository.findById(30L)).thenReturn(Optional.of(order));
+    void updateStatus_whenPendingToConfirmed_updatesWithCompareAndSet() {
+        when(orderRepository.findStatusById(30L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(eq(30L), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(Instant.class)))
+                .thenReturn(1);
 
         orderService.updateStatus(30L, OrderStatus.CONFIRMED);
 
-        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
-        verify(orderRepository).save(same(order));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderStatsRepository).adjust(30L, OrderStatus.PENDING, -1);
+        verify(orderStatsRepository).adjust(30L, OrderStatus.CONFIRMED, 1);
+        verify(outboxRepository).append(30L, OrderEventType.ORDER_STATUS_CHANGED, OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void updateStatus_whenCompareAndSetLosesRace_revalidatesAgainstCurrentStatus() {
+        // leu PENDING, mas outra requisição cancelou antes do UPDATE
+        when(orderRepository.findStatusById(33L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(eq(33L), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(Instant.class)))
+                .thenReturn(0);
+        when(orderRepository.lockStatuses(List.of(33L))).thenReturn(List.of(view(33L, OrderStatus.CANCELLED)));
+
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
+                () -> orderService.updateStatus(33L, OrderStatus.CONFIRMED));
+
+        assertEquals(OrderErrorCode.ORDER_FINALIZED, exception.getCode());
+        assertEquals("Pedido já está CANCELLED e não pode ser alterado.", exception.getMessage());
+        verify(orderStatsRepository, never()).adjust(any(Long.class), any(OrderStatus.class), any(Integer.class));
+    }
+
+    @Test
+    void updateStatus_whenCompareAndSetLosesRace_retriesFromCurrentStatus() {
+        // leu PENDING, outra requisição confirmou; CONFIRMED -> CANCELLED ainda é válido
+        when(orderRepository.findStatusById(34L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(eq(34L), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(0);
+        when(orderRepository.lockStatuses(List.of(34L))).thenReturn(List.of(view(34L, OrderStatus.CONFIRMED)));
+        when(orderRepository.compareAndSetStatus(eq(34L), eq(OrderStatus.CONFIRMED), eq(OrderStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(1);
+
+        orderService.updateStatus(34L, OrderStatus.CANCELLED);
+
+        verify(orderStatsRepository).adjust(34L, OrderStatus.CONFIRMED, -1);
+        verify(orderStatsRepository).adjust(34L, OrderStatus.CANCELLED, 1);
+    }
+
+    @Test
+    void updateStatus_whenCancelling_restoresStockWithSingleStatement() {
+        when(orderRepository.findStatusById(35L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(eq(35L), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(Instant.class)))
+                .thenReturn(1);
+        when(productRepository.lockIdsByOrderIds(List.of(35L))).thenReturn(List.of(1L, 2L));
+
+        orderService.updateStatus(35L, OrderStatus.CANCELLED);
+
+        verify(productRepository).restoreStock(eq(List.of(35L)), any(Instant.class));
+        verify(cacheInvalidations).stockChanged(1L);
+        verify(cacheInvalidations).stockChanged(2L);
     }
 
     @Test
-    void updateStatus_whenConfirmedToPending_throwsIllegalStateException() {
-        Order order = new Order();
-        order.setId(31L);
-        order.setStatus(OrderStatus.CONFIRMED);
+    void updateStatus_whenAlreadyCancelled_doesNotRestoreStockAgain() {
+        when(orderRepository.findStatusById(36L)).thenReturn(Optional.of(OrderStatus.CANCELLED));
+
+        orderService.updateStatus(36L, OrderStatus.CANCELLED);
+
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+        verify(productRepository, never()).restoreStock(any(), any());
+    }
+
+    @Test
+    void updateStatus_whenConfirming_doesNotTouchStock() {
+        when(orderRepository.findStatusById(37L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(eq(37L), eq(OrderStatus.PENDING), eq(OrderStatus.CONFIRMED), any(Instant.class)))
+                .thenReturn(1);
+
+        orderService.updateStatus(37L, OrderStatus.CONFIRMED);
+
+        verify(productRepository, never()).restoreStock(any(), any());
+    }
 
-        when(orderRepository.findById(31L)).thenReturn(Optional.of(order));
+    @Test
+    void updateStatus_whenConfirmedToPending_rejectsWithInvalidTransition() {
+        when(orderRepository.findStatusById(31L)).thenReturn(Optional.of(OrderStatus.CONFIRMED));
 
-        IllegalStateException exception = assertThrows(
-                IllegalStateException.class,
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
                 () -> orderService.updateStatus(31L, OrderStatus.PENDING));
 
+        assertEquals(OrderErrorCode.INVALID_STATUS_TRANSITION, exception.getCode());
         assertEquals("Transição de status inválida: CONFIRMED -> PENDING", exception.getMessage());
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), any(), any());
     }
 
     @Test
-    void updateStatus_whenCancelledToConfirmed_throwsIllegalStateException() {
-        Order order = new Order();
-        order.setId(32L);
-        order.setStatus(OrderStatus.CANCELLED);
+    void updateStatus_whenCancelledToConfirmed_rejectsWithOrderFinalized() {
+        when(orderRepository.findStatusById(32L)).thenReturn(Optional.of(OrderStatus.CANCELLED));
 
-        when(orderRepository.findById(32L)).thenReturn(Optional.of(order));
-
-        IllegalStateException exception = assertThrows(
-                IllegalStateException.class,
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
                 () -> orderService.updateStatus(32L, OrderStatus.CONFIRMED));
 
+        assertEquals(OrderErrorCode.ORDER_FINALIZED, exception.getCode());
         assertEquals("Pedido já está CANCELLED e não pode ser alterado.", exception.getMessage());
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateStatuses_updatesAllowedOrdersWithSingleStatementAndReportsTheRest() {
+        when(orderRepository.lockStatuses(any())).thenReturn(List.of(
+                view(50L, OrderStatus.PENDING),
+                view(51L, OrderStatus.CONFIRMED),
+                view(52L, OrderStatus.CANCELLED)));
+
+        BulkStatusUpdateResultDTO result =
+                orderService.updateStatuses(List.of(50L, 51L, 52L, 53L, 50L), OrderStatus.CONFIRMED);
+
+        assertEquals(List.of(50L, 51L), result.updated());
+        assertEquals(List.of(52L), result.rejected());
+        assertEquals(List.of(53L), result.notFound());
+
+        // 51 já está CONFIRMED: conta como atualizado, mas não é reescrito
+        verify(orderRepository).updateStatuses(eq(List.of(50L)), eq(OrderStatus.CONFIRMED),
+                eq(Set.of(OrderStatus.PENDING)), any(Instant.class));
+        verify(orderStatsRepository).adjust(List.of(50L), "PENDING", -1);
+        verify(orderStatsRepository).adjust(List.of(50L), "CONFIRMED", 1);
+        verify(outboxRepository).append(List.of(50L), "ORDER_STATUS_CHANGED", "CONFIRMED");
+    }
+
+    @Test
+    void updateStatuses_toCancelled_restoresStockOnlyForChangedOrders() {
+        when(orderRepository.lockStatuses(any())).thenReturn(List.of(
+                view(70L, OrderStatus.PENDING),
+                view(71L, OrderStatus.CONFIRMED),
+                view(72L, OrderStatus.CANCELLED)));
+
+        orderService.updateStatuses(List.of(70L, 71L, 72L), OrderStatus.CANCELLED);
+
+        // 72 já estava cancelado e já devolveu o estoque
+        verify(productRepository).restoreStock(eq(List.of(70L, 71L)), any(Instant.class));
+    }
+
+    @Test
+    void updateStatuses_toPending_rejectsEverythingWithoutUpdating() {
+        when(orderRepository.lockStatuses(any())).thenReturn(List.of(view(60L, OrderStatus.PENDING)));
+
+        BulkStatusUpdateResultDTO result = orderService.updateStatuses(List.of(60L), OrderStatus.PENDING);
+
+        assertEquals(List.of(60L), result.rejected());
+        verify(orderRepository, never()).updateStatuses(any(), any(), any(), any());
+    }
+
+    @Test
+    void findById_whenMissingInHotAndArchiveTables_rejectsWithOrderNotFound() {
+        when(orderRepository.findById(50L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findWithItemsById(50L)).thenReturn(Optional.empty());
+
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
+                () -> orderService.findById(50L));
+
+        assertEquals(OrderErrorCode.ORDER_NOT_FOUND, exception.getCode());
     }
 
     @Test
-    void delete_whenOrderExists_deletesById() {
-        when(orderRepository.existsById(40L)).thenReturn(true);
+    void delete_whenOrderExists_deletesWithSingleStatement() {
+        when(orderRepository.lockStatuses(List.of(40L))).thenReturn(List.of(view(40L, OrderStatus.PENDING)));
 
         orderService.delete(40L);
 
-        verify(orderRepository).deleteById(40L);
+        verify(orderStatsRepository).adjust(List.of(40L), "PENDING", -1);
+        verify(outboxRepository).append(List.of(40L), "ORDER_DELETED", "PENDING");
+        verify(productRepository).restoreStock(eq(List.of(40L)), any(Instant.class));
+        verify(orderRepository).deleteByIds(List.of(40L));
+        verify(orderRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void delete_whenOrderIsCancelled_doesNotRestoreStockAgain() {
+        when(orderRepository.lockStatuses(List.of(42L))).thenReturn(List.of(view(42L, OrderStatus.CANCELLED)));
+
+        orderService.delete(42L);
+
+        verify(productRepository, never()).restoreStock(any(), any());
+        verify(orderRepository).deleteByIds(List.of(42L));
     }
 
     @Test
-    void delete_whenOrderDoesNotExist_throwsEntityNotFoundException() {
-        when(orderRepository.existsById(41L)).thenReturn(false);
+    void delete_whenOrderDoesNotExist_rejectsWithOrderNotFound() {
+        when(orderRepository.lockStatuses(List.of(41L))).thenReturn(List.of());
 
-        EntityNotFoundException exception = assertThrows(
-                EntityNotFoundException.class,
+        OrderRejectedException exception = assertThrows(
+                OrderRejectedException.class,
                 () -> orderService.delete(41L));
 
+        assertEquals(OrderErrorCode.ORDER_NOT_FOUND, exception.getCode());
         assertEquals("Pedido não encontrado", exception.getMessage());
-        verify(orderRepository, never()).deleteById(41L);
+        verify(orderRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void deleteAll_splitsIdsIntoChunksAndReportsNotFound() {
+        when(orderRepository.lockStatuses(List.of(1L, 2L))).thenReturn(List.of(
+                view(1L, OrderStatus.PENDING), view(2L, OrderStatus.CONFIRMED)));
+        when(orderRepository.lockStatuses(List.of(3L))).thenReturn(List.of());
+
+        BulkDeleteResultDTO result = orderService.deleteAll(List.of(1L, 2L, 1L, 3L));
+
+        assertEquals(List.of(1L, 2L), result.deleted());
+        assertEquals(List.of(3L), result.notFound());
+        verify(orderStatsRepository).adjust(List.of(1L), "PENDING", -1);
+        verify(orderStatsRepository).adjust(List.of(2L), "CONFIRMED", -1);
+        verify(orderRepository).deleteByIds(List.of(1L, 2L));
+    }
+
+    private OrderStatusView view(Long id, OrderStatus status) {
+        return new OrderStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+        };
     }
 
     private Product product(Long id, String name, String price, int stock) {
         Product product = new Product();
         product.setId(id);
         product.setName(name);
-        product.setPrice(new BigDecimal(price));
+        product.setPrice(Money.parse(price));
         product.setStock(stock);
         return product;
     }
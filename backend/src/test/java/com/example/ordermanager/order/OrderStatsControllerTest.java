@@ -0,0 +1,130 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc(addFilters = false)
+@Transactional
+@WithMockUser(username = "admin@test.com", roles = "ADMIN")
+// rebuild na thread do teste, dentro da transação dele
+@TestPropertySource(properties = "bulkhead.bulk.threads=0")
+class OrderStatsControllerTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatsDailyRepository orderStatsRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        orderStatsRepository.deleteAllRows();
+
+        product = new Product();
+        product.setName("Cabo HDMI");
+        product.setPrice(Money.parse("25.00"));
+        product.setStock(100);
+        productRepository.save(product);
+    }
+
+    @Test
+    void stats_reflectCreateStatusChangeAndDelete() throws Exception {
+        long first = createOrder(2);   // 50.00
+        createOrder(1);                // 25.00
+        long third = createOrder(4);   // 100.00
+
+        mockMvc.perform(put("/api/orders/{id}/status", first).param("status", "CONFIRMED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/{id}", third))
+                .andExpect(status().isNoContent());
+
+        expectStats(mockMvc.perform(get("/api/orders/stats")));
+    }
+
+    @Test
+    void rebuild_recomputesSameTotals() throws Exception {
+        long first = createOrder(2);
+        createOrder(1);
+        mockMvc.perform(put("/api/orders/{id}/status", first).param("status", "CONFIRMED"))
+                .andExpect(status().isOk());
+
+        orderStatsRepository.deleteAllRows();
+        MvcResult started = mockMvc.perform(post("/api/orders/stats/rebuild"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNoContent());
+
+        expectStats(mockMvc.perform(get("/api/orders/stats")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void stats_withNonAdminUser_returnsForbidden() throws Exception {
+        mockMvc.perform(get("/api/orders/stats"))
+                .andExpect(status().isForbidden());
+    }
+
+    // Esperado: 1 PENDING (25.00) e 1 CONFIRMED (50.00), nenhum CANCELLED
+    private void expectStats(ResultActions result) throws Exception {
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus[?(@.status=='PENDING')].count").value(1))
+                .andExpect(jsonPath("$.byStatus[?(@.status=='PENDING')].total").value(25.0))
+                .andExpect(jsonPath("$.byStatus[?(@.status=='CONFIRMED')].count").value(1))
+                .andExpect(jsonPath("$.byStatus[?(@.status=='CONFIRMED')].total").value(50.0))
+                .andExpect(jsonPath("$.byStatus[?(@.status=='CANCELLED')].count").value(0))
+                .andExpect(jsonPath("$.daily.length()").value(2));
+    }
+
+    private long createOrder(int quantity) throws Exception {
+        String body = String.format(
+                "{\"items\":[{\"productId\":%d,\"quantity\":%d}]}", product.getId(), quantity);
+
+        String response = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("id").asLong();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.outbox.OrderOutboxRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Confirmação e cancelamento disputando os mesmos pedidos.
+ *
+ * Ordens possíveis: confirma e depois cancela (as duas valem) ou cancela e a
+ * confirmação é rejeitada. Em nenhum caso o pedido pode terminar CONFIRMED,
+ * e cada transição aceita precisa aparecer uma única vez no outbox e nas estatísticas.
+ * Sem @Transactional: cada chamada do serviço commita a própria transação.
+ */
+@TestPropertySource(properties = "orders.outbox.relay-enabled=false")
+class OrderStatusConcurrencyTest extends IntegrationTestBase {
+
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderNumber("RACE-" + i);
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(Money.parse("10.00"));
+            ids.add(orderRepository.save(order).getId());
+        }
+        orderStatsService.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ids.clear();
+        outboxRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_stats_daily");
+    }
+
+    @Test
+    void concurrentConfirmAndCancel_neverLosesATransition() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> confirms = new ArrayList<>();
+            List<Future<Boolean>> cancels = new ArrayList<>();
+
+            for (Long id : ids) {
+                CountDownLatch start = new CountDownLatch(1);
+                confirms.add(pool.submit(() -> transition(start, id, OrderStatus.CONFIRMED)));
+                cancels.add(pool.submit(() -> transition(start, id, OrderStatus.CANCELLED)));
+                start.countDown();
+            }
+
+            int confirmed = 0;
+            for (Future<Boolean> f : confirms) {
+                confirmed += f.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            for (Future<Boolean> f : cancels) {
+                // CANCELLED é alcançável de qualquer status: nunca pode ser rejeitado
+                assertEquals(true, f.get(30, TimeUnit.SECONDS));
+            }
+
+            assertEquals(ORDERS, countOrders(OrderStatus.CANCELLED));
+            assertEquals(0, countOrders(OrderStatus.CONFIRMED));
+
+            // uma linha de outbox por transição aceita
+            assertEquals(confirmed, countEvents("CONFIRMED"));
+            assertEquals(ORDERS, countEvents("CANCELLED"));
+
+            // o agregado acompanha o estado final
+            assertEquals(ORDERS, statsCount(OrderStatus.CANCELLED));
+            assertEquals(0, statsCount(OrderStatus.CONFIRMED));
+            assertEquals(0, statsCount(OrderStatus.PENDING));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private boolean transition(CountDownLatch start, Long id, OrderStatus status) throws InterruptedException {
+        start.await();
+        try {
+            orderService.updateStatus(id, status);
+            return true;
+        } catch (OrderRejectedException rejected) {
+            return false;
+        }
+    }
+
+    private int countOrders(OrderStatus status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status = ?", Integer.class, status.name());
+    }
+
+    private int countEvents(String status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_outbox WHERE event_type = 'ORDER_STATUS_CHANGED' "
+                        + "AND JSON_UNQUOTE(JSON_EXTRACT(payload, '$.status')) = ?", Integer.class, status);
+    }
+
+    private long statsCount(OrderStatus status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(order_count), 0) FROM order_stats_daily WHERE status = ?", Long.class, status.name());
+    }
+}
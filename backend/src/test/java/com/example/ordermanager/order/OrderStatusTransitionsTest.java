@@ -0,0 +1,39 @@
+package com.example.ordermanager.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusTransitionsTest {
+
+    @Test
+    void isAllowed_followsTransitionTable() {
+        assertTrue(OrderStatusTransitions.isAllowed(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        assertTrue(OrderStatusTransitions.isAllowed(OrderStatus.CONFIRMED, OrderStatus.CONFIRMED));
+        assertFalse(OrderStatusTransitions.isAllowed(OrderStatus.PENDING, OrderStatus.PENDING));
+        assertFalse(OrderStatusTransitions.isAllowed(OrderStatus.CONFIRMED, OrderStatus.PENDING));
+        assertFalse(OrderStatusTransitions.isAllowed(OrderStatus.CANCELLED, OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void predecessorsOf_isTheInverseOfTheTable() {
+        assertEquals(EnumSet.allOf(OrderStatus.class), OrderStatusTransitions.predecessorsOf(OrderStatus.CANCELLED));
+        assertEquals(EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+                OrderStatusTransitions.predecessorsOf(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatusTransitions.predecessorsOf(OrderStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void check_fromFinalStatus_reportsThatOrderCannotChange() {
+        OrderRejectedException exception = assertThrows(OrderRejectedException.class,
+                () -> OrderStatusTransitions.check(OrderStatus.CANCELLED, OrderStatus.PENDING));
+
+        assertEquals(OrderErrorCode.ORDER_FINALIZED, exception.getCode());
+        assertEquals("Pedido já está CANCELLED e não pode ser alterado.", exception.getMessage());
+    }
+}
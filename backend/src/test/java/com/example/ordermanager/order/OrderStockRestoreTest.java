@@ -0,0 +1,181 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.order.outbox.OrderOutboxRepository;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cancelamentos (em dobro) e novos pedidos disputando os mesmos produtos.
+ *
+ * Cada cancelamento devolve o estoque uma única vez e nenhuma devolução se perde para um
+ * pedido criado ao mesmo tempo: no fim, estoque atual + itens dos pedidos não cancelados
+ * = estoque inicial, para cada produto.
+ * Sem @Transactional: cada chamada do serviço commita a própria transação.
+ */
+@TestPropertySource(properties = {
+        "orders.outbox.relay-enabled=false",
+        "orders.pending-expiry.enabled=false"
+})
+class OrderStockRestoreTest extends IntegrationTestBase {
+
+    private static final int INITIAL_STOCK = 1000;
+    private static final int ORDERS = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product keyboard;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        keyboard = saveProduct("Teclado", "10.00");
+        mouse = saveProduct("Mouse", "5.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_stats_daily");
+    }
+
+    @Test
+    void concurrentDoubleCancelAndCreate_restoresEachOrderExactlyOnce() throws Exception {
+        List<Long> existing = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            existing.add(orderService.create(order(2, 1)).getId());
+        }
+        assertEquals(INITIAL_STOCK - 2 * ORDERS, stock(keyboard));
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (Long id : existing) {
+                tasks.add(pool.submit(awaiting(start, () -> cancel(id))));
+                tasks.add(pool.submit(awaiting(start, () -> cancel(id))));
+                // itens em ordem inversa: a trava dos produtos em ordem de id evita deadlock
+                tasks.add(pool.submit(awaiting(start, () -> orderService.create(order(1, 3)))));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(ORDERS, countOrders(OrderStatus.CANCELLED));
+        assertEquals(ORDERS, countOrders(OrderStatus.PENDING));
+        // uma devolução por pedido, mesmo com dois cancelamentos
+        assertEquals(ORDERS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_outbox "
+                + "WHERE event_type = 'ORDER_STATUS_CHANGED'", Integer.class));
+        assertEquals(INITIAL_STOCK, stock(keyboard) + heldBy(keyboard));
+        assertEquals(INITIAL_STOCK, stock(mouse) + heldBy(mouse));
+        assertEquals(INITIAL_STOCK - ORDERS, stock(keyboard));
+        assertEquals(INITIAL_STOCK - 3 * ORDERS, stock(mouse));
+    }
+
+    @Test
+    void delete_restoresStockOfPendingButNotOfCancelledOrders() {
+        Long pending = orderService.create(order(3, 0)).getId();
+        Long cancelled = orderService.create(order(4, 0)).getId();
+        orderService.updateStatus(cancelled, OrderStatus.CANCELLED);
+        assertEquals(INITIAL_STOCK - 3, stock(keyboard));
+
+        orderService.deleteAll(List.of(pending, cancelled));
+
+        assertEquals(INITIAL_STOCK, stock(keyboard));
+    }
+
+    private Object cancel(Long id) {
+        orderService.updateStatus(id, OrderStatus.CANCELLED);
+        return null;
+    }
+
+    private static <T> Callable<T> awaiting(CountDownLatch start, Callable<T> task) {
+        return () -> {
+            start.await();
+            return task.call();
+        };
+    }
+
+    private CreateOrderDTO order(int keyboards, int mice) {
+        List<CreateOrderItemDTO> items = new ArrayList<>();
+        if (mice > 0) {
+            items.add(item(mouse.getId(), mice));
+        }
+        if (keyboards > 0) {
+            items.add(item(keyboard.getId(), keyboards));
+        }
+        CreateOrderDTO dto = new CreateOrderDTO();
+        ReflectionTestUtils.setField(dto, "items", items);
+        return dto;
+    }
+
+    private static CreateOrderItemDTO item(Long productId, int quantity) {
+        CreateOrderItemDTO item = new CreateOrderItemDTO();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private Product saveProduct(String name, String price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(Money.parse(price));
+        product.setStock(INITIAL_STOCK);
+        return productRepository.save(product);
+    }
+
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+
+    private int heldBy(Product product) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i "
+                + "JOIN orders o ON o.id = i.order_id WHERE i.product_id = ? AND o.status <> 'CANCELLED'",
+                Integer.class, product.getId());
+    }
+
+    private int countOrders(OrderStatus status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status = ?", Integer.class, status.name());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ordermanager.order.archive;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.Order;
+import com.example.ordermanager.order.OrderItem;
+import com.example.ordermanager.order.OrderRepository;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Só pedidos finalizados e antigos saem da tabela quente; o findById continua achando
+ * os arquivados (com itens e nome do produto).
+ */
+@Transactional
+@TestPropertySource(properties = {
+        "orders.outbox.relay-enabled=false",
+        "orders.archive.enabled=false",
+        "orders.archive.chunk-size=2"
+})
+class OrderArchiverTest extends IntegrationTestBase {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(400));
+    private static final Instant CUTOFF = Instant.now().minus(Duration.ofDays(365));
+
+    @Autowired
+    private OrderArchiver archiver;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setName("Cadeira");
+        product.setPrice(Money.parse("150.00"));
+        product.setStock(10);
+        productRepository.save(product);
+    }
+
+    @Test
+    void archiveOlderThan_movesOnlyOldFinishedOrders() {
+        Long oldConfirmed = saveOrder(OrderStatus.CONFIRMED, OLD);
+        Long oldCancelled = saveOrder(OrderStatus.CANCELLED, OLD);
+        Long oldConfirmed2 = saveOrder(OrderStatus.CONFIRMED, OLD);
+        Long oldPending = saveOrder(OrderStatus.PENDING, OLD);
+        Long recentConfirmed = saveOrder(OrderStatus.CONFIRMED, Instant.now());
+
+        int moved = archiver.archiveOlderThan(CUTOFF);
+
+        assertEquals(3, moved);
+        assertFalse(orderRepository.existsById(oldConfirmed));
+        assertFalse(orderRepository.existsById(oldCancelled));
+        assertFalse(orderRepository.existsById(oldConfirmed2));
+        assertTrue(orderRepository.existsById(oldPending));
+        assertTrue(orderRepository.existsById(recentConfirmed));
+        assertTrue(archivedOrderRepository.existsById(oldConfirmed));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class, oldConfirmed));
+    }
+
+    @Test
+    void findById_archivedOrder_fallsBackToArchive() {
+        Long id = saveOrder(OrderStatus.CONFIRMED, OLD);
+        archiver.archiveOlderThan(CUTOFF);
+
+        OrderResponseDTO response = orderService.findById(id);
+
+        assertEquals(OrderStatus.CONFIRMED, response.getStatus());
+        assertEquals(Money.parse("300.00"), response.getTotal());
+        assertEquals(1, response.getItems().size());
+        assertEquals("Cadeira", response.getItems().get(0).getProductName());
+    }
+
+    private Long saveOrder(OrderStatus status, Instant createdAt) {
+        Order order = new Order();
+        order.setOrderNumber("ARC-" + System.nanoTime());
+        order.setStatus(status);
+        order.getItems().add(new OrderItem(order, product, 2, product.getPrice()));
+        order.setTotalAmount(Money.parse("300.00"));
+        Long id = orderRepository.saveAndFlush(order).getId();
+
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), id);
+        return id;
+    }
+}
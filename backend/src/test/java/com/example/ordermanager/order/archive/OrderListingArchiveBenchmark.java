@@ -0,0 +1,129 @@
+package com.example.ordermanager.order.archive;
+
+import com.example.ordermanager.OrderManagerApplication;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem da tabela quente (GET /api/orders, com e sem filtro de status) com
+ * {@code totalOrders} pedidos, 95% deles finalizados há mais de um ano, antes e
+ * depois de rodar o {@link OrderArchiver}. O custo vem principalmente do COUNT(*)
+ * da paginação, que cresce com a tabela.
+ *
+ * Contra um MySQL real (Testcontainers, precisa de Docker). A carga de 10M linhas
+ * e o arquivamento levam vários minutos no setup.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=OrderListingArchive
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderListingArchiveBenchmark {
+
+    private static final int SEED_ROWS = 1000;
+
+    @Param({"10000000"})
+    private int totalOrders;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!")
+                .withCommand("--innodb-buffer-pool-size=1G");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false",
+                        "orders.archive.enabled=false",
+                        "orders.archive.chunk-size=10000",
+                        "orders.archive.max-chunks-per-run=100000")
+                .run();
+
+        orderService = context.getBean(OrderService.class);
+        loadOrders(context.getBean(JdbcTemplate.class));
+
+        if (archived) {
+            context.getBean(OrderArchiver.class).archiveOlderThan(Instant.now().minus(Duration.ofDays(365)));
+        }
+    }
+
+    // Semente de 1000 pedidos (5% recentes PENDING, 95% antigos CONFIRMED) dobrada até totalOrders
+    private void loadOrders(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp old = Timestamp.from(Instant.now().minus(Duration.ofDays(730)));
+        List<Object[]> rows = new ArrayList<>(SEED_ROWS);
+        for (int i = 0; i < SEED_ROWS; i++) {
+            boolean recent = i % 20 == 0;
+            Timestamp createdAt = recent ? now : old;
+            rows.add(new Object[]{"SEED-" + i, recent ? "PENDING" : "CONFIRMED", createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_number, status, total_amount, created_at, updated_at) "
+                + "VALUES (?, ?, 10.00, ?, ?)", rows);
+
+        for (int round = 0; (long) SEED_ROWS << round < totalOrders; round++) {
+            jdbcTemplate.update("INSERT INTO orders (order_number, status, total_amount, created_at, updated_at) "
+                    + "SELECT CONCAT(order_number, '-', ?), status, total_amount, created_at, updated_at FROM orders",
+                    round);
+        }
+    }
+
+    @Benchmark
+    public Object listFirstPage() {
+        return orderService.findAll(null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Object listPendingFirstPage() {
+        return orderService.findAll(OrderStatus.PENDING, PageRequest.of(0, 20));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mysql.stop();
+    }
+}
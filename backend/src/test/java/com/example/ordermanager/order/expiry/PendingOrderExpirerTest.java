@@ -0,0 +1,125 @@
+package com.example.ordermanager.order.expiry;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.Order;
+import com.example.ordermanager.order.OrderItem;
+import com.example.ordermanager.order.OrderRepository;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Só pedidos PENDING vencidos são cancelados, em blocos, e o estoque de cada produto volta
+ * somado em todos os pedidos do bloco.
+ */
+@Transactional
+@TestPropertySource(properties = {
+        "orders.outbox.relay-enabled=false",
+        "orders.pending-expiry.enabled=false",
+        "orders.pending-expiry.chunk-size=2"
+})
+class PendingOrderExpirerTest extends IntegrationTestBase {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofHours(3));
+    private static final Instant CUTOFF = Instant.now().minus(Duration.ofHours(1));
+
+    @Autowired
+    private PendingOrderExpirer expirer;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product chair;
+    private Product table;
+
+    @BeforeEach
+    void setUp() {
+        chair = saveProduct("Cadeira", 10);
+        table = saveProduct("Mesa", 5);
+    }
+
+    @Test
+    void expireCreatedBefore_cancelsOldPendingAndRestoresStock() {
+        Long oldPending = saveOrder(OrderStatus.PENDING, OLD, 2, 1);
+        Long oldPending2 = saveOrder(OrderStatus.PENDING, OLD, 3, 0);
+        Long oldPending3 = saveOrder(OrderStatus.PENDING, OLD, 1, 2);
+        Long oldConfirmed = saveOrder(OrderStatus.CONFIRMED, OLD, 4, 0);
+        Long recentPending = saveOrder(OrderStatus.PENDING, Instant.now(), 1, 1);
+
+        int expired = expirer.expireCreatedBefore(CUTOFF);
+
+        assertEquals(3, expired);
+        assertEquals(OrderStatus.CANCELLED, status(oldPending));
+        assertEquals(OrderStatus.CANCELLED, status(oldPending2));
+        assertEquals(OrderStatus.CANCELLED, status(oldPending3));
+        assertEquals(OrderStatus.CONFIRMED, status(oldConfirmed));
+        assertEquals(OrderStatus.PENDING, status(recentPending));
+        // estoque inicial; cada saveOrder não mexe no estoque, então só a devolução aparece
+        assertEquals(10 + 2 + 3 + 1, stock(chair));
+        assertEquals(5 + 1 + 2, stock(table));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_outbox "
+                + "WHERE event_type = 'ORDER_STATUS_CHANGED' AND order_id IN (?, ?, ?)",
+                Integer.class, oldPending, oldPending2, oldPending3));
+    }
+
+    @Test
+    void expireCreatedBefore_secondRun_findsNothing() {
+        saveOrder(OrderStatus.PENDING, OLD, 1, 0);
+        expirer.expireCreatedBefore(CUTOFF);
+
+        assertEquals(0, expirer.expireCreatedBefore(CUTOFF));
+        assertEquals(11, stock(chair));
+    }
+
+    private Product saveProduct(String name, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(Money.parse("10.00"));
+        product.setStock(stock);
+        return productRepository.save(product);
+    }
+
+    private Long saveOrder(OrderStatus status, Instant createdAt, int chairs, int tables) {
+        Order order = new Order();
+        order.setOrderNumber("EXP-" + System.nanoTime());
+        order.setStatus(status);
+        if (chairs > 0) {
+            order.getItems().add(new OrderItem(order, chair, chairs, chair.getPrice()));
+        }
+        if (tables > 0) {
+            order.getItems().add(new OrderItem(order, table, tables, table.getPrice()));
+        }
+        order.setTotalAmount(Money.parse("10.00").times(chairs + tables));
+        Long id = orderRepository.saveAndFlush(order).getId();
+
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), id);
+        return id;
+    }
+
+    private OrderStatus status(Long id) {
+        return orderRepository.findStatusById(id).orElseThrow();
+    }
+
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+}
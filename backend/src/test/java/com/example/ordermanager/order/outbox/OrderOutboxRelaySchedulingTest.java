@@ -0,0 +1,86 @@
+package com.example.ordermanager.order.outbox;
+
+import com.example.ordermanager.common.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * O relay tem thread própria: um job longo no scheduler dos {@code @Scheduled} não atrasa a
+ * publicação dos eventos (nem a medição do lag).
+ */
+class OrderOutboxRelaySchedulingTest {
+
+    private final OrderOutboxRepository outboxRepository = mock(OrderOutboxRepository.class);
+    private final OrderEventSink sink = mock(OrderEventSink.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ThreadPoolTaskScheduler sharedScheduler = new ThreadPoolTaskScheduler();
+    private OrderOutboxRelay relay;
+
+    @AfterEach
+    void tearDown() {
+        if (relay != null) {
+            relay.stop();
+        }
+        sharedScheduler.shutdown();
+    }
+
+    @Test
+    void start_slowJobOnSharedScheduler_doesNotDelayRelay() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxRepository.lockNextBatch(anyInt())).thenReturn(List.of());
+
+        // scheduler compartilhado com uma thread (o padrão do Boot), ocupado por um ciclo longo
+        new BulkheadConfig().backgroundTrafficScheduler(1).customize(sharedScheduler);
+        sharedScheduler.initialize();
+        CountDownLatch releaseSlowJob = new CountDownLatch(1);
+        CountDownLatch slowJobRunning = new CountDownLatch(1);
+        sharedScheduler.scheduleWithFixedDelay(() -> {
+            slowJobRunning.countDown();
+            try {
+                releaseSlowJob.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Duration.ofMillis(10));
+        try {
+            assertTrue(slowJobRunning.await(5, TimeUnit.SECONDS));
+
+            relay = new OrderOutboxRelay(outboxRepository, sink, transactionManager, new SimpleMeterRegistry(),
+                    true, 200, 800, 10_000, 10);
+            relay.start();
+
+            verify(outboxRepository, timeout(2000).atLeast(3)).lockNextBatch(200);
+            verify(outboxRepository, timeout(2000).atLeast(3)).estimateBacklog();
+        } finally {
+            releaseSlowJob.countDown();
+        }
+    }
+
+    @Test
+    void start_relayDisabled_doesNotSchedule() throws Exception {
+        relay = new OrderOutboxRelay(outboxRepository, sink, transactionManager, new SimpleMeterRegistry(),
+                false, 200, 800, 10_000, 10);
+        relay.start();
+
+        Thread.sleep(100);
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+    }
+}
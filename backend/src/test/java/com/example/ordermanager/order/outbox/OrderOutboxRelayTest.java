@@ -0,0 +1,120 @@
+package com.example.ordermanager.order.outbox;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.OrderRejectedException;
+import com.example.ordermanager.order.OrderRepository;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sem @Transactional: o relay precisa enxergar os eventos já commitados.
+ * O agendamento fica desligado e o teste chama drain() diretamente.
+ */
+@TestPropertySource(properties = {
+        "orders.outbox.sink=memory",
+        "orders.outbox.relay-enabled=false",
+        "orders.outbox.batch-size=2"
+})
+class OrderOutboxRelayTest extends IntegrationTestBase {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderOutboxRelay relay;
+
+    @Autowired
+    private OrderEventSink sink;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        product = new Product();
+        product.setName("Cabo USB-C");
+        product.setPrice(Money.parse("30.00"));
+        product.setStock(50);
+        productRepository.save(product);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_stats_daily");
+        ((InMemoryOrderEventSink) sink).clear();
+    }
+
+    @Test
+    void drain_publishesEventsInOrderAndEmptiesOutbox() {
+        Long id = orderService.create(createOrderDTO(2)).getId();
+        orderService.updateStatus(id, OrderStatus.CONFIRMED);
+        orderService.delete(id);
+
+        // batch-size=2: precisa de dois lotes no mesmo ciclo
+        assertEquals(3, relay.drain());
+
+        List<OrderEvent> events = ((InMemoryOrderEventSink) sink).events();
+        assertEquals(List.of(OrderEventType.ORDER_CREATED, OrderEventType.ORDER_STATUS_CHANGED, OrderEventType.ORDER_DELETED),
+                events.stream().map(OrderEvent::type).toList());
+        assertTrue(events.get(0).eventId() < events.get(1).eventId());
+        assertTrue(events.get(1).payload().contains("\"CONFIRMED\""));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void drain_afterRejectedTransition_publishesOnlyCommittedEvents() {
+        Long id = orderService.create(createOrderDTO(1)).getId();
+        orderService.updateStatus(id, OrderStatus.CANCELLED);
+        try {
+            orderService.updateStatus(id, OrderStatus.CONFIRMED);
+        } catch (OrderRejectedException expected) {
+            // transição inválida: rollback, nenhum evento
+        }
+
+        assertEquals(2, relay.drain());
+        assertEquals(0, relay.drain());
+    }
+
+    private CreateOrderDTO createOrderDTO(int quantity) {
+        CreateOrderItemDTO item = new CreateOrderItemDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+
+        CreateOrderDTO dto = new CreateOrderDTO();
+        ReflectionTestUtils.setField(dto, "items", List.of(item));
+        return dto;
+    }
+}
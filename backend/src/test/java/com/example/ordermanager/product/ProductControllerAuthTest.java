@@ -1,5 +1,6 @@
 package com.example.ordermanager.product;
 
+import com.example.ordermanager.common.money.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +11,6 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -37,7 +37,7 @@ class ProductControllerAuthTest extends IntegrationTestBase {
     void setUp() {
         Product p = new Product();
         p.setName("Produto Seed");
-        p.setPrice(new BigDecimal("10.00"));
+        p.setPrice(Money.parse("10.00"));
         p.setStock(5);
 
         productId = productRepository.save(p).getId();
@@ -1,5 +1,6 @@
 package com.example.ordermanager.product;
 
+import com.example.ordermanager.common.money.Money;
 import com.example.ordermanager.product.Product;
 import com.example.ordermanager.product.ProductRepository;
 import com.example.ordermanager.product.dto.ProductDTO;
@@ -50,7 +51,7 @@ class ProductControllerTest extends IntegrationTestBase {
     void listProducts_returnsOkAndContainsSavedProduct() throws Exception {
         Product p = new Product();
         p.setName("Produto Teste");
-        p.setPrice(new BigDecimal("10.00"));
+        p.setPrice(Money.parse("10.00"));
         p.setStock(5);
         productRepository.save(p);
 
@@ -144,4 +145,21 @@ class ProductControllerTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.stock").value(15));
     }
 
+    @Test
+    void suggestProducts_afterCreate_returnsProductByPrefix() throws Exception {
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Cadeira Ergonômica");
+        dto.setPrice(new BigDecimal("899.00"));
+        dto.setStock(3);
+
+        mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products/suggest").param("prefix", "cadeira ergo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Cadeira Ergonômica"));
+    }
+
 }
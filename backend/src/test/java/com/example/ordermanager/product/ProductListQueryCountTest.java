@@ -0,0 +1,95 @@
+package com.example.ordermanager.product;
+
+import com.example.ordermanager.category.Category;
+import com.example.ordermanager.category.CategoryRepository;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.support.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que a listagem de produtos é resolvida com uma única query
+ * (projeção com join na categoria), independentemente de quantas categorias
+ * distintas aparecem na página.
+ */
+@AutoConfigureMockMvc(addFilters = false)
+@Transactional
+@WithMockUser(username = "user@test.com", roles = "USER")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductListQueryCountTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        for (int c = 0; c < 3; c++) {
+            Category category = new Category();
+            category.setName("Categoria " + c);
+            categoryRepository.save(category);
+
+            for (int p = 0; p < 2; p++) {
+                Product product = new Product();
+                product.setName("Produto " + c + "-" + p);
+                product.setPrice(Money.parse("10.00"));
+                product.setStock(5);
+                product.setCategory(category);
+                productRepository.save(product);
+            }
+        }
+
+        // Sem cache de primeiro nível: força tudo a vir do banco
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listProducts_withSeveralCategories_executesSingleQuery() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("page", "0")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6))
+                .andExpect(jsonPath("$.content[0].categoryName").isNotEmpty())
+                .andExpect(jsonPath("$.content[0].category").doesNotExist());
+
+        // Página incompleta: o Spring Data nem precisa da query de count
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
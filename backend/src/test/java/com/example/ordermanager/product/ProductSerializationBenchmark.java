@@ -0,0 +1,80 @@
+package com.example.ordermanager.product;
+
+import com.example.ordermanager.category.Category;
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.product.dto.ProductResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput de serialização de uma página de 20 produtos:
+ * entidade {@link Product} (com {@link Category} aninhada) vs {@link ProductResponseDTO}.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=ProductSerialization
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Page<Product> entityPage;
+    private Page<ProductResponseDTO> dtoPage;
+
+    @Setup
+    public void setUp() {
+        // Mesmo builder usado pelo Spring Boot (JavaTimeModule etc.)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Category category = new Category();
+            category.setId((long) (i % 4));
+            category.setName("Categoria " + (i % 4));
+            category.setCreatedAt(Instant.now());
+            category.setUpdatedAt(Instant.now());
+
+            Product p = new Product();
+            p.setId((long) i);
+            p.setName("Produto " + i);
+            p.setPrice(Money.parse("199.90"));
+            p.setStock(10 + i);
+            p.setCategory(category);
+            p.setCreatedAt(Instant.now());
+            p.setUpdatedAt(Instant.now());
+            products.add(p);
+        }
+
+        PageRequest pageable = PageRequest.of(0, 20);
+        entityPage = new PageImpl<>(products, pageable, 1_000);
+        dtoPage = new PageImpl<>(products.stream().map(ProductResponseDTO::from).toList(), pageable, 1_000);
+    }
+
+    @Benchmark
+    public byte[] entityPage() throws Exception {
+        return objectMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] dtoPage() throws Exception {
+        return objectMapper.writeValueAsBytes(dtoPage);
+    }
+}
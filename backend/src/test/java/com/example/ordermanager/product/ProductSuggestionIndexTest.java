@@ -0,0 +1,74 @@
+package com.example.ordermanager.product;
+
+import com.example.ordermanager.product.dto.ProductSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSuggestionIndexTest {
+
+    private ProductSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestionIndex(100);
+        index.rebuild(List.of(
+                new ProductSuggestionDTO(1L, "Teclado Mecânico"),
+                new ProductSuggestionDTO(2L, "Mouse Gamer"),
+                new ProductSuggestionDTO(3L, "Tela 24 polegadas"),
+                new ProductSuggestionDTO(4L, "Monitor 24")));
+    }
+
+    @Test
+    void suggest_ignoresCaseAndAccentsAndReturnsAlphabeticalOrder() {
+        List<ProductSuggestionDTO> result = index.suggest("TÉ", 10);
+
+        assertEquals(List.of(
+                new ProductSuggestionDTO(1L, "Teclado Mecânico"),
+                new ProductSuggestionDTO(3L, "Tela 24 polegadas")), result);
+    }
+
+    @Test
+    void suggest_respectsLimit() {
+        List<ProductSuggestionDTO> result = index.suggest("m", 1);
+
+        assertEquals(List.of(new ProductSuggestionDTO(4L, "Monitor 24")), result);
+    }
+
+    @Test
+    void suggest_withBlankPrefix_returnsEmpty() {
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void put_withExistingId_replacesPreviousName() {
+        index.put(2L, "Headset Gamer");
+
+        assertTrue(index.suggest("mouse", 10).isEmpty());
+        assertEquals(List.of(new ProductSuggestionDTO(2L, "Headset Gamer")), index.suggest("head", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_dropsEntry() {
+        index.remove(4L);
+
+        assertEquals(List.of(new ProductSuggestionDTO(2L, "Mouse Gamer")), index.suggest("m", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void put_beyondMaxEntries_isIgnored() {
+        ProductSuggestionIndex small = new ProductSuggestionIndex(1);
+        small.put(1L, "Teclado");
+        small.put(2L, "Mouse");
+
+        assertEquals(1, small.size());
+        assertTrue(small.suggest("mouse", 10).isEmpty());
+        assertTrue(small.estimatedMemoryBytes() > 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ordermanager.reservation;
+
+import com.example.ordermanager.OrderManagerApplication;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.reservation.dto.CreateReservationDTO;
+import com.example.ordermanager.reservation.dto.ReservationResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e latência (p50/p99 no modo SampleTime) de um ciclo reserva + liberação
+ * ({@link StockReservationService#reserve} e {@link StockReservationService#release}) com 32
+ * chamadores simultâneos e 10 conexões no pool, variando quantos produtos disputam as reservas:
+ *
+ * - {@code 1}: todo mundo no mesmo produto (lançamento/promoção; as reservas fazem fila no lock
+ *   da linha do produto);
+ * - {@code 10}, {@code 1000}: reservas espalhadas.
+ *
+ * Cada reserva toca só a linha do produto (UPDATE relativo de reserved), nunca soma as reservas
+ * existentes: a diferença entre {@code 1} e {@code 1000} é o custo do lock da linha quente.
+ *
+ * Contra um MySQL real (Testcontainers, precisa de Docker).
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=ReservationContention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class ReservationContentionBenchmark {
+
+    private static final String OWNER = "bench@example.com";
+
+    @Param({"1", "10", "1000"})
+    private int hotProducts;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private StockReservationService service;
+    private long firstProductId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("order_manager")
+                .withUsername("order_user")
+                .withPassword("ChangeMe123!");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(OrderManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "orders.outbox.relay-enabled=false",
+                        "orders.archive.enabled=false",
+                        "reservations.expiry.enabled=false")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < hotProducts; i++) {
+            jdbcTemplate.update("INSERT INTO products (name, price, stock, created_at, updated_at) "
+                    + "VALUES (?, 1.00, 100000000, ?, ?)", "Produto " + i, now, now);
+        }
+        firstProductId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+        service = context.getBean(StockReservationService.class);
+    }
+
+    @Benchmark
+    public void reserveAndRelease() {
+        long productId = firstProductId + ThreadLocalRandom.current().nextInt(hotProducts);
+        ReservationResponseDTO reservation = service.reserve(new CreateReservationDTO(
+                List.of(new CreateOrderItemDTO(productId, 1)), null), OWNER);
+        service.release(reservation.id(), OWNER, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mysql.stop();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.ordermanager.reservation;
+
+import com.example.ordermanager.common.money.Money;
+import com.example.ordermanager.order.OrderErrorCode;
+import com.example.ordermanager.order.OrderRejectedException;
+import com.example.ordermanager.order.OrderService;
+import com.example.ordermanager.order.dto.CreateOrderDTO;
+import com.example.ordermanager.order.dto.CreateOrderItemDTO;
+import com.example.ordermanager.order.dto.OrderResponseDTO;
+import com.example.ordermanager.product.Product;
+import com.example.ordermanager.product.ProductRepository;
+import com.example.ordermanager.reservation.dto.CreateReservationDTO;
+import com.example.ordermanager.reservation.dto.ProductAvailabilityDTO;
+import com.example.ordermanager.reservation.dto.ReservationResponseDTO;
+import com.example.ordermanager.support.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reserva segura unidades (pedidos e outras reservas só veem o disponível), a confirmação vira
+ * pedido sem contar as unidades duas vezes, e liberação e expiração devolvem o que estava seguro.
+ */
+@Transactional
+@TestPropertySource(properties = {
+        "orders.outbox.relay-enabled=false",
+        "reservations.expiry.enabled=false",
+        "reservations.expiry.chunk-size=2"
+})
+class StockReservationServiceTest extends IntegrationTestBase {
+
+    private static final String OWNER = "cliente@example.com";
+
+    @Autowired
+    private StockReservationService service;
+
+    @Autowired
+    private ReservationExpirer expirer;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product chair;
+    private Product table;
+
+    @BeforeEach
+    void setUp() {
+        chair = saveProduct("Cadeira", 10);
+        table = saveProduct("Mesa", 5);
+    }
+
+    @Test
+    void reserve_holdsUnitsWithoutTouchingStock() {
+        ReservationResponseDTO reservation = reserve(chair, 4);
+
+        assertEquals(ReservationStatus.ACTIVE, reservation.status());
+        ProductAvailabilityDTO availability = service.availability(List.of(chair.getId())).get(0);
+        assertEquals(10, availability.stock());
+        assertEquals(4, availability.reserved());
+        assertEquals(6, availability.available());
+    }
+
+    @Test
+    void reserve_beyondAvailable_isRejected() {
+        reserve(chair, 8);
+
+        ReservationRejectedException ex = assertThrows(ReservationRejectedException.class,
+                () -> reserve(chair, 3));
+        assertEquals(ReservationErrorCode.INSUFFICIENT_STOCK, ex.getCode());
+    }
+
+    @Test
+    void reserve_aboveMaxOrderTotal_isRejectedWithoutHoldingUnits() {
+        Product monitor = saveProduct("Monitor", Money.parse("600.00"), 5);
+
+        ReservationRejectedException ex = assertThrows(ReservationRejectedException.class,
+                () -> reserve(monitor, 2));
+        assertEquals(ReservationErrorCode.ORDER_TOTAL_LIMIT_EXCEEDED, ex.getCode());
+        assertEquals(0, service.availability(List.of(monitor.getId())).get(0).reserved());
+    }
+
+    @Test
+    void createOrder_cannotSellReservedUnits() {
+        reserve(chair, 8);
+
+        OrderRejectedException ex = assertThrows(OrderRejectedException.class,
+                () -> orderService.create(new CreateOrderDTO(List.of(new CreateOrderItemDTO(chair.getId(), 3)))));
+        assertEquals(OrderErrorCode.INSUFFICIENT_STOCK, ex.getCode());
+    }
+
+    @Test
+    void confirm_createsOrderAndMovesUnitsFromReservedToSold() {
+        ReservationResponseDTO reservation = service.reserve(new CreateReservationDTO(List.of(
+                new CreateOrderItemDTO(chair.getId(), 2),
+                new CreateOrderItemDTO(table.getId(), 5),
+                new CreateOrderItemDTO(chair.getId(), 1)), null), OWNER);
+
+        OrderResponseDTO order = service.confirm(reservation.id(), OWNER, false);
+
+        assertEquals(2, order.getItems().size());
+        assertEquals(7, stock(chair));
+        assertEquals(0, reserved(chair));
+        assertEquals(0, stock(table));
+        assertEquals(0, reserved(table));
+        ReservationResponseDTO confirmed = service.get(reservation.id(), OWNER, false);
+        assertEquals(ReservationStatus.CONFIRMED, confirmed.status());
+        assertEquals(order.getId(), confirmed.orderId());
+    }
+
+    @Test
+    void confirm_twice_isRejected() {
+        ReservationResponseDTO reservation = reserve(chair, 2);
+        service.confirm(reservation.id(), OWNER, false);
+
+        ReservationRejectedException ex = assertThrows(ReservationRejectedException.class,
+                () -> service.confirm(reservation.id(), OWNER, false));
+        assertEquals(ReservationErrorCode.RESERVATION_NOT_ACTIVE, ex.getCode());
+        assertEquals(8, stock(chair));
+    }
+
+    @Test
+    void confirm_afterDeadline_isRejected() {
+        ReservationResponseDTO reservation = reserve(chair, 2);
+        expire(reservation.id());
+
+        ReservationRejectedException ex = assertThrows(ReservationRejectedException.class,
+                () -> service.confirm(reservation.id(), OWNER, false));
+        assertEquals(ReservationErrorCode.RESERVATION_EXPIRED, ex.getCode());
+    }
+
+    @Test
+    void otherUsersReservation_isNotFound() {
+        ReservationResponseDTO reservation = reserve(chair, 2);
+
+        ReservationRejectedException ex = assertThrows(ReservationRejectedException.class,
+                () -> service.release(reservation.id(), "outro@example.com", false));
+        assertEquals(ReservationErrorCode.RESERVATION_NOT_FOUND, ex.getCode());
+        // ADMIN enxerga qualquer reserva
+        service.release(reservation.id(), "admin@example.com", true);
+        assertEquals(0, reserved(chair));
+    }
+
+    @Test
+    void release_returnsUnitsAndIsIdempotent() {
+        ReservationResponseDTO reservation = reserve(chair, 6);
+
+        service.release(reservation.id(), OWNER, false);
+        service.release(reservation.id(), OWNER, false);
+
+        assertEquals(0, reserved(chair));
+        assertEquals(10, stock(chair));
+        assertEquals(ReservationStatus.RELEASED, service.get(reservation.id(), OWNER, false).status());
+    }
+
+    @Test
+    void expireBefore_returnsUnitsOfOverdueReservationsInChunks() {
+        ReservationResponseDTO overdue1 = reserve(chair, 1);
+        ReservationResponseDTO overdue2 = reserve(chair, 2);
+        ReservationResponseDTO overdue3 = reserve(table, 3);
+        ReservationResponseDTO current = reserve(chair, 4);
+        List.of(overdue1, overdue2, overdue3).forEach(reservation -> expire(reservation.id()));
+
+        assertEquals(3, expirer.expireBefore(Instant.now()));
+        assertEquals(0, expirer.expireBefore(Instant.now()));
+
+        assertEquals(4, reserved(chair));
+        assertEquals(0, reserved(table));
+        assertEquals(ReservationStatus.EXPIRED, service.get(overdue1.id(), OWNER, false).status());
+        assertEquals(ReservationStatus.ACTIVE, service.get(current.id(), OWNER, false).status());
+    }
+
+    private ReservationResponseDTO reserve(Product product, int quantity) {
+        return service.reserve(new CreateReservationDTO(
+                List.of(new CreateOrderItemDTO(product.getId(), quantity)), null), OWNER);
+    }
+
+    private void expire(Long reservationId) {
+        jdbcTemplate.update("UPDATE stock_reservations SET expires_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofMinutes(1))), reservationId);
+    }
+
+    private Product saveProduct(String name, int stock) {
+        return saveProduct(name, Money.parse("10.00"), stock);
+    }
+
+    private Product saveProduct(String name, Money price, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setStock(stock);
+        return productRepository.saveAndFlush(product);
+    }
+
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+
+    private int reserved(Product product) {
+        return jdbcTemplate.queryForObject("SELECT reserved FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+}
@@ -10,13 +10,15 @@ import org.testcontainers.containers.MySQLContainer;
 @ActiveProfiles("test")
 public abstract class IntegrationTestBase {
 
-    static final MySQLContainer<?> MYSQL;
+    protected static final MySQLContainer<?> MYSQL;
 
     static {
         MYSQL = new MySQLContainer<>("mysql:8.0")
                 .withDatabaseName("order_manager")
                 .withUsername("order_user")
-                .withPassword("ChangeMe123!");
+                .withPassword("ChangeMe123!")
+                // mesma URL da aplicação: batches JDBC reescritos em INSERT multi-linha
+                .withUrlParam("rewriteBatchedStatements", "true");
         MYSQL.start(); // sobe 1 vez por JVM (porta fica estável na suíte)
     }
 